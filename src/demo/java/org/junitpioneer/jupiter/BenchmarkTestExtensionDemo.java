@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import org.junitpioneer.jupiter.cartesian.CartesianTest;
+import org.junitpioneer.jupiter.cartesian.CartesianTest.Values;
+
+public class BenchmarkTestExtensionDemo {
+
+	// tag::benchmark[]
+	@BenchmarkTest
+	void concatenates(Blackhole blackhole) {
+		blackhole.consume("pioneer" + System.nanoTime());
+	}
+	// end::benchmark[]
+
+	// tag::configured[]
+	@BenchmarkTest(forks = 3, warmupIterations = 5, measurementIterations = 10, iterationMillis = 50)
+	void concatenatesWithBuilder(Blackhole blackhole) {
+		blackhole.consume(new StringBuilder("pioneer").append(System.nanoTime()).toString());
+	}
+	// end::configured[]
+
+	// tag::cartesian[]
+	@CartesianTest
+	@BenchmarkTest(warmupIterations = 2, measurementIterations = 5, iterationMillis = 20)
+	void repeats(@Values(ints = { 1, 10, 100 }) int count, Blackhole blackhole) {
+		blackhole.consume("pioneer".repeat(count));
+	}
+	// end::cartesian[]
+
+}
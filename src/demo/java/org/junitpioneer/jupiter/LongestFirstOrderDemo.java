@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+public class LongestFirstOrderDemo {
+
+	@Nested
+	// tag::method_orderer[]
+	@Stopwatch
+	@TestMethodOrder(LongestFirstMethodOrderer.class)
+	class ImportTests {
+
+		@Test
+		void importsSmallFile() {
+			// fast
+		}
+
+		@Test
+		void importsHugeFile() {
+			// slow, so it's executed first once its duration was recorded
+		}
+
+	}
+	// end::method_orderer[]
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class MaxAllocationExtensionDemo {
+
+	private final byte[] buffer = new byte[4];
+
+	// tag::zero_bytes[]
+	@Test
+	@MaxAllocation(bytes = 0, warmups = 5)
+	void encodesWithoutAllocating() {
+		int length = encode(42, buffer);
+
+		assertEquals(1, length);
+	}
+	// end::zero_bytes[]
+
+	// tag::budget[]
+	@Test
+	@MaxAllocation(bytes = 16 * 1024)
+	void encodesWithBudget() {
+		byte[] encoded = new byte[4];
+		encode(1_000_000, encoded);
+	}
+	// end::budget[]
+
+	// writes the number as a variable-length quantity with seven bits per byte
+	private static int encode(int value, byte[] target) {
+		int length = 0;
+		while ((value & ~0x7F) != 0) {
+			target[length++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		target[length++] = (byte) value;
+		return length;
+	}
+
+}
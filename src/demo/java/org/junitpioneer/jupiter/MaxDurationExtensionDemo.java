@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class MaxDurationExtensionDemo {
+
+	private final Map<String, Integer> cache = new HashMap<>(Map.of("answer", 42));
+
+	// tag::percentiles[]
+	@Test
+	@MaxDuration(p99 = "5ms", warmup = 1000, iterations = 10000)
+	void looksUpQuickly() {
+		cache.get("answer");
+	}
+	// end::percentiles[]
+
+	// tag::several_budgets[]
+	@Test
+	@MaxDuration(p50 = "100us", p99 = "1ms", max = "50ms", warmup = 100)
+	void looksUpQuicklyMostOfTheTime() {
+		cache.get("answer");
+	}
+	// end::several_budgets[]
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class RecordFlightExtensionDemo {
+
+	private final Map<Integer, Long> cache = new ConcurrentHashMap<>();
+
+	// tag::method[]
+	@Test
+	@RecordFlight
+	void computesFibonacciNumbers() {
+		assertThat(fibonacci(80)).isEqualTo(23_416_728_348_467_685L);
+	}
+	// end::method[]
+
+	// tag::profile[]
+	@Test
+	@RecordFlight(settings = "profile", hotMethods = 10)
+	void computesFibonacciNumbersWithDetails() {
+		assertThat(fibonacci(90)).isEqualTo(2_880_067_194_370_816_120L);
+	}
+	// end::profile[]
+
+	private long fibonacci(int n) {
+		if (n < 2)
+			return n;
+		Long cached = cache.get(n);
+		if (cached != null)
+			return cached;
+		long result = fibonacci(n - 1) + fibonacci(n - 2);
+		cache.put(n, result);
+		return result;
+	}
+
+}
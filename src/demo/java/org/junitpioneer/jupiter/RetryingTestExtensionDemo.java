@@ -10,6 +10,8 @@
 
 package org.junitpioneer.jupiter;
 
+import org.junitpioneer.jupiter.RetryingTest.Backoff;
+
 public class RetryingTestExtensionDemo {
 
 	// tag::retrying_failsNever[]
@@ -56,6 +58,21 @@ public class RetryingTestExtensionDemo {
 	}
 	// end::suspending_between_each_retry[]
 
+	// tag::backing_off_between_retries[]
+	@RetryingTest(maxAttempts = 5, suspendForMs = 100, backoff = Backoff.EXPONENTIAL, maxSuspendForMs = 500)
+	void backsOffBetweenRetries() {
+		// test code that will suspend/wait for 100, 200, 400, and 500 ms between retries
+	}
+	// end::backing_off_between_retries[]
+
+	// tag::retrying_within_time_budget[]
+	@RetryingTest(maxAttempts = 10, suspendForMs = 100, backoff = Backoff.DECORRELATED_JITTER, timeBudgetMs = 2_000)
+	void retriesWithinTimeBudget() {
+		// test code that will suspend/wait for a random time between retries,
+		// but won't retry any more once two seconds are spent
+	}
+	// end::retrying_within_time_budget[]
+
 	class TheseTestsWillFailIntentionally {
 
 		// tag::retrying_configure_exception_for_retry[]
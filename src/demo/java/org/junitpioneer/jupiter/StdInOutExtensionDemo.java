@@ -15,6 +15,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -70,6 +71,19 @@ public class StdInOutExtensionDemo {
 	}
 	// end::stdio_both_replaced_and_verify[]
 
+	// tag::stdio_spill_to_disk[]
+	@Test
+	@StdIo(spillThreshold = 1024 * 1024)
+	void spillToDisk(StdOut out) {
+		// output beyond the first MiB is spilled to a file,
+		// which `capturedLineStream()` and `contains(String)`
+		// read without loading all of it into memory
+		try (Stream<String> lines = out.capturedLineStream()) {
+			// verify the lines
+		}
+	}
+	// end::stdio_spill_to_disk[]
+
 	// tag::stdio_edge_cases_ExampleConsoleReader[]
 	class ConsoleReader {
 
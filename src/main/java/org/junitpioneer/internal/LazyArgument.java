@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Pioneer-internal utility class.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>An argument whose value is only computed when it is first needed, e.g. when it is
+ * formatted into a display name or resolved as a parameter. Invocations that are skipped
+ * before that never compute it.</p>
+ *
+ * <p>The {@link #toString() string representation} is the value's, so display names that
+ * contain the argument (like the default {@code "[{index}] {arguments}"}) compute it, even
+ * if the invocation is skipped afterwards.</p>
+ *
+ * <p>Equality is defined by the given key instead of the value, so lazy arguments
+ * can be deduplicated without computing them.</p>
+ */
+public final class LazyArgument {
+
+	private final Object key;
+	private Supplier<?> supplier;
+	private Object value;
+
+	private LazyArgument(Object key, Supplier<?> supplier) {
+		this.key = Objects.requireNonNull(key);
+		this.supplier = Objects.requireNonNull(supplier);
+	}
+
+	/**
+	 * @param key the key that defines this argument's equality; two lazy arguments with equal keys
+	 *            must compute equivalent values
+	 * @param supplier computes the value; called at most once
+	 * @return a new lazy argument
+	 */
+	public static LazyArgument of(Object key, Supplier<?> supplier) {
+		return new LazyArgument(key, supplier);
+	}
+
+	/**
+	 * Returns the value of the given argument if it is a {@code LazyArgument}
+	 * (computing it if necessary), otherwise the argument itself.
+	 */
+	public static Object unwrap(Object argument) {
+		return argument instanceof LazyArgument ? ((LazyArgument) argument).get() : argument;
+	}
+
+	public synchronized Object get() {
+		if (supplier != null) {
+			value = supplier.get();
+			supplier = null;
+		}
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof LazyArgument))
+			return false;
+		var that = (LazyArgument) o;
+		return key.equals(that.key);
+	}
+
+	@Override
+	public int hashCode() {
+		return key.hashCode();
+	}
+
+	/**
+	 * Computes the value if necessary, because the string representation of the value
+	 * is what display names are expected to show.
+	 */
+	@Override
+	public String toString() {
+		return PioneerUtils.nullSafeToString(get());
+	}
+
+}
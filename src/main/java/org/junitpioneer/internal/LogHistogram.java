@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import java.util.Arrays;
+
+/**
+ * Pioneer-internal utility class.
+ * DO NOT USE THIS CLASS - IT MAY CHANGE SIGNIFICANTLY IN ANY MINOR UPDATE.
+ *
+ * <p>A compact histogram of non-negative values (e.g. durations in nanoseconds) with logarithmic buckets:
+ * every power of two is divided into {@value #SUB_BUCKETS} linear sub-buckets, so percentiles are
+ * accurate to about 3% regardless of the values' magnitude. Values below {@value #SUB_BUCKETS}
+ * are recorded exactly. The bucket array only grows as far as the largest recorded value requires.</p>
+ *
+ * <p>Count, minimum, maximum, and mean are tracked exactly. This class is thread-safe.</p>
+ */
+public final class LogHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private long[] counts = new long[SUB_BUCKETS];
+	private long count;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+	private long sum;
+
+	public synchronized void record(long value) {
+		if (value < 0)
+			throw new IllegalArgumentException("Value must not be negative: " + value);
+		int index = index(value);
+		if (index >= counts.length)
+			counts = Arrays.copyOf(counts, Math.max(index + 1, 2 * counts.length));
+		counts[index]++;
+		count++;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		// the sum of nanosecond durations won't overflow for centuries
+		sum += value;
+	}
+
+	private static int index(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long lowestValue(int index) {
+		if (index < SUB_BUCKETS)
+			return index;
+		int shift = index / SUB_BUCKETS - 1;
+		return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+	}
+
+	private static long width(int index) {
+		return index < SUB_BUCKETS ? 1 : 1L << (index / SUB_BUCKETS - 1);
+	}
+
+	public synchronized long count() {
+		return count;
+	}
+
+	/**
+	 * @return the smallest recorded value or 0 if none was recorded
+	 */
+	public synchronized long min() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return the largest recorded value or 0 if none was recorded
+	 */
+	public synchronized long max() {
+		return count == 0 ? 0 : max;
+	}
+
+	/**
+	 * @return the mean of the recorded values or 0 if none was recorded
+	 */
+	public synchronized double mean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Returns the value at the given percentile, i.e. the value that is larger than or equal to the
+	 * given percentage of the recorded values. It's the middle of the value's bucket, but never
+	 * smaller than the {@link #min() minimum} or larger than the {@link #max() maximum}.
+	 *
+	 * @param percentile between 0 and 100 (e.g. 99.9)
+	 * @return the value at the given percentile or 0 if no value was recorded
+	 */
+	public synchronized long percentile(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int index = 0; index < counts.length; index++) {
+			seen += counts[index];
+			if (seen >= rank) {
+				long middle = lowestValue(index) + (width(index) - 1) / 2;
+				return Math.min(Math.max(middle, min), max);
+			}
+		}
+		return max;
+	}
+
+}
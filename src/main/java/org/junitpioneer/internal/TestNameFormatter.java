@@ -51,7 +51,7 @@ public final class TestNameFormatter {
 	private String formatSafely(int invocationIndex, Object[] arguments) {
 		String messageFormatPattern = prepareMessageFormatPattern(invocationIndex, arguments);
 		MessageFormat format = new MessageFormat(messageFormatPattern);
-		Object[] readableArguments = makeReadable(arguments);
+		Object[] readableArguments = makeReadable(format, arguments);
 		return format.format(readableArguments);
 	}
 
@@ -71,8 +71,11 @@ public final class TestNameFormatter {
 		return result;
 	}
 
-	private Object[] makeReadable(Object[] arguments) {
-		Object[] result = Arrays.copyOf(arguments, arguments.length, Object[].class);
+	private Object[] makeReadable(MessageFormat format, Object[] arguments) {
+		// only turn the arguments into strings that are referenced by the pattern,
+		// so arguments that are expensive to compute (see `LazyArgument`) are left alone
+		int referencedArguments = Math.min(format.getFormatsByArgumentIndex().length, arguments.length);
+		Object[] result = Arrays.copyOf(arguments, referencedArguments, Object[].class);
 		for (int i = 0; i < result.length; i++) {
 			result[i] = PioneerUtils.nullSafeToString(arguments[i]);
 		}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junitpioneer.internal.TestNameFormatter;
+
+/**
+ * {@code @BenchmarkTest} is a JUnit Jupiter extension that runs a test method as a small benchmark
+ * and reports its throughput in operations per second.
+ *
+ * <p>A benchmark consists of {@link #forks() forks}, each of which invokes the test method once as a
+ * regular test and then in a loop for {@link #warmupIterations() warm-up} and
+ * {@link #measurementIterations() measurement iterations} of {@link #iterationMillis() a given duration}.
+ * The warm-up iterations are discarded; the measurement iterations' throughput is reported as its mean
+ * with a 99.9% confidence interval. Forks run in the same JVM, so, unlike JMH's forks, they don't isolate
+ * the JIT compiler's profile - but each fork gets a new test instance.</p>
+ *
+ * <p>To keep the JIT compiler from eliminating the benchmarked code because its results are unused,
+ * the test method can declare a {@link Blackhole} parameter and pass results to it.</p>
+ *
+ * <p>{@code @BenchmarkTest} can be combined with other {@link TestTemplate}-based mechanisms like
+ * {@link org.junitpioneer.jupiter.cartesian.CartesianTest @CartesianTest}, in which case each of their
+ * invocations is benchmarked with all forks and no additional invocations are created.</p>
+ *
+ * <p>{@code @BenchmarkTest} has a number of limitations:</p>
+ *
+ * <ul>
+ *     <li>it can only be applied to methods</li>
+ *     <li>methods annotated with this annotation <b>MUST NOT</b> be annotated with {@code @Test}
+ *         to avoid multiple executions!</li>
+ *     <li>only the test method is invoked repeatedly, not the lifecycle methods around it</li>
+ *     <li>the measurement includes the reflective invocation of the test method, so the
+ *         throughput of very small operations is underestimated</li>
+ *     <li>all forks are run sequentially, even when used with
+ *         <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution">parallel test execution</a></li>
+ * </ul>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/benchmark-test/" target="_top">the documentation on <code>@BenchmarkTest</code></a>.</p>
+ *
+ * @since 2.2
+ */
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+// benchmarks that run concurrently would skew each other's results
+@Execution(SAME_THREAD)
+@ExtendWith(BenchmarkTestExtension.class)
+@TestTemplate
+public @interface BenchmarkTest {
+
+	/**
+	 * Placeholder for the display name of a {@code @BenchmarkTest}:
+	 * <code>{displayName}</code>
+	 *
+	 * @see #name
+	 */
+	String DISPLAY_NAME_PLACEHOLDER = TestNameFormatter.DISPLAY_NAME_PLACEHOLDER;
+
+	/**
+	 * Placeholder for the current fork of a {@code @BenchmarkTest} (1-based): <code>{index}</code>
+	 *
+	 * @see #name
+	 */
+	String INDEX_PLACEHOLDER = TestNameFormatter.INDEX_PLACEHOLDER;
+
+	/**
+	 * The display name to be used for the individual forks; never blank or consisting solely of whitespace.
+	 * It's not used if {@code @BenchmarkTest} is combined with another test template.
+	 *
+	 * <p>Defaults to [fork {index}].</p>
+	 *
+	 * <p>Supported placeholders:</p>
+	 *
+	 * - {@link org.junitpioneer.jupiter.BenchmarkTest#DISPLAY_NAME_PLACEHOLDER}
+	 * - {@link org.junitpioneer.jupiter.BenchmarkTest#INDEX_PLACEHOLDER}
+	 *
+	 * @see java.text.MessageFormat
+	 */
+	String name() default "[fork {index}]";
+
+	/**
+	 * Specifies how often the benchmark is run; must be greater than or equal to 1.
+	 */
+	int forks() default 1;
+
+	/**
+	 * Specifies how many iterations of each fork are discarded; must be greater than or equal to 0.
+	 */
+	int warmupIterations() default 3;
+
+	/**
+	 * Specifies how many iterations of each fork are measured; must be greater than or equal to 1.
+	 * At least two iterations (over all forks) are required to report a confidence interval.
+	 */
+	int measurementIterations() default 5;
+
+	/**
+	 * Specifies how long each iteration invokes the test method in milliseconds;
+	 * must be greater than or equal to 1.
+	 */
+	int iterationMillis() default 100;
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.String.format;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.internal.TestNameFormatter;
+import org.junitpioneer.jupiter.timing.TimingBaselines;
+import org.junitpioneer.jupiter.timing.TimingBaselines.Metric;
+
+class BenchmarkTestExtension
+		implements TestTemplateInvocationContextProvider, InvocationInterceptor, ParameterResolver {
+
+	private static final Namespace NAMESPACE = Namespace.create(BenchmarkTestExtension.class);
+	static final String REPORT_KEY = "BenchmarkTestExtension";
+	static final String SUMMARY_KEY = "BenchmarkTestExtensionSummary";
+	private static final String RESULTS_KEY = "BenchmarkTest_Results";
+
+	// two-sided 99.9% quantiles of Student's t-distribution for 1 to 30 degrees of freedom
+	private static final double[] T_QUANTILES = { 636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781,
+			4.587, 4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850, 3.819, 3.792, 3.768, 3.745,
+			3.725, 3.707, 3.690, 3.674, 3.659, 3.646 };
+	// ... and for 40, 60, and 120 degrees of freedom; larger ones use the normal distribution's
+	private static final double T_QUANTILE_40 = 3.551;
+	private static final double T_QUANTILE_60 = 3.460;
+	private static final double T_QUANTILE_120 = 3.373;
+	private static final double Z_QUANTILE = 3.291;
+
+	@Override
+	public boolean supportsTestTemplate(ExtensionContext context) {
+		// if another template creates the invocations, they're benchmarked by `interceptTestTemplateMethod`
+		return PioneerAnnotationUtils.isAnnotationPresent(context, BenchmarkTest.class)
+				&& !hasOtherTemplate(context.getRequiredTestMethod());
+	}
+
+	@Override
+	public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+		BenchmarkTest benchmark = findBenchmarkTest(context);
+		if (benchmark.name().isEmpty())
+			throw new ExtensionConfigurationException("BenchmarkTest can not have an empty display name.");
+		var formatter = new TestNameFormatter(benchmark.name(), context.getDisplayName(), BenchmarkTest.class);
+		return IntStream.range(0, benchmark.forks()).mapToObj(__ -> new BenchmarkTestInvocationContext(formatter));
+	}
+
+	@Override
+	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return parameterContext.getParameter().getType() == Blackhole.class;
+	}
+
+	@Override
+	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+		return new Blackhole();
+	}
+
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		BenchmarkTest benchmark = findBenchmarkTest(extensionContext);
+		// each of this extension's invocations is a fork, other templates' invocations run all forks
+		boolean ownTemplate = !hasOtherTemplate(extensionContext.getRequiredTestMethod());
+		int forks = ownTemplate ? 1 : benchmark.forks();
+
+		invocation.proceed();
+		Method method = invocationContext.getExecutable();
+		Object target = invocationContext.getTarget().orElse(null);
+		Object[] arguments = invocationContext.getArguments().toArray();
+		long iterationNanos = TimeUnit.MILLISECONDS.toNanos(benchmark.iterationMillis());
+		List<Double> throughputs = new ArrayList<>();
+		for (int fork = 0; fork < forks; fork++) {
+			for (int i = 0; i < benchmark.warmupIterations(); i++)
+				runIteration(method, target, arguments, iterationNanos);
+			for (int i = 0; i < benchmark.measurementIterations(); i++)
+				throughputs.add(runIteration(method, target, arguments, iterationNanos));
+		}
+
+		extensionContext.publishReportEntry(REPORT_KEY, describe(extensionContext.getDisplayName(), throughputs));
+		if (ownTemplate && benchmark.forks() > 1)
+			resultsFor(extensionContext).addAll(throughputs);
+		TimingBaselines.check(extensionContext, Metric.THROUGHPUT, mean(throughputs));
+	}
+
+	/**
+	 * @return the throughput in operations per second
+	 */
+	private static double runIteration(Method method, Object target, Object[] arguments, long iterationNanos) {
+		long operations = 0;
+		long start = System.nanoTime();
+		long end = start + iterationNanos;
+		long now;
+		do {
+			ReflectionSupport.invokeMethod(method, target, arguments);
+			operations++;
+			now = System.nanoTime();
+		} while (now - end < 0);
+		return operations * 1e9 / (now - start);
+	}
+
+	private static ForkResults resultsFor(ExtensionContext invocationContext) {
+		ExtensionContext template = invocationContext
+				.getParent()
+				.orElseThrow(() -> new IllegalStateException(
+					"Extension context \"" + invocationContext + "\" should have a parent context."));
+		return template
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(RESULTS_KEY, __ -> new ForkResults(template), ForkResults.class);
+	}
+
+	private static double mean(List<Double> throughputs) {
+		return throughputs.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+	}
+
+	static String describe(String displayName, List<Double> throughputs) {
+		double mean = mean(throughputs);
+		if (throughputs.size() < 2)
+			return format(Locale.ROOT, "Benchmark of '%s' ran [%.3f] ops/s (1 iteration).", displayName, mean);
+
+		double squaredDeviations = throughputs.stream().mapToDouble(value -> (value - mean) * (value - mean)).sum();
+		double standardError = Math.sqrt(squaredDeviations / (throughputs.size() - 1) / throughputs.size());
+		double error = tQuantile(throughputs.size() - 1) * standardError;
+		return format(Locale.ROOT,
+			"Benchmark of '%s' ran [%.3f +/- %.3f] ops/s (99.9%% confidence interval [%.3f, %.3f], %d iterations).",
+			displayName, mean, error, mean - error, mean + error, throughputs.size());
+	}
+
+	private static double tQuantile(int degreesOfFreedom) {
+		// for degrees of freedom between the tabulated ones, use the next smaller one (i.e. the wider interval)
+		if (degreesOfFreedom <= T_QUANTILES.length)
+			return T_QUANTILES[degreesOfFreedom - 1];
+		if (degreesOfFreedom < 40)
+			return T_QUANTILES[T_QUANTILES.length - 1];
+		if (degreesOfFreedom < 60)
+			return T_QUANTILE_40;
+		if (degreesOfFreedom < 120)
+			return T_QUANTILE_60;
+		if (degreesOfFreedom < 1000)
+			return T_QUANTILE_120;
+		return Z_QUANTILE;
+	}
+
+	private static boolean hasOtherTemplate(Method method) {
+		return Arrays
+				.stream(method.getAnnotations())
+				.map(Annotation::annotationType)
+				// composed annotations that are meta-annotated with @BenchmarkTest are no other templates
+				.filter(type -> type != BenchmarkTest.class && !AnnotationSupport.isAnnotated(type, BenchmarkTest.class))
+				.anyMatch(type -> AnnotationSupport.isAnnotated(type, TestTemplate.class));
+	}
+
+	private static BenchmarkTest findBenchmarkTest(ExtensionContext context) {
+		BenchmarkTest benchmark = AnnotationSupport
+				.findAnnotation(context.getRequiredTestMethod(), BenchmarkTest.class)
+				.orElseThrow(() -> new IllegalStateException("@BenchmarkTest is missing."));
+		if (benchmark.forks() < 1)
+			throw new ExtensionConfigurationException(
+				"@BenchmarkTest requires that `forks` be greater than or equal to 1.");
+		if (benchmark.warmupIterations() < 0)
+			throw new ExtensionConfigurationException(
+				"@BenchmarkTest requires that `warmupIterations` be greater than or equal to 0.");
+		if (benchmark.measurementIterations() < 1)
+			throw new ExtensionConfigurationException(
+				"@BenchmarkTest requires that `measurementIterations` be greater than or equal to 1.");
+		if (benchmark.iterationMillis() < 1)
+			throw new ExtensionConfigurationException(
+				"@BenchmarkTest requires that `iterationMillis` be greater than or equal to 1.");
+		return benchmark;
+	}
+
+	/**
+	 * Collects the throughputs of a template's forks and publishes a summary
+	 * when the template's store is closed, i.e. when all forks finished.
+	 */
+	private static class ForkResults implements CloseableResource {
+
+		private final ExtensionContext template;
+		private final List<Double> throughputs = new ArrayList<>();
+
+		ForkResults(ExtensionContext template) {
+			this.template = template;
+		}
+
+		synchronized void addAll(List<Double> throughputs) {
+			this.throughputs.addAll(throughputs);
+		}
+
+		@Override
+		public synchronized void close() {
+			// if all forks failed, there's nothing to summarize
+			if (!throughputs.isEmpty())
+				template.publishReportEntry(SUMMARY_KEY, describe(template.getDisplayName(), throughputs));
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+/**
+ * Consumes values in a way that the JIT compiler can't prove to have no effect,
+ * so it can't eliminate the code that computes them.
+ * A {@link BenchmarkTest @BenchmarkTest} method can declare a parameter of this type.
+ *
+ * <p>This is a simplified version of JMH's {@code Blackhole}.</p>
+ *
+ * @since 2.2
+ */
+public final class Blackhole {
+
+	// each pair of values is never equal, but since they're volatile, the JIT compiler can't know that
+	private volatile int int1 = 1;
+	private volatile int int2 = 2;
+	private volatile long long1 = 1;
+	private volatile long long2 = 2;
+	private volatile double double1 = 1;
+	private volatile double double2 = 2;
+	private volatile boolean boolean1 = false;
+	private volatile boolean boolean2 = true;
+
+	private int seed = (int) System.nanoTime();
+	private int mask = 1;
+	private Object sink;
+
+	Blackhole() {
+		// only created by the extension
+	}
+
+	public void consume(int value) {
+		if (value == int1 & value == int2)
+			throw new IllegalStateException("Blackhole consumed an impossible value");
+	}
+
+	public void consume(long value) {
+		if (value == long1 & value == long2)
+			throw new IllegalStateException("Blackhole consumed an impossible value");
+	}
+
+	public void consume(double value) {
+		if (value == double1 & value == double2)
+			throw new IllegalStateException("Blackhole consumed an impossible value");
+	}
+
+	public void consume(boolean value) {
+		if (value == boolean1 & value == boolean2)
+			throw new IllegalStateException("Blackhole consumed an impossible value");
+	}
+
+	public void consume(Object value) {
+		// storing every object would be expensive, so only store some of them (ever fewer over time),
+		// which the JIT compiler can't predict because it depends on a pseudo-random number
+		int next = seed * 1664525 + 1013904223;
+		seed = next;
+		if ((next & mask) == 0) {
+			sink = value;
+			mask = (mask << 1) + 1;
+		}
+	}
+
+}
@@ -0,0 +1,476 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Captures bytes written to a standard stream and provides them as text.
+ *
+ * <p>Writing only copies the bytes into fixed-size chunks. They are decoded when the text is
+ * requested and only those bytes that were written since the last request get decoded - with
+ * an incremental {@link CharsetDecoder}, so characters whose bytes were split across writes
+ * or chunks are decoded correctly. Likewise, the positions of line separators are indexed
+ * incrementally, so requesting the lines doesn't search the entire text again.</p>
+ *
+ * <p>The buffer can be limited to the first (head) and/or last (tail) bytes that were written.
+ * Bytes beyond the head are written into a ring buffer of the tail's size and bytes that
+ * are neither in the head nor in the tail are dropped and only counted.</p>
+ *
+ * <p>The head can be spilled to a temporary file once it exceeds a threshold (see {@link ChunkedByteStore}).
+ * Then, {@link #lineStream()} and {@link #contains(String)} decode the captured bytes on the fly
+ * instead of keeping the entire text in memory. The file is deleted on {@link #close()}.</p>
+ */
+class CaptureBuffer implements AutoCloseable {
+
+	private static final int CHUNK_SIZE = ChunkedByteStore.CHUNK_SIZE;
+
+	private final Charset charset;
+	private final long headLimit;
+	private final ChunkedByteStore head;
+	private long size;
+
+	private final int tailLimit;
+	private byte[] tail;
+	private byte[] orderedTail;
+	private long tailWritten;
+	private long decodedTailWritten;
+	private final CharsetDecoder tailDecoder;
+	private int headTextLength = -1;
+
+	private final CharsetDecoder decoder;
+	// holds the bytes of a character that is split across two chunks
+	private final ByteBuffer carry = ByteBuffer.allocate(16);
+	private final CharBuffer decoded = CharBuffer.allocate(CHUNK_SIZE);
+	private final StringBuilder text = new StringBuilder();
+	private long decodedBytes;
+	private String textSnapshot = "";
+
+	private final String separator;
+	private int[] separators = new int[64];
+	private int separatorCount;
+	private int indexedChars;
+
+	CaptureBuffer(Charset charset) {
+		this(charset, StdIoExtension.SEPARATOR);
+	}
+
+	CaptureBuffer(Charset charset, String separator) {
+		this(charset, separator, Long.MAX_VALUE, 0, Long.MAX_VALUE);
+	}
+
+	CaptureBuffer(Charset charset, String separator, long headLimit, int tailLimit, long spillThreshold) {
+		this(charset, separator, headLimit, tailLimit, spillThreshold, ChunkPool.UNPOOLED);
+	}
+
+	/**
+	 * @param headLimit the number of bytes to keep from the start
+	 * @param tailLimit the number of bytes to keep from the end (in addition to the head)
+	 * @param spillThreshold the number of head bytes to keep in memory before spilling them to a file
+	 * @param pool provides the head's chunks and retains them on {@link #close()}
+	 */
+	CaptureBuffer(Charset charset, String separator, long headLimit, int tailLimit, long spillThreshold,
+			ChunkPool pool) {
+		this.charset = charset;
+		this.head = new ChunkedByteStore(spillThreshold, pool);
+		this.decoder = newDecoder(charset);
+		this.tailDecoder = newDecoder(charset);
+		this.separator = separator;
+		this.headLimit = headLimit;
+		this.tailLimit = tailLimit;
+	}
+
+	/**
+	 * Creates a buffer that keeps the first {@code headBytes} and the last {@code tailBytes} bytes.
+	 * If both are negative, all bytes are kept; if only one is negative, it is treated as zero.
+	 * If {@code spillThreshold} is not negative, head bytes beyond it are spilled to a temporary file.
+	 */
+	static CaptureBuffer of(Charset charset, int headBytes, int tailBytes, int spillThreshold, ChunkPool pool) {
+		boolean limited = headBytes >= 0 || tailBytes >= 0;
+		long headLimit = limited ? Math.max(headBytes, 0) : Long.MAX_VALUE;
+		int tailLimit = limited ? Math.max(tailBytes, 0) : 0;
+		return new CaptureBuffer(charset, StdIoExtension.SEPARATOR, headLimit, tailLimit,
+			spillThreshold < 0 ? Long.MAX_VALUE : spillThreshold, pool);
+	}
+
+	private static CharsetDecoder newDecoder(Charset charset) {
+		return charset
+				.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	synchronized void write(int b) {
+		if (size < headLimit)
+			head.write((byte) b);
+		else
+			writeTail((byte) b);
+		size++;
+	}
+
+	synchronized void write(byte[] bytes, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+		int headLength = (int) Math.min(length, Math.max(headLimit - size, 0));
+		head.write(bytes, offset, headLength);
+		writeTail(bytes, offset + headLength, length - headLength);
+		size += length;
+	}
+
+	private void writeTail(byte b) {
+		if (tailLimit > 0)
+			tail()[(int) (tailWritten % tailLimit)] = b;
+		tailWritten++;
+	}
+
+	private void writeTail(byte[] bytes, int offset, int length) {
+		if (tailLimit > 0 && length > 0) {
+			// of long writes, only the last bytes fit into the tail
+			int skipped = Math.max(length - tailLimit, 0);
+			int count = length - skipped;
+			int position = (int) ((tailWritten + skipped) % tailLimit);
+			int untilEnd = Math.min(count, tailLimit - position);
+			System.arraycopy(bytes, offset + skipped, tail(), position, untilEnd);
+			System.arraycopy(bytes, offset + skipped + untilEnd, tail(), 0, count - untilEnd);
+		}
+		tailWritten += length;
+	}
+
+	private byte[] tail() {
+		if (tail == null)
+			tail = new byte[tailLimit];
+		return tail;
+	}
+
+	/**
+	 * @return the number of bytes that were written (including dropped ones)
+	 */
+	synchronized long size() {
+		return size;
+	}
+
+	/**
+	 * @return the number of bytes that were written, but neither kept in the head nor in the tail
+	 */
+	synchronized long droppedBytes() {
+		return size - Math.min(size, headLimit) - Math.min(tailWritten, tailLimit);
+	}
+
+	/**
+	 * @return whether the head was spilled to a temporary file
+	 */
+	synchronized boolean hasSpilled() {
+		return head.hasSpilled();
+	}
+
+	/**
+	 * Note that this keeps the entire decoded text in memory, even if the head was spilled to a file.
+	 *
+	 * @return the decoded text; the bytes of a trailing, incomplete character are not included
+	 */
+	synchronized String text() {
+		decode();
+		if (textSnapshot == null || textSnapshot.length() != text.length())
+			textSnapshot = text.toString();
+		return textSnapshot;
+	}
+
+	/**
+	 * @return the {@link #text() text}, divided on the line separator without a trailing empty line
+	 */
+	synchronized String[] lines() {
+		String[] lines = new String[indexedLineCount()];
+		for (int i = 0; i < lines.length; i++)
+			lines[i] = indexedLine(i);
+		return lines;
+	}
+
+	/**
+	 * @return the number of {@link #lines() lines}
+	 */
+	synchronized int lineCount() {
+		if (!head.hasSpilled())
+			return indexedLineCount();
+		try (Stream<String> lines = lineStream()) {
+			return (int) lines.count();
+		}
+	}
+
+	/**
+	 * Returns the line with the given index without creating the other lines. If the head was spilled
+	 * to a file, the captured bytes up to that line are decoded instead of keeping the text in memory.
+	 *
+	 * @throws IndexOutOfBoundsException if there's no line with that index
+	 */
+	synchronized String line(int index) {
+		if (!head.hasSpilled())
+			return indexedLine(Objects.checkIndex(index, indexedLineCount()));
+		if (index < 0)
+			throw new IndexOutOfBoundsException("There is no line " + index);
+		try (Stream<String> lines = lineStream()) {
+			return lines
+					.skip(index)
+					.findFirst()
+					.orElseThrow(() -> new IndexOutOfBoundsException("There is no line " + index));
+		}
+	}
+
+	private int indexedLineCount() {
+		decode();
+		indexLines();
+		int lastLineStart = separatorCount == 0 ? 0 : separators[separatorCount - 1] + separator.length();
+		boolean unterminatedLastLine = lastLineStart < text.length();
+		return separatorCount + (unterminatedLastLine ? 1 : 0);
+	}
+
+	private String indexedLine(int index) {
+		int lineStart = index == 0 ? 0 : separators[index - 1] + separator.length();
+		int lineEnd = index < separatorCount ? separators[index] : text.length();
+		return text.substring(lineStart, lineEnd);
+	}
+
+	private void decode() {
+		decodeHead();
+		if (tailWritten > 0) {
+			if (headTextLength < 0)
+				// no more bytes are written to the head, so its text is complete
+				headTextLength = text.length();
+			if (decodedTailWritten != tailWritten)
+				decodeTail();
+		}
+	}
+
+	private void decodeHead() {
+		while (decodedBytes < head.size()) {
+			ByteBuffer bytes = head.segment(decodedBytes);
+			int length = bytes.remaining();
+			if (carry.position() > 0) {
+				decodedBytes += decodeCarry(bytes);
+				continue;
+			}
+
+			decode(decoder, bytes);
+			if (decodedBytes + length < head.size()) {
+				// the remaining bytes belong to a character that continues in the next chunk
+				carry.put(bytes);
+				decodedBytes += length;
+			} else {
+				// the remaining bytes belong to a character that wasn't written completely, yet
+				decodedBytes += length - bytes.remaining();
+				return;
+			}
+		}
+	}
+
+	private int decodeCarry(ByteBuffer bytes) {
+		int taken = Math.min(carry.remaining(), bytes.remaining());
+		carry.put(bytes.limit(bytes.position() + taken));
+		carry.flip();
+		decode(decoder, carry);
+		int undecoded = carry.remaining();
+		if (undecoded > taken) {
+			// the character is still incomplete, so keep all of its bytes
+			carry.compact();
+			return taken;
+		}
+		// the undecoded bytes came from the chunk, so they will be decoded from there
+		carry.clear();
+		return taken - undecoded;
+	}
+
+	private void decodeTail() {
+		// the tail's content shifts with every write, so it is decoded anew
+		truncateText(headTextLength);
+		int length = (int) Math.min(tailWritten, tailLimit);
+		if (length > 0) {
+			if (orderedTail == null)
+				orderedTail = new byte[tailLimit];
+			int start = tailWritten <= tailLimit ? 0 : (int) (tailWritten % tailLimit);
+			int untilEnd = Math.min(length, tailLimit - start);
+			System.arraycopy(tail, start, orderedTail, 0, untilEnd);
+			System.arraycopy(tail, 0, orderedTail, untilEnd, length - untilEnd);
+			tailDecoder.reset();
+			decode(tailDecoder, ByteBuffer.wrap(orderedTail, 0, length));
+		}
+		decodedTailWritten = tailWritten;
+	}
+
+	private void truncateText(int length) {
+		text.setLength(length);
+		textSnapshot = null;
+		while (separatorCount > 0 && separators[separatorCount - 1] + separator.length() > length)
+			separatorCount--;
+		int lastSeparatorEnd = separatorCount == 0 ? 0 : separators[separatorCount - 1] + separator.length();
+		indexedChars = Math.min(indexedChars, Math.max(lastSeparatorEnd, length - separator.length() + 1));
+	}
+
+	private void decode(CharsetDecoder decoder, ByteBuffer bytes) {
+		CoderResult result;
+		do {
+			result = decoder.decode(bytes, decoded, false);
+			decoded.flip();
+			text.append(decoded);
+			decoded.clear();
+		} while (result.isOverflow());
+	}
+
+	private void indexLines() {
+		int searchStart = indexedChars;
+		int separatorStart;
+		while ((separatorStart = text.indexOf(separator, searchStart)) >= 0) {
+			if (separatorCount == separators.length)
+				separators = Arrays.copyOf(separators, 2 * separatorCount);
+			separators[separatorCount++] = separatorStart;
+			searchStart = separatorStart + separator.length();
+		}
+		// a separator's first characters may already be decoded while the others aren't, yet
+		indexedChars = Math.max(searchStart, text.length() - separator.length() + 1);
+	}
+
+	/**
+	 * Returns the lines like {@link #lines()} does, but lazily. If the head was spilled to a file,
+	 * the captured bytes are decoded while the stream is consumed.
+	 */
+	synchronized Stream<String> lineStream() {
+		if (!head.hasSpilled()) {
+			int lineCount = indexedLineCount();
+			return IntStream.range(0, lineCount).mapToObj(this::line);
+		}
+		Reader reader = reader();
+		return StreamSupport.stream(new LineSpliterator(reader, separator), false).onClose(() -> {
+			try {
+				reader.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
+	/**
+	 * Searches the text for the given string. If the head was spilled to a file,
+	 * the captured bytes are decoded during the search instead of keeping the text in memory.
+	 *
+	 * @return the index of the string's first occurrence in the {@link #text() text} or -1 if there is none
+	 */
+	synchronized long indexOf(String string) {
+		if (!head.hasSpilled()) {
+			decode();
+			return text.indexOf(string);
+		}
+		try (Reader reader = reader()) {
+			return indexOf(reader, string);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	synchronized boolean contains(String string) {
+		return indexOf(string) >= 0;
+	}
+
+	private Reader reader() {
+		return new InputStreamReader(new CapturedBytes(), newDecoder(charset));
+	}
+
+	private static long indexOf(Reader reader, String string) throws IOException {
+		StringBuilder window = new StringBuilder();
+		char[] buffer = new char[CHUNK_SIZE];
+		long windowStart = 0;
+		int read;
+		while ((read = reader.read(buffer)) >= 0) {
+			window.append(buffer, 0, read);
+			int index = window.indexOf(string);
+			if (index >= 0)
+				return windowStart + index;
+			// keep the end of the window in case the string begins there
+			int kept = Math.min(window.length(), string.length() - 1);
+			windowStart += window.length() - kept;
+			window.delete(0, window.length() - kept);
+		}
+		return string.isEmpty() ? 0 : -1;
+	}
+
+	/**
+	 * Releases the head's chunks to the pool and deletes the file the head may have been spilled to.
+	 * Afterwards, only the text that was already decoded can be requested.
+	 */
+	@Override
+	public synchronized void close() {
+		head.close();
+	}
+
+	/**
+	 * The bytes that were captured when this stream was created: the head followed by the tail.
+	 */
+	private class CapturedBytes extends InputStream {
+
+		private final long headSize;
+		private final byte[] tailBytes;
+		private long position;
+
+		CapturedBytes() {
+			headSize = head.size();
+			int tailLength = (int) Math.min(tailWritten, tailLimit);
+			tailBytes = new byte[tailLength];
+			if (tailLength > 0) {
+				int start = tailWritten <= tailLimit ? 0 : (int) (tailWritten % tailLimit);
+				int untilEnd = Math.min(tailLength, tailLimit - start);
+				System.arraycopy(tail, start, tailBytes, 0, untilEnd);
+				System.arraycopy(tail, 0, tailBytes, untilEnd, tailLength - untilEnd);
+			}
+		}
+
+		@Override
+		public int read() {
+			byte[] single = new byte[1];
+			return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			Objects.checkFromIndexSize(offset, length, bytes.length);
+			if (length == 0)
+				return 0;
+			if (position >= headSize + tailBytes.length)
+				return -1;
+			int count;
+			if (position < headSize) {
+				synchronized (CaptureBuffer.this) {
+					count = head.read(position, bytes, offset, (int) Math.min(length, headSize - position));
+				}
+			} else {
+				int tailPosition = (int) (position - headSize);
+				count = Math.min(length, tailBytes.length - tailPosition);
+				System.arraycopy(tailBytes, tailPosition, bytes, offset, count);
+			}
+			position += count;
+			return count;
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps the chunks of {@link ChunkedByteStore stores} that were closed, so the next stores can reuse
+ * them instead of allocating new ones. Only up to a maximum number of bytes is retained - surplus chunks
+ * are left to the garbage collector, so a single test that captured a lot doesn't pin that memory.
+ *
+ * <p>A pool is shared by all tests of an engine execution, so this class is thread-safe.</p>
+ */
+class ChunkPool {
+
+	/**
+	 * The configuration parameter that sets the maximum number of bytes a pool retains;
+	 * {@code 0} disables pooling.
+	 */
+	static final String MAX_RETAINED_BYTES_PARAM = "org.junitpioneer.jupiter.stdio.pool.maxretainedbytes";
+
+	static final long DEFAULT_MAX_RETAINED_BYTES = 4 * 1024 * 1024;
+
+	static final ChunkPool UNPOOLED = new ChunkPool(0);
+
+	private final int maxRetainedChunks;
+	private final Deque<byte[]> chunks = new ArrayDeque<>();
+
+	ChunkPool(long maxRetainedBytes) {
+		this.maxRetainedChunks = (int) Math.min(maxRetainedBytes / ChunkedByteStore.CHUNK_SIZE, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return a chunk of {@link ChunkedByteStore#CHUNK_SIZE} bytes, which may contain bytes of a previous store
+	 */
+	synchronized byte[] take() {
+		byte[] chunk = chunks.pollFirst();
+		return chunk == null ? new byte[ChunkedByteStore.CHUNK_SIZE] : chunk;
+	}
+
+	/**
+	 * Retains the given chunk for reuse unless the pool is full. The chunk must not be used afterwards.
+	 */
+	synchronized void release(byte[] chunk) {
+		if (chunks.size() < maxRetainedChunks)
+			// the most recently used chunk is the most likely to still be in a CPU cache
+			chunks.addFirst(chunk);
+	}
+
+	synchronized int retainedChunks() {
+		return chunks.size();
+	}
+
+}
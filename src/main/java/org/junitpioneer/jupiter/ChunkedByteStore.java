@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores bytes in fixed-size chunks, which are kept in memory until they exceed the spill threshold.
+ * Then, all complete chunks are appended to a temporary file and further chunks are collected in
+ * memory until they exceed the threshold again.
+ *
+ * <p>The temporary file is read with positional reads instead of being memory-mapped, so it can be
+ * deleted on {@link #close()} on all operating systems (mapped files can't be deleted on Windows
+ * until the mapping is garbage collected).</p>
+ *
+ * <p>The chunks are taken from a {@link ChunkPool} and released to it on {@link #close()}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+class ChunkedByteStore implements AutoCloseable {
+
+	static final int CHUNK_SIZE = 8 * 1024;
+
+	private final long spillThreshold;
+	private final ChunkPool pool;
+	private final List<byte[]> chunks = new ArrayList<>();
+	private long size;
+
+	private Path spillFile;
+	private FileChannel spill;
+	private long spilled;
+	private byte[] spareChunk;
+	private byte[] readChunk;
+	private boolean closed;
+
+	ChunkedByteStore() {
+		this(Long.MAX_VALUE, ChunkPool.UNPOOLED);
+	}
+
+	/**
+	 * @param spillThreshold the number of bytes that is kept in memory before they're written to a file
+	 * @param pool provides the chunks and retains them on {@link #close()}
+	 */
+	ChunkedByteStore(long spillThreshold, ChunkPool pool) {
+		this.spillThreshold = spillThreshold;
+		this.pool = pool;
+	}
+
+	void write(byte b) {
+		currentChunk()[(int) (size % CHUNK_SIZE)] = b;
+		size++;
+		if (size % CHUNK_SIZE == 0)
+			spillIfNecessary();
+	}
+
+	void write(byte[] bytes, int offset, int length) {
+		while (length > 0) {
+			int chunkOffset = (int) (size % CHUNK_SIZE);
+			int count = Math.min(length, CHUNK_SIZE - chunkOffset);
+			System.arraycopy(bytes, offset, currentChunk(), chunkOffset, count);
+			offset += count;
+			length -= count;
+			size += count;
+			if (size % CHUNK_SIZE == 0)
+				spillIfNecessary();
+		}
+	}
+
+	private byte[] currentChunk() {
+		if ((size - spilled) / CHUNK_SIZE == chunks.size()) {
+			chunks.add(spareChunk == null ? pool.take() : spareChunk);
+			spareChunk = null;
+		}
+		return chunks.get(chunks.size() - 1);
+	}
+
+	private void spillIfNecessary() {
+		if ((long) chunks.size() * CHUNK_SIZE < spillThreshold)
+			return;
+		try {
+			if (spill == null) {
+				spillFile = Files.createTempFile("junit-pioneer-std-io-", ".capture");
+				spill = FileChannel.open(spillFile, READ, WRITE);
+			}
+			for (byte[] chunk : chunks) {
+				ByteBuffer bytes = ByteBuffer.wrap(chunk);
+				while (bytes.hasRemaining())
+					spill.write(bytes, spilled + bytes.position());
+				spilled += CHUNK_SIZE;
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write captured bytes to " + spillFile, ex);
+		}
+		spareChunk = chunks.get(0);
+		chunks.clear();
+	}
+
+	long size() {
+		return size;
+	}
+
+	boolean hasSpilled() {
+		return spilled > 0;
+	}
+
+	/**
+	 * Returns the stored bytes from the given position up to the end of its chunk (or the end of the
+	 * stored bytes). The returned buffer is only valid until the next call of this method.
+	 */
+	ByteBuffer segment(long position) {
+		checkNotClosed();
+		int chunkOffset = (int) (position % CHUNK_SIZE);
+		int length = (int) Math.min(CHUNK_SIZE - chunkOffset, size - position);
+		if (position >= spilled)
+			return ByteBuffer.wrap(chunks.get((int) ((position - spilled) / CHUNK_SIZE)), chunkOffset, length);
+
+		if (readChunk == null)
+			readChunk = pool.take();
+		ByteBuffer bytes = ByteBuffer.wrap(readChunk, 0, length);
+		read(position, bytes);
+		bytes.flip();
+		return bytes;
+	}
+
+	/**
+	 * Copies the stored bytes from the given position into the given array.
+	 *
+	 * @return the number of copied bytes, which is never more than the rest of the position's chunk
+	 */
+	int read(long position, byte[] target, int offset, int length) {
+		checkNotClosed();
+		int chunkOffset = (int) (position % CHUNK_SIZE);
+		int count = (int) Math.min(Math.min(CHUNK_SIZE - chunkOffset, size - position), length);
+		if (position >= spilled)
+			System.arraycopy(chunks.get((int) ((position - spilled) / CHUNK_SIZE)), chunkOffset, target, offset,
+				count);
+		else
+			read(position, ByteBuffer.wrap(target, offset, count));
+		return count;
+	}
+
+	private void checkNotClosed() {
+		if (closed)
+			throw new IllegalStateException("The captured bytes were already discarded");
+	}
+
+	private void read(long position, ByteBuffer target) {
+		try {
+			int start = target.position();
+			while (target.hasRemaining()) {
+				int read = spill.read(target, position + target.position() - start);
+				if (read < 0)
+					throw new IOException("Unexpected end of file");
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read captured bytes from " + spillFile, ex);
+		}
+	}
+
+	/**
+	 * Releases the chunks to the pool and deletes the temporary file (if there is one).
+	 */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		chunks.forEach(pool::release);
+		chunks.clear();
+		if (spareChunk != null)
+			pool.release(spareChunk);
+		if (readChunk != null)
+			pool.release(readChunk);
+		spareChunk = null;
+		readChunk = null;
+		if (spill == null)
+			return;
+		try {
+			spill.close();
+			Files.deleteIfExists(spillFile);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to delete " + spillFile, ex);
+		}
+		finally {
+			spill = null;
+		}
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.util.Map.Entry.comparingByKey;
+import static java.util.stream.Collectors.joining;
+import static org.junitpioneer.jupiter.StopwatchExtension.formatMillis;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+/**
+ * A JFR recording of a single test.
+ *
+ * <p>This class uses the optional module {@code jdk.jfr}, so it must only be loaded if that module is present.</p>
+ */
+class FlightRecording implements CloseableResource {
+
+	static final String GC_KEY = "RecordFlightGc";
+	static final String ALLOCATION_KEY = "RecordFlightAllocation";
+	static final String HOT_METHODS_KEY = "RecordFlightHotMethods";
+	static final String LOCK_KEY = "RecordFlightLocks";
+
+	private static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+	// allocation samples were added in JDK 16, before that, only TLAB events are available
+	private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+	private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+	private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+	private final Recording recording;
+	private final long testThreadId;
+	private final long startNanos;
+	private long durationNanos;
+
+	private FlightRecording(Recording recording, Thread testThread) {
+		this.recording = recording;
+		this.testThreadId = testThread.getId();
+		this.recording.start();
+		this.startNanos = System.nanoTime();
+	}
+
+	static boolean isAvailable() {
+		return FlightRecorder.isAvailable();
+	}
+
+	/**
+	 * Starts a recording whose summary focuses on the given test thread.
+	 */
+	static FlightRecording start(String settings, String name, Thread testThread) {
+		Recording recording = new Recording(loadConfiguration(settings));
+		recording.setName(name);
+		recording.setToDisk(true);
+		return new FlightRecording(recording, testThread);
+	}
+
+	private static Configuration loadConfiguration(String settings) {
+		try {
+			boolean predefined = Configuration
+					.getConfigurations()
+					.stream()
+					.anyMatch(configuration -> configuration.getName().equals(settings));
+			return predefined ? Configuration.getConfiguration(settings) : Configuration.create(Paths.get(settings));
+		}
+		catch (NoSuchFileException ex) {
+			throw new ExtensionConfigurationException(String
+					.format("@RecordFlight settings [%s] are neither a predefined configuration nor an existing file.",
+						settings),
+				ex);
+		}
+		catch (IOException | ParseException ex) {
+			throw new ExtensionConfigurationException(
+				String.format("@RecordFlight could not load the settings [%s].", settings), ex);
+		}
+	}
+
+	/**
+	 * Stops the recording and writes it to the given file.
+	 */
+	void stop(Path file) {
+		durationNanos = System.nanoTime() - startNanos;
+		try {
+			recording.stop();
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			recording.dump(file);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write flight recording " + file, ex);
+		}
+		finally {
+			recording.close();
+		}
+	}
+
+	/**
+	 * Reads the given recording and summarizes it. Except for garbage collections, which concern the
+	 * entire JVM, only events of the test thread are taken into account.
+	 *
+	 * @return the summary's report entries
+	 */
+	Map<String, String> summarize(Path file, String displayName, int hotMethods) {
+		// recordings of slow tests can be large, so they're read event by event instead of all at once
+		EventSummary events = new EventSummary(testThreadId);
+		try (RecordingFile recordingFile = new RecordingFile(file)) {
+			while (recordingFile.hasMoreEvents())
+				events.add(recordingFile.readEvent());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read flight recording " + file, ex);
+		}
+
+		Map<String, String> summary = new LinkedHashMap<>();
+		summary.put(GC_KEY, events.garbageCollections(displayName));
+		summary.put(ALLOCATION_KEY, events.allocations(displayName, durationNanos));
+		summary.put(HOT_METHODS_KEY, events.hotMethods(displayName, hotMethods));
+		summary.put(LOCK_KEY, events.lockContention(displayName));
+		return summary;
+	}
+
+	/**
+	 * Aggregates the events of a recording in a single pass.
+	 */
+	private static final class EventSummary {
+
+		private final long testThreadId;
+
+		private long collections;
+		private Duration totalPause = Duration.ZERO;
+		private Duration longestPause = Duration.ZERO;
+
+		private long sampledBytes;
+		private long samples;
+		private long tlabBytes;
+		private long tlabEvents;
+
+		private final Map<String, Long> samplesByMethod = new HashMap<>();
+
+		private long contentions;
+		private Duration totalWait = Duration.ZERO;
+
+		EventSummary(long testThreadId) {
+			this.testThreadId = testThreadId;
+		}
+
+		void add(RecordedEvent event) {
+			switch (event.getEventType().getName()) {
+				case GARBAGE_COLLECTION:
+					collections++;
+					totalPause = totalPause.plus(event.getDuration("sumOfPauses"));
+					if (event.getDuration("longestPause").compareTo(longestPause) > 0)
+						longestPause = event.getDuration("longestPause");
+					break;
+				case ALLOCATION_SAMPLE:
+					if (isOnTestThread(event.getThread())) {
+						sampledBytes += event.getLong("weight");
+						samples++;
+					}
+					break;
+				case ALLOCATION_IN_NEW_TLAB:
+					if (isOnTestThread(event.getThread())) {
+						tlabBytes += event.getLong("tlabSize");
+						tlabEvents++;
+					}
+					break;
+				case ALLOCATION_OUTSIDE_TLAB:
+					if (isOnTestThread(event.getThread())) {
+						tlabBytes += event.getLong("allocationSize");
+						tlabEvents++;
+					}
+					break;
+				case EXECUTION_SAMPLE:
+					String method = topMethod(event);
+					if (method != null && isOnTestThread(event.getThread("sampledThread")))
+						samplesByMethod.merge(method, 1L, Long::sum);
+					break;
+				case MONITOR_ENTER:
+					if (isOnTestThread(event.getThread())) {
+						contentions++;
+						totalWait = totalWait.plus(event.getDuration());
+					}
+					break;
+				default:
+					break;
+			}
+		}
+
+		private boolean isOnTestThread(RecordedThread thread) {
+			return thread != null && thread.getJavaThreadId() == testThreadId;
+		}
+
+		String garbageCollections(String displayName) {
+			return String
+					.format(
+						"GC during '%s' (entire JVM): [%d] collections with a total pause of [%s] ms and a longest pause of [%s] ms.",
+						displayName, collections, formatMillis(totalPause.toNanos()),
+						formatMillis(longestPause.toNanos()));
+		}
+
+		String allocations(String displayName, long durationNanos) {
+			// allocation samples are more accurate, so TLAB events are only used without them
+			boolean sampled = samples > 0;
+			long bytes = sampled ? sampledBytes : tlabBytes;
+			long count = sampled ? samples : tlabEvents;
+			if (count == 0)
+				return String
+						.format("Allocation rate during '%s': unknown (no allocation events recorded).", displayName);
+			double megabytesPerSecond = bytes / 1e6 / (durationNanos / 1e9);
+			return String
+					.format(Locale.ROOT, "Allocation rate during '%s': [%.3f] MB/s (estimated from [%d] events).",
+						displayName, megabytesPerSecond, count);
+		}
+
+		String hotMethods(String displayName, int hotMethods) {
+			if (samplesByMethod.isEmpty())
+				return String.format("Hot methods during '%s': none (no execution samples recorded).", displayName);
+			String methods = samplesByMethod
+					.entrySet()
+					.stream()
+					// break ties by name, so the summary is deterministic
+					.sorted(Map.Entry.<String, Long> comparingByValue().reversed().thenComparing(comparingByKey()))
+					.limit(hotMethods)
+					.map(method -> String.format("%s [%d]", method.getKey(), method.getValue()))
+					.collect(joining(", "));
+			return String.format("Hot methods during '%s' (execution samples): %s.", displayName, methods);
+		}
+
+		String lockContention(String displayName) {
+			return String
+					.format("Lock contention during '%s': [%d] contended monitor enters with a total wait of [%s] ms.",
+						displayName, contentions, formatMillis(totalWait.toNanos()));
+		}
+
+		private static String topMethod(RecordedEvent sample) {
+			if (sample.getStackTrace() == null || sample.getStackTrace().getFrames().isEmpty())
+				return null;
+			RecordedFrame frame = sample.getStackTrace().getFrames().get(0);
+			RecordedMethod method = frame.getMethod();
+			return method.getType().getName() + "." + method.getName() + "()";
+		}
+
+	}
+
+	@Override
+	public void close() {
+		// closing is idempotent, so it doesn't matter whether `stop` already closed the recording
+		recording.close();
+	}
+
+}
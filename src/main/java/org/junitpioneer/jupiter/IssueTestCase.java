@@ -34,16 +34,32 @@ public final class IssueTestCase {
 	private final Status result;
 	// no `OptionalLong` because its API doesn't have `map`
 	private final Optional<Long> elapsedTime;
+	private final Optional<Long> cpuTime;
+	private final Optional<Long> allocatedBytes;
 
 	/**
 	 * @param testId Unique name of the test method
 	 * @param result Result of the execution
 	 * @param elapsedTime The (optional) duration of test execution
+	 * @param cpuTime The (optional) CPU time of test execution
+	 * @param allocatedBytes The (optional) number of bytes allocated during test execution
 	 */
-	public IssueTestCase(String testId, Status result, Optional<Long> elapsedTime) {
+	public IssueTestCase(String testId, Status result, Optional<Long> elapsedTime, Optional<Long> cpuTime,
+			Optional<Long> allocatedBytes) {
 		this.testId = requireNonNull(testId);
 		this.result = requireNonNull(result, NO_RESULT_EXCEPTION_MESSAGE);
 		this.elapsedTime = elapsedTime;
+		this.cpuTime = cpuTime;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * @param testId Unique name of the test method
+	 * @param result Result of the execution
+	 * @param elapsedTime The (optional) duration of test execution
+	 */
+	public IssueTestCase(String testId, Status result, Optional<Long> elapsedTime) {
+		this(testId, result, elapsedTime, Optional.empty(), Optional.empty());
 	}
 
 	/**
@@ -90,6 +106,26 @@ public final class IssueTestCase {
 		return elapsedTime;
 	}
 
+	/**
+	 * Returns the CPU time of the test methods' execution in milliseconds
+	 * (see {@link Stopwatch#cpuTime()}).
+	 *
+	 * @return The CPU time in ms.
+	 */
+	public Optional<Long> cpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Returns the number of bytes allocated during the test methods' execution
+	 * (see {@link Stopwatch#allocations()}).
+	 *
+	 * @return The allocated bytes.
+	 */
+	public Optional<Long> allocatedBytes() {
+		return allocatedBytes;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o)
@@ -97,12 +133,13 @@ public final class IssueTestCase {
 		if (!(o instanceof IssueTestCase))
 			return false;
 		var that = (IssueTestCase) o;
-		return testId.equals(that.testId) && result == that.result && Objects.equals(elapsedTime, that.elapsedTime);
+		return testId.equals(that.testId) && result == that.result && Objects.equals(elapsedTime, that.elapsedTime)
+				&& Objects.equals(cpuTime, that.cpuTime) && Objects.equals(allocatedBytes, that.allocatedBytes);
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(testId, result, elapsedTime);
+		return Objects.hash(testId, result, elapsedTime, cpuTime, allocatedBytes);
 	}
 
 	@Override
@@ -111,6 +148,12 @@ public final class IssueTestCase {
 		if (elapsedTime.isPresent()) {
 			value += ", elapsedTime='" + elapsedTime.get() + " ms'";
 		}
+		if (cpuTime.isPresent()) {
+			value += ", cpuTime='" + cpuTime.get() + " ms'";
+		}
+		if (allocatedBytes.isPresent()) {
+			value += ", allocatedBytes='" + allocatedBytes.get() + " bytes'";
+		}
 		return value + '}';
 	}
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+
+/**
+ * Encodes the lines an iterator provides on demand, each followed by the line separator,
+ * so arbitrarily long input can be generated without keeping it in memory.
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+class LineChannel implements ReadableByteChannel {
+
+	private final Iterator<String> lines;
+	private final CharsetEncoder encoder;
+	private CharBuffer line = CharBuffer.allocate(0);
+	private boolean open = true;
+
+	LineChannel(Iterator<String> lines, Charset charset) {
+		this.lines = lines;
+		this.encoder = charset
+				.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	@Override
+	public int read(ByteBuffer target) throws IOException {
+		if (!open)
+			throw new ClosedChannelException();
+		int start = target.position();
+		while (target.hasRemaining()) {
+			if (!line.hasRemaining()) {
+				if (!lines.hasNext())
+					break;
+				line = CharBuffer.wrap(lines.next() + StdIoExtension.SEPARATOR);
+			}
+			// on overflow, the rest of the line is encoded on the next read
+			if (encoder.encode(line, target, false).isOverflow())
+				break;
+		}
+		int read = target.position() - start;
+		boolean exhausted = !line.hasRemaining() && !lines.hasNext();
+		return read == 0 && exhausted ? -1 : read;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public void close() {
+		open = false;
+	}
+
+}
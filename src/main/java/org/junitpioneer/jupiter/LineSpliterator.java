@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Divides the text a reader provides into lines on the given separator, without a
+ * trailing empty line (just like {@link StdOutputStream#capturedLines()}).
+ */
+class LineSpliterator extends Spliterators.AbstractSpliterator<String> {
+
+	private final Reader reader;
+	private final String separator;
+	private final char[] buffer = new char[1024];
+	private final StringBuilder line = new StringBuilder();
+	private int position;
+	private int limit;
+
+	LineSpliterator(Reader reader, String separator) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.reader = reader;
+		this.separator = separator;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super String> action) {
+		while (fillBuffer()) {
+			char next = buffer[position++];
+			line.append(next);
+			if (next == separator.charAt(separator.length() - 1) && endsWithSeparator()) {
+				line.setLength(line.length() - separator.length());
+				return emitLine(action);
+			}
+		}
+		return line.length() > 0 && emitLine(action);
+	}
+
+	private boolean fillBuffer() {
+		if (position < limit)
+			return true;
+		try {
+			limit = reader.read(buffer);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		position = 0;
+		return limit > 0;
+	}
+
+	private boolean endsWithSeparator() {
+		int start = line.length() - separator.length();
+		if (start < 0)
+			return false;
+		for (int i = 0; i < separator.length(); i++)
+			if (line.charAt(start + i) != separator.charAt(i))
+				return false;
+		return true;
+	}
+
+	private boolean emitLine(Consumer<? super String> action) {
+		action.accept(line.toString());
+		line.setLength(0);
+		return true;
+	}
+
+}
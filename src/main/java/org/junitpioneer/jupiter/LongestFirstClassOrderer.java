@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junitpioneer.jupiter.timing.TestDurations;
+
+/**
+ * {@code LongestFirstClassOrderer} is a {@link ClassOrderer} that orders test classes by their durations in
+ * previous runs, longest first. During parallel execution, starting the longest classes first keeps a single long
+ * class that starts late from holding up the entire run (a strategy known as <em>longest processing time first</em>).
+ *
+ * <p>A class's duration is the sum of the durations of its tests, including those in nested classes.
+ * Like {@link LongestFirstMethodOrderer}, it reads them from the file that {@link Stopwatch @Stopwatch} records its
+ * results in and places classes without a known duration as configured by {@value TestDurations#UNKNOWN_PARAM}.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/longest-first-order/" target="_top">the documentation on ordering tests by duration</a>.</p>
+ *
+ * @see LongestFirstMethodOrderer
+ * @since 2.2
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+	@Override
+	public void orderClasses(ClassOrdererContext context) {
+		TestDurations
+				.load(context::getConfigurationParameter)
+				.<ClassDescriptor> sortLongestFirst(context.getClassDescriptors(),
+					testClass -> TestDurations.key(testClass.getTestClass()));
+	}
+
+}
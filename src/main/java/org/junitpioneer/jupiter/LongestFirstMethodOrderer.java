@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junitpioneer.jupiter.timing.TestDurations;
+
+/**
+ * {@code LongestFirstMethodOrderer} is a {@link MethodOrderer} that orders test methods by their durations in
+ * previous runs, longest first. During parallel execution, starting the longest tests first keeps a single long
+ * test that starts late from holding up the entire run (a strategy known as <em>longest processing time first</em>).
+ *
+ * <p>The durations are read from the file that {@link Stopwatch @Stopwatch} records its results in when
+ * <a href="https://junit-pioneer.org/docs/timing-baselines/" target="_top">timing baselines</a> are enabled,
+ * so only tests that are annotated with {@code @Stopwatch} have a known duration. Where the other methods go
+ * is configured with the configuration parameter {@value TestDurations#UNKNOWN_PARAM}: {@code first} (the default),
+ * {@code last}, or a number of milliseconds to assume as their duration.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/longest-first-order/" target="_top">the documentation on ordering tests by duration</a>.</p>
+ *
+ * @see LongestFirstClassOrderer
+ * @since 2.2
+ */
+public class LongestFirstMethodOrderer implements MethodOrderer {
+
+	@Override
+	public void orderMethods(MethodOrdererContext context) {
+		TestDurations
+				.load(context::getConfigurationParameter)
+				.<MethodDescriptor> sortLongestFirst(context.getMethodDescriptors(),
+					method -> TestDurations.key(context.getTestClass(), method.getMethod()));
+	}
+
+}
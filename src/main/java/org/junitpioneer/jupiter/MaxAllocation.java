@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * {@code @MaxAllocation} is a JUnit Jupiter extension to fail a test if its body allocates more
+ * than the given number of {@link #bytes() bytes}, e.g. to guard supposedly allocation-free
+ * code against regressions with {@code @MaxAllocation(bytes = 0)}.
+ *
+ * <p>Only the bytes the thread executing the test method allocates are counted - neither the
+ * {@code @BeforeEach}/{@code @AfterEach} methods nor other threads are included. From that number,
+ * a baseline is subtracted that's calibrated once per test run and accounts for the allocations
+ * of the invocation and the measurement themselves.</p>
+ *
+ * <p>Code that runs for the first time usually allocates more than it does later on, e.g. because it
+ * loads classes or isn't JIT-compiled yet. To keep that from failing the test, the test method
+ * can be invoked a few times before it's measured with {@link #warmups()}.</p>
+ *
+ * <p>If the JVM can't measure allocations, the test is executed without checking the budget.</p>
+ *
+ * <p>The annotation can be used on test methods (including test templates like
+ * {@link org.junit.jupiter.api.RepeatedTest @RepeatedTest}, where each invocation is measured on its own)
+ * and as meta-annotation on other annotation types.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/max-allocation/" target="_top">the documentation on <code>@MaxAllocation</code></a>.</p>
+ *
+ * @since 2.2
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ METHOD, ANNOTATION_TYPE })
+@ExtendWith(MaxAllocationExtension.class)
+public @interface MaxAllocation {
+
+	/**
+	 * The maximum number of bytes the test may allocate; must not be negative.
+	 */
+	long bytes();
+
+	/**
+	 * How often to invoke the test method before it's measured; must not be negative.
+	 * The warm-up invocations only execute the test method, not the lifecycle methods
+	 * around it, and fail the test if they throw.
+	 */
+	int warmups() default 0;
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.opentest4j.AssertionFailedError;
+
+class MaxAllocationExtension implements InvocationInterceptor {
+
+	private static final Namespace NAMESPACE = Namespace.create(MaxAllocationExtension.class);
+	private static final String BASELINE_KEY = "MaxAllocation_Baseline";
+	static final String UNSUPPORTED_KEY = "MaxAllocationExtensionUnsupported";
+
+	private static final int CALIBRATION_RUNS = 32;
+
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		measureAllocations(invocation, invocationContext, extensionContext);
+	}
+
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		measureAllocations(invocation, invocationContext, extensionContext);
+	}
+
+	private static void measureAllocations(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext context) throws Throwable {
+		MaxAllocation maxAllocation = getMaxAllocationAnnotation(context);
+		if (maxAllocation.bytes() < 0)
+			throw new ExtensionConfigurationException("@MaxAllocation bytes must not be negative");
+		if (maxAllocation.warmups() < 0)
+			throw new ExtensionConfigurationException("@MaxAllocation warmups must not be negative");
+
+		if (!ThreadUsageMeter.isAllocationSupported()) {
+			context
+					.publishReportEntry(UNSUPPORTED_KEY, String
+							.format("The JVM can't measure allocations, so the budget of '%s' wasn't checked.",
+								context.getDisplayName()));
+			invocation.proceed();
+			return;
+		}
+
+		new TestMethodRepeater(invocationContext).warmUp(maxAllocation.warmups());
+		long baseline = loadBaseline(context);
+
+		ThreadUsageMeter meter = ThreadUsageMeter.start(false);
+		invocation.proceed();
+		long allocatedBytes = Math.max(meter.allocatedBytes() - baseline, 0);
+
+		if (allocatedBytes > maxAllocation.bytes()) {
+			//@formatter:off
+			String message = String.format(
+					"Execution of '%s' allocated [%d] bytes, which exceeds the budget of [%d] bytes "
+							+ "(a baseline of [%d] bytes was subtracted).",
+					context.getDisplayName(), allocatedBytes, maxAllocation.bytes(), baseline);
+			//@formatter:on
+			throw new AssertionFailedError(message);
+		}
+	}
+
+	private static long loadBaseline(ExtensionContext context) {
+		return context
+				.getRoot()
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(BASELINE_KEY, __ -> calibrateBaseline(), Long.class);
+	}
+
+	/**
+	 * Measures the reflective invocation of an empty method, which includes the allocations of the
+	 * reflective call and of the measurement itself. The smallest of several runs is taken, so the
+	 * first ones' class loading doesn't count.
+	 *
+	 * <p>The test method is measured around {@code invocation.proceed()} instead, which also includes
+	 * the rest of Jupiter's invocation chain (and interceptors registered after this one). An empty
+	 * method can't be invoked through that chain, so their allocations aren't part of the baseline.</p>
+	 */
+	private static long calibrateBaseline() {
+		Method noop = ReflectionSupport
+				.findMethod(MaxAllocationExtension.class, "noop")
+				.orElseThrow(() -> new IllegalStateException("Calibration method is missing."));
+		long baseline = Long.MAX_VALUE;
+		for (int i = 0; i < CALIBRATION_RUNS; i++) {
+			ThreadUsageMeter meter = ThreadUsageMeter.start(false);
+			ReflectionSupport.invokeMethod(noop, null);
+			baseline = Math.min(baseline, meter.allocatedBytes());
+		}
+		return Math.max(baseline, 0);
+	}
+
+	@SuppressWarnings("unused")
+	private static void noop() {
+		// the method whose invocation calibrates the baseline
+	}
+
+	private static MaxAllocation getMaxAllocationAnnotation(ExtensionContext context) {
+		return AnnotationSupport
+				.findAnnotation(context.getRequiredTestMethod(), MaxAllocation.class)
+				.orElseThrow(() -> new IllegalStateException("@MaxAllocation is missing."));
+	}
+
+}
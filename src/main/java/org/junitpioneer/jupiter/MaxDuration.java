@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * {@code @MaxDuration} is a JUnit Jupiter extension to fail a test if its latency exceeds a budget,
+ * e.g. {@code @MaxDuration(p99 = "5ms", warmup = 1000, iterations = 10000)}.
+ *
+ * <p>The test method is invoked once as usual, then {@link #warmup()} times without measuring it, and
+ * then {@link #iterations()} times while each invocation's duration is recorded. The test fails if
+ * any of the configured percentiles of these durations exceeds its budget. A budget is a number
+ * followed by one of the units {@code ns}, {@code us} (or {@code µs}), {@code ms}, and {@code s},
+ * e.g. {@code "250us"} or {@code "1.5ms"}. At least one budget must be configured.</p>
+ *
+ * <p>Only the test method is invoked repeatedly, not the lifecycle methods around it. Other
+ * extensions that intercept the test method (e.g. {@link org.junit.jupiter.api.Timeout @Timeout})
+ * only apply to the first invocation, which isn't measured. If any invocation throws an exception,
+ * the test fails with it. The measured percentiles are published as a report entry.</p>
+ *
+ * <p>The annotation can be used on test methods (including test templates like
+ * {@link org.junit.jupiter.api.RepeatedTest @RepeatedTest}, where each invocation is measured on its own)
+ * and as meta-annotation on other annotation types.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/max-duration/" target="_top">the documentation on <code>@MaxDuration</code></a>.</p>
+ *
+ * @since 2.2
+ * @see Stopwatch
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ METHOD, ANNOTATION_TYPE })
+@ExtendWith(MaxDurationExtension.class)
+public @interface MaxDuration {
+
+	/**
+	 * The budget for the median duration; an empty string (the default) means no budget.
+	 */
+	String p50() default "";
+
+	/**
+	 * The budget for the 90th percentile of the durations; an empty string (the default) means no budget.
+	 */
+	String p90() default "";
+
+	/**
+	 * The budget for the 99th percentile of the durations; an empty string (the default) means no budget.
+	 */
+	String p99() default "";
+
+	/**
+	 * The budget for the 99.9th percentile of the durations; an empty string (the default) means no budget.
+	 */
+	String p999() default "";
+
+	/**
+	 * The budget for the longest duration; an empty string (the default) means no budget.
+	 */
+	String max() default "";
+
+	/**
+	 * How often to invoke the test method before measuring it; must not be negative.
+	 */
+	int warmup() default 0;
+
+	/**
+	 * How often to invoke and measure the test method; must be positive.
+	 */
+	int iterations() default 100;
+
+}
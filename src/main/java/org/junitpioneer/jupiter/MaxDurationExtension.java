@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.util.stream.Collectors.joining;
+import static org.junitpioneer.jupiter.StopwatchExtension.formatMillis;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junitpioneer.internal.LogHistogram;
+import org.opentest4j.AssertionFailedError;
+
+class MaxDurationExtension implements InvocationInterceptor {
+
+	static final String REPORT_KEY = "MaxDurationExtension";
+
+	private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(ns|us|µs|ms|s)");
+
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		measureDurations(invocation, invocationContext, extensionContext);
+	}
+
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		measureDurations(invocation, invocationContext, extensionContext);
+	}
+
+	private static void measureDurations(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext context) throws Throwable {
+		MaxDuration maxDuration = getMaxDurationAnnotation(context);
+		List<Budget> budgets = parseBudgets(maxDuration);
+		if (maxDuration.warmup() < 0)
+			throw new ExtensionConfigurationException("@MaxDuration warmup must not be negative");
+		if (maxDuration.iterations() < 1)
+			throw new ExtensionConfigurationException("@MaxDuration iterations must be positive");
+
+		// the actual invocation isn't measured, because it also runs through other interceptors;
+		// it comes first, so a failing test fails before it's repeated many times
+		invocation.proceed();
+
+		TestMethodRepeater repeater = new TestMethodRepeater(invocationContext);
+		repeater.warmUp(maxDuration.warmup());
+		LogHistogram histogram = new LogHistogram();
+		for (int i = 0; i < maxDuration.iterations(); i++) {
+			long start = System.nanoTime();
+			repeater.invoke();
+			histogram.record(System.nanoTime() - start);
+		}
+
+		reportDurations(context, histogram);
+		String exceeded = budgets
+				.stream()
+				.filter(budget -> budget.measure(histogram) > budget.nanos)
+				.map(budget -> String
+						.format("%s [%s] ms > [%s] ms", budget.name, formatMillis(budget.measure(histogram)),
+							formatMillis(budget.nanos)))
+				.collect(joining(", "));
+		if (!exceeded.isEmpty()) {
+			String message = String
+					.format("Execution of '%s' exceeded its latency budget: %s (%d iterations after %d warm-ups).",
+						context.getDisplayName(), exceeded, histogram.count(), maxDuration.warmup());
+			throw new AssertionFailedError(message);
+		}
+	}
+
+	private static void reportDurations(ExtensionContext context, LogHistogram histogram) {
+		//@formatter:off
+		String message = String.format(
+				"Execution of '%s' (%d iterations) took p50 [%s] ms, p90 [%s] ms, p99 [%s] ms, p99.9 [%s] ms, max [%s] ms.",
+				context.getDisplayName(),
+				histogram.count(),
+				formatMillis(histogram.percentile(50)),
+				formatMillis(histogram.percentile(90)),
+				formatMillis(histogram.percentile(99)),
+				formatMillis(histogram.percentile(99.9)),
+				formatMillis(histogram.max()));
+		//@formatter:on
+		context.publishReportEntry(REPORT_KEY, message);
+	}
+
+	private static List<Budget> parseBudgets(MaxDuration maxDuration) {
+		List<Budget> budgets = new ArrayList<>();
+		addBudget(budgets, "p50", maxDuration.p50(), histogram -> histogram.percentile(50));
+		addBudget(budgets, "p90", maxDuration.p90(), histogram -> histogram.percentile(90));
+		addBudget(budgets, "p99", maxDuration.p99(), histogram -> histogram.percentile(99));
+		addBudget(budgets, "p99.9", maxDuration.p999(), histogram -> histogram.percentile(99.9));
+		addBudget(budgets, "max", maxDuration.max(), LogHistogram::max);
+		if (budgets.isEmpty())
+			throw new ExtensionConfigurationException("@MaxDuration must define at least one budget");
+		return budgets;
+	}
+
+	private static void addBudget(List<Budget> budgets, String name, String duration,
+			Function<LogHistogram, Long> measure) {
+		if (!duration.isEmpty())
+			budgets.add(new Budget(name, parseNanos(name, duration), measure));
+	}
+
+	static long parseNanos(String name, String duration) {
+		Matcher matcher = DURATION.matcher(duration.trim());
+		if (!matcher.matches())
+			throw new ExtensionConfigurationException(String
+					.format("@MaxDuration %s [%s] is not a duration like \"5ms\" (supported units are ns, us, ms, and s)",
+						name, duration));
+		BigDecimal amount = new BigDecimal(matcher.group(1));
+		switch (matcher.group(2)) {
+			case "ns":
+				return amount.longValue();
+			case "us":
+			case "µs":
+				return amount.movePointRight(3).longValue();
+			case "ms":
+				return amount.movePointRight(6).longValue();
+			default:
+				return amount.movePointRight(9).longValue();
+		}
+	}
+
+	private static MaxDuration getMaxDurationAnnotation(ExtensionContext context) {
+		return AnnotationSupport
+				.findAnnotation(context.getRequiredTestMethod(), MaxDuration.class)
+				.orElseThrow(() -> new IllegalStateException("@MaxDuration is missing."));
+	}
+
+	private static class Budget {
+
+		private final String name;
+		private final long nanos;
+		private final Function<LogHistogram, Long> measure;
+
+		Budget(String name, long nanos, Function<LogHistogram, Long> measure) {
+			this.name = name;
+			this.nanos = nanos;
+			this.measure = measure;
+		}
+
+		long measure(LogHistogram histogram) {
+			return measure.apply(histogram);
+		}
+
+	}
+
+}
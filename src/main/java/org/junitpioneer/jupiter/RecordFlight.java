@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * {@code @RecordFlight} is a JUnit Jupiter extension that records a test's execution with the
+ * Java Flight Recorder (JFR). The recording starts right before the test method and stops right
+ * after it. It's written to a {@code .jfr} file named after the test's unique ID in the directory
+ * configured by {@value RecordFlightExtension#DIRECTORY_PARAM} (by default
+ * {@value RecordFlightExtension#DEFAULT_DIRECTORY}).
+ *
+ * <p>Additionally, a short summary of the recording is published as report entries: garbage collection
+ * pauses, the allocation rate, the hottest methods, and lock contention. Except for garbage collections,
+ * which concern the entire JVM, the summary only covers the thread that executes the test. The recording
+ * itself covers the whole JVM, so tests that run concurrently show up in it as well.</p>
+ *
+ * <p>If the JVM doesn't support JFR, the test is executed without recording it.</p>
+ *
+ * <p>{@code @RecordFlight} can be used on the method and class level; on a class, each of its tests is
+ * recorded separately. It can also be used as meta-annotation.</p>
+ *
+ * <p>For more details and examples, see
+ * <a href="https://junit-pioneer.org/docs/record-flight/" target="_top">the documentation on <code>@RecordFlight</code></a>.</p>
+ *
+ * @since 2.2
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ METHOD, TYPE, ANNOTATION_TYPE })
+@Inherited
+@ExtendWith(RecordFlightExtension.class)
+public @interface RecordFlight {
+
+	/**
+	 * The JFR settings to record with: either the name of a predefined configuration of the JDK
+	 * ({@code "default"}, which has a low overhead, or {@code "profile"}, which records more details)
+	 * or the path to a {@code .jfc} file.
+	 */
+	String settings() default "default";
+
+	/**
+	 * How many of the hottest methods to report.
+	 */
+	int hotMethods() default 5;
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junitpioneer.internal.PioneerAnnotationUtils;
+
+class RecordFlightExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+	private static final Namespace NAMESPACE = Namespace.create(RecordFlightExtension.class);
+
+	static final String DIRECTORY_PARAM = "org.junitpioneer.jupiter.jfr.directory";
+	static final String DEFAULT_DIRECTORY = "build/junit-pioneer/jfr";
+
+	static final String FILE_KEY = "RecordFlightFile";
+	static final String UNSUPPORTED_KEY = "RecordFlightUnsupported";
+
+	// leaves room for the file extension within the common limit of 255 characters per file name
+	private static final int MAX_FILE_NAME_LENGTH = 200;
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+		RecordFlight recordFlight = findRecordFlight(context);
+		if (recordFlight.hotMethods() < 0)
+			throw new ExtensionConfigurationException("@RecordFlight hotMethods must not be negative");
+		if (!isJfrAvailable()) {
+			context
+					.publishReportEntry(UNSUPPORTED_KEY,
+						String.format("The JVM doesn't support JFR, so '%s' wasn't recorded.", context.getDisplayName()));
+			return;
+		}
+
+		// the test method is executed on the same thread as this callback
+		FlightRecording recording = FlightRecording
+				.start(recordFlight.settings(), context.getUniqueId(), Thread.currentThread());
+		context.getStore(NAMESPACE).put(context.getUniqueId(), recording);
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		FlightRecording recording = context
+				.getStore(NAMESPACE)
+				.remove(context.getUniqueId(), FlightRecording.class);
+		if (recording == null)
+			return;
+
+		Path directory = Paths
+				.get(context.getConfigurationParameter(DIRECTORY_PARAM).orElse(DEFAULT_DIRECTORY))
+				.toAbsolutePath();
+		Path file = directory.resolve(fileName(context.getUniqueId()));
+		recording.stop(file);
+		context.publishReportEntry(FILE_KEY, file.toString());
+		recording
+				.summarize(file, context.getDisplayName(), findRecordFlight(context).hotMethods())
+				.forEach(context::publishReportEntry);
+	}
+
+	private static boolean isJfrAvailable() {
+		// `jdk.jfr` is an optional module, so don't load `FlightRecording` without it
+		return ModuleLayer.boot().findModule("jdk.jfr").isPresent() && FlightRecording.isAvailable();
+	}
+
+	static String fileName(String uniqueId) {
+		String name = uniqueId.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_|_$", "");
+		if (name.length() > MAX_FILE_NAME_LENGTH)
+			// the hash keeps truncated names of different tests apart
+			name = name.substring(0, MAX_FILE_NAME_LENGTH) + "-" + Integer.toHexString(uniqueId.hashCode());
+		return name + ".jfr";
+	}
+
+	private static RecordFlight findRecordFlight(ExtensionContext context) {
+		return PioneerAnnotationUtils
+				.findClosestEnclosingAnnotation(context, RecordFlight.class)
+				.orElseThrow(() -> new IllegalStateException("@RecordFlight is missing."));
+	}
+
+}
@@ -152,6 +152,50 @@ public @interface RetryingTest {
 	 */
 	int suspendForMs() default 0;
 
+	/**
+	 * Specifies how the pause between executions grows with consecutive failures.
+	 *
+	 * <p>Defaults to {@link Backoff#FIXED FIXED}, which always pauses for {@link #suspendForMs()}.
+	 * The other strategies start with that pause, so they require it to be greater than 0.</p>
+	 *
+	 * @since 2.2
+	 * @see Backoff
+	 */
+	Backoff backoff() default Backoff.FIXED;
+
+	/**
+	 * Specifies the factor by which the pause grows with
+	 * {@link Backoff#EXPONENTIAL EXPONENTIAL} and {@link Backoff#DECORRELATED_JITTER DECORRELATED_JITTER} backoff.
+	 *
+	 * <p>Value must be greater than or equal to 1.</p>
+	 *
+	 * @since 2.2
+	 */
+	double backoffMultiplier() default 2;
+
+	/**
+	 * Specifies the longest pause (in milliseconds) between executions, which caps the backoff.
+	 *
+	 * <p>Value must be 0 (no cap, the default) or greater than or equal to {@link #suspendForMs()}.</p>
+	 *
+	 * @since 2.2
+	 */
+	int maxSuspendForMs() default 0;
+
+	/**
+	 * Specifies how much time (in milliseconds) all executions may take together,
+	 * measured from the start of the first one.
+	 *
+	 * <p>After a failure, the test isn't retried if the pause before the next execution would end
+	 * after the budget is spent. Instead, it fails as if it had run out of attempts.
+	 * Successful executions (with {@link #minSuccess()} greater than 1) are not limited by the budget.</p>
+	 *
+	 * <p>Value must be 0 (no budget, the default) or greater.</p>
+	 *
+	 * @since 2.2
+	 */
+	int timeBudgetMs() default 0;
+
 	/**
 	 * Specifies on which exceptions a failed test is retried.
 	 *
@@ -162,4 +206,33 @@ public @interface RetryingTest {
 	// explanation in org.junit.jupiter.api.function.Executable
 	Class<? extends Throwable>[] onExceptions() default {};
 
+	/**
+	 * The strategies for how the pause between executions grows with consecutive failures.
+	 * After a successful execution, the pause starts over at {@link #suspendForMs()}.
+	 *
+	 * @since 2.2
+	 */
+	enum Backoff {
+
+		/**
+		 * Always pause for {@link #suspendForMs()} (this is the default value).
+		 */
+		FIXED,
+
+		/**
+		 * Multiply the pause by {@link #backoffMultiplier()} after each consecutive failure,
+		 * up to {@link #maxSuspendForMs()}.
+		 */
+		EXPONENTIAL,
+
+		/**
+		 * Pause for a random time between {@link #suspendForMs()} and {@link #backoffMultiplier()} times
+		 * the previous pause, up to {@link #maxSuspendForMs()}. The randomness keeps tests that contend for the same
+		 * resource from retrying in lockstep (see "decorrelated jitter" in
+		 * <a href="https://aws.amazon.com/blogs/architecture/exponential-backoff-and-jitter/">Exponential Backoff And Jitter</a>).
+		 */
+		DECORRELATED_JITTER
+
+	}
+
 }
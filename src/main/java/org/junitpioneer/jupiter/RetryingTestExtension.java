@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
 import org.junit.platform.commons.support.AnnotationSupport;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
 import org.junitpioneer.internal.TestNameFormatter;
+import org.junitpioneer.jupiter.RetryingTest.Backoff;
 import org.opentest4j.MultipleFailuresError;
 import org.opentest4j.TestAbortedException;
 
@@ -64,6 +66,29 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 		retrierFor(templateContext).failed(throwable);
 	}
 
+	/**
+	 * Computes the pause before the next execution after the given number of consecutive failures.
+	 *
+	 * @param previousSuspendForMs the pause before the failed execution (or {@code suspendForMs} if there was none)
+	 * @param random a random number between 0 (inclusive) and 1 (exclusive)
+	 */
+	static int suspension(Backoff backoff, int suspendForMs, double backoffMultiplier, int maxSuspendForMs,
+			int consecutiveFailures, int previousSuspendForMs, double random) {
+		double suspension;
+		switch (backoff) {
+			case EXPONENTIAL:
+				suspension = suspendForMs * Math.pow(backoffMultiplier, consecutiveFailures - 1.0);
+				break;
+			case DECORRELATED_JITTER:
+				suspension = suspendForMs + random * (previousSuspendForMs * backoffMultiplier - suspendForMs);
+				break;
+			default:
+				suspension = suspendForMs;
+		}
+		// also keeps the cast from overflowing
+		return (int) Math.min(suspension, maxSuspendForMs > 0 ? maxSuspendForMs : Integer.MAX_VALUE);
+	}
+
 	private static FailedTestRetrier retrierFor(ExtensionContext context) {
 		var testMethod = context.getRequiredTestMethod();
 		return context
@@ -77,6 +102,10 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 		private final int maxRetries;
 		private final int minSuccess;
 		private final int suspendForMs;
+		private final Backoff backoff;
+		private final double backoffMultiplier;
+		private final int maxSuspendForMs;
+		private final int timeBudgetMs;
 		private final Class<? extends Throwable>[] expectedExceptions;
 		private final List<TestAbortedException> seenExceptions;
 		private final TestNameFormatter formatter;
@@ -85,12 +114,23 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 		private int exceptionsSoFar;
 		private boolean seenFailedAssumption;
 		private boolean seenUnexpectedException;
-
-		private FailedTestRetrier(int maxRetries, int minSuccess, int suspendForMs,
+		private boolean previousExecutionFailed;
+		private int consecutiveFailures;
+		private int nextSuspendForMs;
+		private long firstExecutionStartNanos;
+		private boolean timeBudgetSpent;
+
+		private FailedTestRetrier(int maxRetries, int minSuccess, int suspendForMs, Backoff backoff,
+				double backoffMultiplier, int maxSuspendForMs, int timeBudgetMs,
 				Class<? extends Throwable>[] expectedExceptions, TestNameFormatter formatter) {
 			this.maxRetries = maxRetries;
 			this.minSuccess = minSuccess;
 			this.suspendForMs = suspendForMs;
+			this.backoff = backoff;
+			this.backoffMultiplier = backoffMultiplier;
+			this.maxSuspendForMs = maxSuspendForMs;
+			this.timeBudgetMs = timeBudgetMs;
+			this.nextSuspendForMs = suspendForMs;
 			this.expectedExceptions = expectedExceptions;
 			this.seenExceptions = new ArrayList<>();
 			this.retriesSoFar = 0;
@@ -134,8 +174,23 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 				throw new ExtensionConfigurationException(
 					"@RetryingTest requires that `suspendForMs` be greater than or equal to 0.");
 			}
+			if (retryingTest.backoff() != Backoff.FIXED && retryingTest.suspendForMs() == 0)
+				throw new ExtensionConfigurationException(
+					format("@RetryingTest requires that `suspendForMs` be greater than 0 for %s backoff.",
+						retryingTest.backoff()));
+			if (retryingTest.backoffMultiplier() < 1)
+				throw new ExtensionConfigurationException(
+					"@RetryingTest requires that `backoffMultiplier` be greater than or equal to 1.");
+			int maxSuspendForMs = retryingTest.maxSuspendForMs();
+			if (maxSuspendForMs < 0 || (maxSuspendForMs > 0 && maxSuspendForMs < retryingTest.suspendForMs()))
+				throw new ExtensionConfigurationException(
+					"@RetryingTest requires that `maxSuspendForMs` be 0 or greater than or equal to `suspendForMs`.");
+			if (retryingTest.timeBudgetMs() < 0)
+				throw new ExtensionConfigurationException(
+					"@RetryingTest requires that `timeBudgetMs` be greater than or equal to 0.");
 
-			return new FailedTestRetrier(maxAttempts, minSuccess, retryingTest.suspendForMs(),
+			return new FailedTestRetrier(maxAttempts, minSuccess, retryingTest.suspendForMs(), retryingTest.backoff(),
+				retryingTest.backoffMultiplier(), maxSuspendForMs, retryingTest.timeBudgetMs(),
 				retryingTest.onExceptions(), formatter);
 		}
 
@@ -153,20 +208,29 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 				throw exception;
 			}
 
+			previousExecutionFailed = true;
+			consecutiveFailures++;
+			nextSuspendForMs = suspension(backoff, suspendForMs, backoffMultiplier, maxSuspendForMs,
+				consecutiveFailures, nextSuspendForMs, ThreadLocalRandom.current().nextDouble());
+			// decide once whether the budget allows a retry, so the decision can't change between here and `next`
+			if (hasNext() && !fitsTimeBudget(nextSuspendForMs))
+				timeBudgetSpent = true;
+
 			if (hasNext()) {
 				// put the original exception's message first, so tools can parse it correctly
 				// and include the test execution number, to make it easier to correlate the
 				// failure with a specific execution
 				var testAbortedException = new TestAbortedException(
 					format("%s%nTest execution #%d (of up to %d) failed ~> will retry in %d ms...",
-						exception.getMessage(), retriesSoFar, maxRetries, suspendForMs),
+						exception.getMessage(), retriesSoFar, maxRetries, nextSuspendForMs),
 					exception);
 				seenExceptions.add(testAbortedException);
 				throw testAbortedException;
 			} else {
+				var reason = timeBudgetSpent ? format(" because the time budget of %d ms is spent", timeBudgetMs) : "";
 				var testAbortedException = new TestAbortedException(
-					format("%s%nTest execution #%d (of up to %d) failed ~> will not retry any more",
-						exception.getMessage(), retriesSoFar, maxRetries),
+					format("%s%nTest execution #%d (of up to %d) failed ~> will not retry any more%s",
+						exception.getMessage(), retriesSoFar, maxRetries, reason),
 					exception);
 				seenExceptions.add(testAbortedException);
 				throw new MultipleFailuresError(format(
@@ -183,6 +247,13 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 			return Arrays.stream(expectedExceptions).anyMatch(type -> type.isInstance(exception));
 		}
 
+		private boolean fitsTimeBudget(int suspension) {
+			if (timeBudgetMs == 0)
+				return true;
+			long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstExecutionStartNanos);
+			return elapsedMs + suspension < timeBudgetMs;
+		}
+
 		private void suspendFor(int millis) {
 			if (millis < 1) {
 				return;
@@ -206,7 +277,7 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 			// there's always at least one execution
 			if (isFirstExecution())
 				return true;
-			if (seenFailedAssumption || seenUnexpectedException)
+			if (seenFailedAssumption || seenUnexpectedException || timeBudgetSpent)
 				return false;
 
 			int successfulExecutionCount = retriesSoFar - exceptionsSoFar;
@@ -221,9 +292,17 @@ class RetryingTestExtension implements TestTemplateInvocationContextProvider, Te
 			if (!hasNext())
 				throw new NoSuchElementException();
 
-			if (!isFirstExecution()) {
-				suspendFor(suspendForMs);
+			if (isFirstExecution()) {
+				firstExecutionStartNanos = System.nanoTime();
+			} else {
+				if (!previousExecutionFailed) {
+					// the backoff starts over after a success
+					consecutiveFailures = 0;
+					nextSuspendForMs = suspendForMs;
+				}
+				suspendFor(nextSuspendForMs);
 			}
+			previousExecutionFailed = false;
 
 			retriesSoFar++;
 
@@ -22,4 +22,8 @@ public class StdErr extends StdOutputStream {
 		// recreate default constructor to prevent compiler warning
 	}
 
+	StdErr(CaptureBuffer buffer) {
+		super(buffer);
+	}
+
 }
@@ -12,9 +12,22 @@ package org.junitpioneer.jupiter;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.util.Arrays;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 
 /**
  * For details and examples, see
@@ -24,54 +37,249 @@ import java.util.Arrays;
  */
 public class StdIn extends InputStream {
 
-	private final StringReader reader;
-	private final StringWriter writer = new StringWriter();
+	// files of at least this size are memory-mapped instead of being read into memory
+	static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+	// the number of bytes that are pulled from a streamed source at once
+	private static final int STREAMED_CHUNK_SIZE = 8 * 1024;
+	// how often to spin and how long to park at most while a non-blocking source has no input
+	private static final int IDLE_SPINS = 100;
+	private static final long MAX_IDLE_PARK_NANOS = 1_000_000;
+
+	private final ByteBuffer input;
+	private final CaptureBuffer buffer;
+	// refills `input` if the input is streamed
+	private ReadableByteChannel source;
+
+	public StdIn(String[] lines) {
+		// `System.in` is usually decoded with the default charset, so encode and decode with it as well
+		this(encode(lines), new CaptureBuffer(Charset.defaultCharset()));
+	}
 
 	/**
-	 * Keeps track of number of bytes that are still available to {@link InputStream#read() read()}.
+	 * @param input the bytes to read, from their position to their limit
+	 * @param buffer captures the bytes that were read
 	 */
-	private int availableBytes;
+	StdIn(ByteBuffer input, CaptureBuffer buffer) {
+		this.input = input;
+		this.buffer = buffer;
+	}
 
-	public StdIn(String[] lines) {
+	/**
+	 * @param source the bytes to read, which are pulled on demand
+	 * @param buffer captures the bytes that were read
+	 */
+	StdIn(ReadableByteChannel source, CaptureBuffer buffer) {
+		this(ByteBuffer.allocate(STREAMED_CHUNK_SIZE).limit(0), buffer);
+		this.source = source;
+	}
+
+	static ByteBuffer encode(String[] lines) {
 		// console input is always newline-terminated, so append a line separator to every line
 		var mockedInput = String.join(StdIoExtension.SEPARATOR, lines) + StdIoExtension.SEPARATOR;
-		reader = new StringReader(mockedInput);
-		availableBytes = mockedInput.getBytes().length;
+		return ByteBuffer.wrap(mockedInput.getBytes(Charset.defaultCharset()));
+	}
+
+	/**
+	 * Reads the given file into memory or, if it's large, maps it into memory.
+	 */
+	static ByteBuffer readFile(Path file) {
+		if (!Files.isRegularFile(file))
+			throw new ExtensionConfigurationException("Input file does not exist: " + file);
+		try (FileChannel channel = FileChannel.open(file)) {
+			long size = channel.size();
+			if (size < MAPPING_THRESHOLD)
+				return ByteBuffer.wrap(Files.readAllBytes(file));
+			if (size > Integer.MAX_VALUE)
+				throw new ExtensionConfigurationException(String
+						.format("Input file %s has %d bytes, but at most %d bytes can be mapped into memory. "
+								+ "Use `inputMethod` with a `ReadableByteChannel` to stream larger input.",
+							file, size, Integer.MAX_VALUE));
+			// unlike the files `StdOut` may spill to, this file is never deleted,
+			// so it doesn't matter when the mapping is garbage collected
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read input file " + file, ex);
+		}
+	}
+
+	/**
+	 * Reads the given classpath resource like {@link #readFile(Path)} if it's a file
+	 * and otherwise (e.g. if it's in a JAR) into memory.
+	 */
+	static ByteBuffer readResource(ClassLoader classLoader, String resource) {
+		URL url = classLoader.getResource(resource);
+		if (url == null)
+			throw new ExtensionConfigurationException("Classpath resource [" + resource + "] does not exist");
+		if ("file".equals(url.getProtocol()))
+			return readFile(toPath(url));
+		try (InputStream stream = url.openStream()) {
+			return ByteBuffer.wrap(stream.readAllBytes());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read classpath resource [" + resource + "]", ex);
+		}
+	}
+
+	private static Path toPath(URL url) {
+		try {
+			return Paths.get(url.toURI());
+		}
+		catch (URISyntaxException ex) {
+			throw new IllegalArgumentException("Not a valid file URL: " + url, ex);
+		}
 	}
 
 	@Override
 	public int available() throws IOException {
-		return availableBytes;
+		return input.remaining();
 	}
 
 	@Override
 	public int read() throws IOException {
-		int reading = reader.read();
-		if (reading != -1) {
-			availableBytes--;
-			writer.write(reading);
-		}
-		return reading;
+		if (!fill())
+			return -1;
+		byte reading = input.get();
+		buffer.write(reading);
+		return reading & 0xFF;
 	}
 
 	@Override
-	public int read(byte[] b, int off, int len) throws IOException { // NOSONAR - this is fine for a simple testing extension
-		return super.read(b, off, len);
+	public int read(byte[] b, int off, int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (len == 0)
+			return 0;
+		if (!fill())
+			return -1;
+		int count = Math.min(len, input.remaining());
+		input.get(b, off, count);
+		buffer.write(b, off, count);
+		return count;
+	}
+
+	/**
+	 * @return whether there are bytes to read, after pulling them from the streamed source if necessary
+	 */
+	private boolean fill() throws IOException {
+		if (input.hasRemaining())
+			return true;
+		if (source == null)
+			return false;
+
+		input.clear();
+		int read;
+		int idleReads = 0;
+		while ((read = source.read(input)) == 0)
+			awaitInput(++idleReads);
+		input.flip();
+		if (read < 0)
+			closeSource();
+		return read > 0;
+	}
+
+	/**
+	 * Backs off while a non-blocking source has no input yet: first by spinning briefly, then by
+	 * parking for increasingly long (but at most a millisecond), so waiting doesn't keep a processor busy.
+	 */
+	private static void awaitInput(int idleReads) throws InterruptedIOException {
+		if (idleReads <= IDLE_SPINS) {
+			Thread.onSpinWait();
+			return;
+		}
+		if (Thread.currentThread().isInterrupted())
+			throw new InterruptedIOException("Interrupted while waiting for input");
+		long parkNanos = 1_000L << Math.min(idleReads - IDLE_SPINS, 10);
+		LockSupport.parkNanos(Math.min(parkNanos, MAX_IDLE_PARK_NANOS));
+	}
+
+	private void closeSource() throws IOException {
+		ReadableByteChannel closing = source;
+		source = null;
+		closing.close();
+	}
+
+	/**
+	 * @return the number of bytes that were read, but not captured because of {@link StdIo#headBytes()}
+	 * 		and {@link StdIo#tailBytes()}
+	 */
+	public long droppedBytes() {
+		return buffer.droppedBytes();
+	}
+
+	/**
+	 * Deletes the file the captured input may have been spilled to and closes the streamed source.
+	 */
+	void discard() {
+		buffer.close();
+		if (source != null) {
+			try {
+				closeSource();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to close the input source", ex);
+			}
+		}
 	}
 
 	/**
 	 * @return the string that was read from {@code System.in}; note that buffering readers may read all lines eagerly
 	 */
 	public String capturedString() {
-		return writer.toString();
+		return buffer.text();
 	}
 
 	/**
 	 * @return the lines that were read from {@code System.in}; note that buffering readers may read all lines eagerly
 	 */
 	public String[] capturedLines() {
-		var lines = writer.toString().split(StdIoExtension.SEPARATOR, -1);
-		return lines[lines.length - 1].isEmpty() ? Arrays.copyOf(lines, lines.length - 1) : lines;
+		return buffer.lines();
+	}
+
+	/**
+	 * The same lines as {@link StdIn#capturedLines()}, but as a lazy stream.
+	 *
+	 * @return the lines that were read from {@code System.in}; note that buffering readers may read all lines eagerly
+	 */
+	public Stream<String> capturedLineStream() {
+		return buffer.lineStream();
+	}
+
+	/**
+	 * @return the number of {@link StdIn#capturedLines() lines} that were read from {@code System.in}
+	 */
+	public int lineCount() {
+		return buffer.lineCount();
+	}
+
+	/**
+	 * Returns a single line of the {@link StdIn#capturedLines() captured lines} without creating the others.
+	 *
+	 * @param index the zero-based index of the line
+	 * @return the line that was read from {@code System.in}
+	 * @throws IndexOutOfBoundsException if fewer lines were read
+	 */
+	public String line(int index) {
+		return buffer.line(index);
+	}
+
+	/**
+	 * Searches the {@link StdIn#capturedString() captured string} without copying it.
+	 *
+	 * @return whether the given string was read from {@code System.in}
+	 */
+	public boolean contains(String string) {
+		return buffer.contains(string);
+	}
+
+	/**
+	 * Searches the {@link StdIn#capturedString() captured string} without copying it.
+	 *
+	 * @return the index of the first occurrence of the given string in the
+	 * 		{@link StdIn#capturedString() captured string} or -1 if there is none
+	 */
+	public long indexOf(String string) {
+		return buffer.indexOf(string);
 	}
 
 }
@@ -23,14 +23,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * written to {@code System.out} (with parameter {@link StdOut StdOut}).
  *
  * <p>The annotated test method can have zero, one, or both parameters, but {@code StdIn} can only
- * be provided if {@link StdIo#value()} is used to specify input - otherwise an
+ * be provided if {@link StdIo#value()}, {@link StdIo#inputFile()}, {@link StdIo#inputResource()},
+ * or {@link StdIo#inputMethod()} is used to specify input - otherwise an
  * {@link org.junit.jupiter.api.extension.ExtensionConfigurationException ExtensionConfigurationException}
  * will be thrown.</p>
  *
- * <p>During
- * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
- * all tests annotated with {@link StdIo}, {@link ReadsStdIo}, and {@link WritesStdIo}
- * are scheduled in a way that guarantees correctness under mutation of shared global state.</p>
+ * <p>The replaced streams are bound to the thread that executes the test (and threads the test method creates), so
+ * during <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel test execution</a>,
+ * tests annotated with {@link StdIo} can run concurrently with each other as well as with tests annotated
+ * with {@link ReadsStdIo}. They are never executed concurrently with tests annotated with {@link WritesStdIo}.</p>
  *
  * <p>For more details and examples, see
  * <a href="https://junit-pioneer.org/docs/standard-input-output/" target="_top">the documentation on standard input/output</a>.</p>
@@ -39,7 +40,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
-@WritesStdIo
+@ReadsStdIo
 @ExtendWith(StdIoExtension.class)
 public @interface StdIo {
 
@@ -50,4 +51,67 @@ public @interface StdIo {
 	 */
 	String[] value() default {};
 
+	/**
+	 * Provides the intercepted standard input with the content of the file at the given path.
+	 * If this is not blank, the annotated method can have a {@link StdIn} parameter.
+	 *
+	 * <p>Unlike with {@link #value()}, the content is read as is, so no line separators are added.
+	 * Large files are memory-mapped instead of being read into memory, which limits them to 2 GiB;
+	 * use {@link #inputMethod()} for larger input.
+	 * Only one of {@link #value()}, this, {@link #inputResource()}, and {@link #inputMethod()} can be used.</p>
+	 */
+	String inputFile() default "";
+
+	/**
+	 * Provides the intercepted standard input with the content of the given classpath resource.
+	 * If this is not blank, the annotated method can have a {@link StdIn} parameter.
+	 *
+	 * <p>See {@link #inputFile()} for details.</p>
+	 */
+	String inputResource() default "";
+
+	/**
+	 * Provides the intercepted standard input with the lines or bytes returned by the factory method
+	 * with the given name, which must be declared in the test class or an enclosing class.
+	 * If this is not blank, the annotated method can have a {@link StdIn} parameter.
+	 *
+	 * <p>The factory method must not have parameters and return either an {@code Iterator<String>},
+	 * whose elements are read as lines (like those of {@link #value()}), or a
+	 * {@link java.nio.channels.ReadableByteChannel ReadableByteChannel}, whose bytes are read as is.
+	 * Either way, the input is pulled on demand, so it's never kept in memory entirely. For the same
+	 * reason, only the first and last 32 KiB of the input are captured unless {@link #headBytes()}
+	 * or {@link #tailBytes()} are set. The channel is closed after the test.</p>
+	 *
+	 * <p>See {@link #inputFile()} for details.</p>
+	 */
+	String inputMethod() default "";
+
+	/**
+	 * Limits the captured {@link StdIn}, {@link StdOut}, and {@link StdErr} to the first bytes that were read/written.
+	 *
+	 * <p>By default, i.e. if this and {@link #tailBytes()} are negative, everything is captured.
+	 * If only one of them is set, the other one is treated as zero. Bytes that are neither kept
+	 * in the head nor the tail are dropped, see {@link StdOut#droppedBytes()}.</p>
+	 */
+	int headBytes() default -1;
+
+	/**
+	 * Limits the captured {@link StdIn}, {@link StdOut}, and {@link StdErr} to the last bytes that were read/written
+	 * (after the {@link #headBytes() head}), which are kept in a ring buffer.
+	 *
+	 * <p>See {@link #headBytes()} for details.</p>
+	 */
+	int tailBytes() default -1;
+
+	/**
+	 * The number of bytes of {@link StdIn}, {@link StdOut}, and {@link StdErr} that are kept in memory - once more
+	 * was read/written, the captured input/output is spilled to a temporary file that is deleted after the test.
+	 *
+	 * <p>By default, i.e. if this is negative, the captured output is always kept in memory.
+	 * For output that was spilled to a file, {@link StdOut#capturedLineStream()} and
+	 * {@link StdOut#contains(String)} don't need to keep the entire output in memory
+	 * (unlike {@link StdOut#capturedString()} and {@link StdOut#capturedLines()}).</p>
+	 */
+	int spillThreshold() default -1;
+
 }
@@ -13,28 +13,42 @@ package org.junitpioneer.jupiter;
 import static java.lang.String.format;
 import static org.junitpioneer.internal.PioneerAnnotationUtils.findClosestEnclosingAnnotation;
 
-import java.io.InputStream;
-import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junitpioneer.internal.PioneerUtils;
+import org.junitpioneer.jupiter.StdIoRouting.Binding;
 
-class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
+class StdIoExtension implements ParameterResolver, BeforeEachCallback, InvocationInterceptor, AfterEachCallback {
 
 	static final String SEPARATOR = System.getProperty("line.separator");
 
 	private static final Namespace NAMESPACE = Namespace.create(StdIoExtension.class);
 
-	private static final String SYSTEM_IN_KEY = "StdIo_System_In";
-	private static final String SYSTEM_OUT_KEY = "StdIo_System_Out";
-	private static final String SYSTEM_ERR_KEY = "StdIo_System_Err";
+	private static final String BINDING_KEY = "StdIo_Binding";
 	private static final String STD_IN_KEY = "StdIo_Std_In";
+	private static final String STD_OUT_KEY = "StdIo_Std_Out";
+	private static final String STD_ERR_KEY = "StdIo_Std_Err";
+	private static final String CHUNK_POOL_KEY = "StdIo_Chunk_Pool";
+
+	// the number of bytes captured from the start and the end of streamed input (unless configured otherwise)
+	private static final int STREAMED_INPUT_WINDOW = 32 * 1024;
 
 	@Override
 	public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
@@ -50,8 +64,8 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 		if (parameterType == StdErr.class)
 			return prepareStdErr(extensionContext);
 		if (parameterType == StdIn.class) {
-			String[] source = extensionContext.getRequiredTestMethod().getAnnotation(StdIo.class).value();
-			if (source.length == 0)
+			StdIo stdIo = findStdIo(extensionContext);
+			if (!hasInput(stdIo))
 				throw new ExtensionConfigurationException(
 					"@StdIo defined no input, so System.in is still in place and no StdIn parameter can be provided. "
 							+ "If you want to define empty input, use `@StdIo(\"\")`.");
@@ -61,7 +75,7 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 						.getStore(NAMESPACE)
 						.getOrComputeIfAbsent(
 								STD_IN_KEY,
-								__ -> createSwapStoreStdIn(extensionContext, source),
+								__ -> createSwapStoreStdIn(extensionContext, stdIo),
 								StdIn.class);
 				//@formatter:on
 		}
@@ -69,78 +83,173 @@ class StdIoExtension implements ParameterResolver, BeforeEachCallback, AfterEach
 	}
 
 	private StdOut prepareStdOut(ExtensionContext context) {
-		storeStdOut(context);
-		return createOut();
+		StdOut out = new StdOut(createCaptureBuffer(context));
+		context.getStore(NAMESPACE).put(STD_OUT_KEY, out);
+		StdIoRouting.routeOut(binding(context), out);
+		return out;
 	}
 
-	private void storeStdOut(ExtensionContext context) {
-		context.getStore(NAMESPACE).put(SYSTEM_OUT_KEY, System.out); //NOSONAR never writing to System.out, only storing it
+	private StdIn createSwapStoreStdIn(ExtensionContext context, StdIo stdIo) {
+		StdIn newStdIn = stdIo.inputMethod().isEmpty()
+				? new StdIn(readInput(context, stdIo), createCaptureBuffer(context))
+				: new StdIn(invokeInputMethod(context, stdIo.inputMethod()),
+					createStreamedInputCaptureBuffer(context, stdIo));
+		context.getStore(NAMESPACE).put(STD_IN_KEY, newStdIn);
+		StdIoRouting.routeIn(binding(context), newStdIn);
+		return newStdIn;
 	}
 
-	private StdOut createOut() {
-		StdOut out = new StdOut();
-		System.setOut(new PrintStream(out));
-		return out;
+	private StdErr prepareStdErr(ExtensionContext context) {
+		StdErr err = new StdErr(createCaptureBuffer(context));
+		context.getStore(NAMESPACE).put(STD_ERR_KEY, err);
+		StdIoRouting.routeErr(binding(context), err);
+		return err;
 	}
 
-	private StdIn createSwapStoreStdIn(ExtensionContext context, String[] source) {
-		StdIn newStdIn = new StdIn(source);
-		swapAndStoreIn(context, newStdIn);
-		return newStdIn;
+	private static StdIo findStdIo(ExtensionContext context) {
+		return findClosestEnclosingAnnotation(context, StdIo.class)
+				.orElseThrow(() -> new ExtensionConfigurationException(
+					format("StdIoExtension is active but no %s annotation was found.", StdIo.class.getName())));
 	}
 
-	private void swapAndStoreIn(ExtensionContext context, StdIn stdIn) {
-		context.getStore(NAMESPACE).put(SYSTEM_IN_KEY, System.in); //NOSONAR never reading from System.in, only storing it
-		context.getStore(NAMESPACE).put(STD_IN_KEY, stdIn);
-		System.setIn(stdIn); //NOSONAR required to redirect output
+	private static boolean hasInput(StdIo stdIo) {
+		int inputs = (stdIo.value().length > 0 ? 1 : 0) + (stdIo.inputFile().isEmpty() ? 0 : 1)
+				+ (stdIo.inputResource().isEmpty() ? 0 : 1) + (stdIo.inputMethod().isEmpty() ? 0 : 1);
+		if (inputs > 1)
+			throw new ExtensionConfigurationException(
+				"@StdIo can only define one of `value`, `inputFile`, `inputResource`, and `inputMethod` as input.");
+		return inputs == 1;
 	}
 
-	private StdErr prepareStdErr(ExtensionContext context) {
-		storeStdErr(context);
-		return createErr();
+	private static ByteBuffer readInput(ExtensionContext context, StdIo stdIo) {
+		if (!stdIo.inputFile().isEmpty())
+			return StdIn.readFile(Paths.get(stdIo.inputFile()));
+		if (!stdIo.inputResource().isEmpty())
+			return StdIn.readResource(context.getRequiredTestClass().getClassLoader(), stdIo.inputResource());
+		return StdIn.encode(stdIo.value());
 	}
 
-	private void storeStdErr(ExtensionContext context) {
-		context.getStore(NAMESPACE).put(SYSTEM_ERR_KEY, System.err); //NOSONAR never writing to System.err, only storing it
+	private static ReadableByteChannel invokeInputMethod(ExtensionContext context, String methodName) {
+		Method method = PioneerUtils
+				.findMethodCurrentOrEnclosing(context.getRequiredTestClass(), methodName)
+				.orElseThrow(() -> new ExtensionConfigurationException("Input method `" + methodName
+						+ "()` not found in " + context.getRequiredTestClass() + " or any enclosing class."));
+		boolean iterator = Iterator.class.isAssignableFrom(method.getReturnType());
+		if (!iterator && !ReadableByteChannel.class.isAssignableFrom(method.getReturnType()))
+			throw new ExtensionConfigurationException(
+				format("Input method `%s` must return an `Iterator<String>` or a `ReadableByteChannel`.", method));
+		Object target = context.getRequiredTestInstances().findInstance(method.getDeclaringClass()).orElse(null);
+		if (target == null && !Modifier.isStatic(method.getModifiers()))
+			throw new ExtensionConfigurationException(format("Input method `%s` must be static.", method));
+
+		Object input = ReflectionSupport.invokeMethod(method, target);
+		if (input == null)
+			throw new ExtensionConfigurationException(format("Input method `%s` must not return null.", method));
+		if (iterator) {
+			@SuppressWarnings("unchecked")
+			Iterator<String> lines = (Iterator<String>) input;
+			// `System.in` is usually decoded with the default charset, so encode with it as well
+			return new LineChannel(lines, Charset.defaultCharset());
+		}
+		return (ReadableByteChannel) input;
 	}
 
-	private StdErr createErr() {
-		StdErr err = new StdErr();
-		System.setErr(new PrintStream(err));
-		return err;
+	private Binding binding(ExtensionContext context) {
+		// the callbacks and the test method run in the same thread, so that's the one to bind
+		return context
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(BINDING_KEY, __ -> StdIoRouting.bindCurrentThread(), Binding.class);
+	}
+
+	private CaptureBuffer createCaptureBuffer(ExtensionContext context) {
+		// `System.out` and `System.err` encode with the default charset and
+		// `System.in` is usually decoded with it, so decode with it as well
+		return findClosestEnclosingAnnotation(context, StdIo.class)
+				.map(stdIo -> CaptureBuffer
+						.of(Charset.defaultCharset(), stdIo.headBytes(), stdIo.tailBytes(), stdIo.spillThreshold(),
+							chunkPool(context)))
+				.orElseGet(() -> new CaptureBuffer(Charset.defaultCharset()));
+	}
+
+	private static CaptureBuffer createStreamedInputCaptureBuffer(ExtensionContext context, StdIo stdIo) {
+		// streamed input may be arbitrarily long, so by default only a window at its start and end is captured
+		boolean limited = stdIo.headBytes() >= 0 || stdIo.tailBytes() >= 0;
+		return CaptureBuffer
+				.of(Charset.defaultCharset(), limited ? stdIo.headBytes() : STREAMED_INPUT_WINDOW,
+					limited ? stdIo.tailBytes() : STREAMED_INPUT_WINDOW, stdIo.spillThreshold(), chunkPool(context));
+	}
+
+	private static ChunkPool chunkPool(ExtensionContext context) {
+		// the root context lives as long as the engine execution, so all its tests share the pool
+		return context
+				.getRoot()
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(CHUNK_POOL_KEY, __ -> new ChunkPool(context
+						.getConfigurationParameter(ChunkPool.MAX_RETAINED_BYTES_PARAM, Long::parseLong)
+						.orElse(ChunkPool.DEFAULT_MAX_RETAINED_BYTES)), ChunkPool.class);
 	}
 
 	@Override
 	public void beforeEach(ExtensionContext context) {
-		String[] source = findClosestEnclosingAnnotation(context, StdIo.class)
-				.orElseThrow(() -> new ExtensionConfigurationException(
-					format("StdIoExtension is active but no %s annotation was found.", StdIo.class.getName())))
-				.value();
+		StdIo stdIo = findStdIo(context);
+		boolean hasInput = hasInput(stdIo);
 		boolean testMethodIsParameterless = context.getRequiredTestMethod().getParameterCount() == 0;
-		if (source.length == 0 && testMethodIsParameterless)
+		if (!hasInput && testMethodIsParameterless)
 			throw new ExtensionConfigurationException(
 				"StdIoExtension is active but neither System.out or System.in are getting redirected.");
 
 		boolean stdInStillInPlace = context.getStore(NAMESPACE).get(STD_IN_KEY) == null;
-		if (source.length > 0 && stdInStillInPlace)
-			createSwapStoreStdIn(context, source);
+		if (hasInput && stdInStillInPlace)
+			createSwapStoreStdIn(context, stdIo);
 	}
 
 	@Override
-	public void afterEach(ExtensionContext context) {
-		// only reset those streams that were actually stored in "before"
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		proceedWithInheritableBinding(invocation, extensionContext);
+	}
 
-		InputStream storedSystemIn = context.getStore(NAMESPACE).get(SYSTEM_IN_KEY, InputStream.class);
-		if (storedSystemIn != null)
-			System.setIn(storedSystemIn); //NOSONAR resetting input
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext) throws Throwable {
+		proceedWithInheritableBinding(invocation, extensionContext);
+	}
 
-		PrintStream storedSystemOut = context.getStore(NAMESPACE).get(SYSTEM_OUT_KEY, PrintStream.class);
-		if (storedSystemOut != null)
-			System.setOut(storedSystemOut); //NOSONAR resetting input
+	private static void proceedWithInheritableBinding(Invocation<Void> invocation, ExtensionContext context)
+			throws Throwable {
+		// only threads that the test body spawns capture their output as well,
+		// not the ones that are started by the engine or other extensions
+		Binding binding = context.getStore(NAMESPACE).get(BINDING_KEY, Binding.class);
+		if (binding == null) {
+			invocation.proceed();
+			return;
+		}
+		StdIoRouting.setInheritable(binding, true);
+		try {
+			invocation.proceed();
+		}
+		finally {
+			StdIoRouting.setInheritable(binding, false);
+		}
+	}
 
-		PrintStream storedSystemErr = context.getStore(NAMESPACE).get(SYSTEM_ERR_KEY, PrintStream.class);
-		if (storedSystemErr != null)
-			System.setErr(storedSystemErr); //NOSONAR resetting input
+	@Override
+	public void afterEach(ExtensionContext context) {
+		// restores the original streams unless other tests still use them
+		Binding binding = context.getStore(NAMESPACE).get(BINDING_KEY, Binding.class);
+		if (binding != null)
+			StdIoRouting.unbind(binding);
+
+		// release the captured bytes to the pool and delete the files they may have been spilled to
+		StdIn stdIn = context.getStore(NAMESPACE).get(STD_IN_KEY, StdIn.class);
+		if (stdIn != null)
+			stdIn.discard();
+		StdOut stdOut = context.getStore(NAMESPACE).get(STD_OUT_KEY, StdOut.class);
+		if (stdOut != null)
+			stdOut.discard();
+		StdErr stdErr = context.getStore(NAMESPACE).get(STD_ERR_KEY, StdErr.class);
+		if (stdErr != null)
+			stdErr.discard();
 	}
 
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Routes {@code System.in}, {@code System.out}, and {@code System.err} per thread, so that
+ * several tests can replace them at the same time.
+ *
+ * <p>While at least one {@link Binding} uses a standard stream, a routing stream is installed in its
+ * place. It forwards each read or write to the stream that is bound to the current thread or, if
+ * there is none, to the original stream. Bindings are inherited by threads that a bound thread creates
+ * while the binding is {@link #setInheritable(Binding, boolean) inheritable}, i.e. while the test body
+ * runs, so output of threads that a test spawns is captured as well. Threads created at other times,
+ * e.g. pool threads that the engine or other extensions start, don't inherit the binding. When a
+ * binding is {@link #unbind(Binding) unbound}, it becomes inactive - also in the threads that
+ * inherited it.</p>
+ */
+class StdIoRouting {
+
+	private static final InheritableThreadLocal<Binding> BINDING = new InheritableThreadLocal<>() {
+
+		@Override
+		protected Binding childValue(Binding parentValue) {
+			return parentValue.inheritable ? parentValue : null;
+		}
+
+	};
+
+	//@formatter:off
+	private static final Route<InputStream> IN = new Route<>(
+			() -> System.in,
+			System::setIn, //NOSONAR required to redirect input
+			RoutingInputStream::new);
+	private static final Route<PrintStream> OUT = new Route<>(
+			() -> System.out, //NOSONAR never writing to System.out, only storing it
+			System::setOut,
+			original -> new PrintStream(new RoutingOutputStream(original, binding -> binding.out), true));
+	private static final Route<PrintStream> ERR = new Route<>(
+			() -> System.err, //NOSONAR never writing to System.err, only storing it
+			System::setErr,
+			original -> new PrintStream(new RoutingOutputStream(original, binding -> binding.err), true));
+	//@formatter:on
+
+	private StdIoRouting() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	/**
+	 * Creates a binding for the current thread (and the threads it creates while the binding is inheritable).
+	 */
+	static Binding bindCurrentThread() {
+		Binding binding = new Binding();
+		BINDING.set(binding);
+		return binding;
+	}
+
+	static void routeIn(Binding binding, InputStream in) {
+		if (binding.in == null)
+			IN.install();
+		binding.in = in;
+	}
+
+	static void routeOut(Binding binding, OutputStream out) {
+		if (binding.out == null)
+			OUT.install();
+		binding.out = out;
+	}
+
+	static void routeErr(Binding binding, OutputStream err) {
+		if (binding.err == null)
+			ERR.install();
+		binding.err = err;
+	}
+
+	/**
+	 * Determines whether threads that are created by the bound thread from now on inherit the binding.
+	 */
+	static void setInheritable(Binding binding, boolean inheritable) {
+		binding.inheritable = inheritable;
+	}
+
+	/**
+	 * Deactivates the binding and restores the original streams if no other binding uses them.
+	 */
+	static void unbind(Binding binding) {
+		binding.active = false;
+		if (binding.in != null)
+			IN.uninstall();
+		if (binding.out != null)
+			OUT.uninstall();
+		if (binding.err != null)
+			ERR.uninstall();
+		if (BINDING.get() == binding)
+			BINDING.remove();
+	}
+
+	private static Binding activeBinding() {
+		Binding binding = BINDING.get();
+		return binding != null && binding.active ? binding : null;
+	}
+
+	/**
+	 * The streams a test's threads read from and write to.
+	 */
+	static final class Binding {
+
+		private volatile InputStream in;
+		private volatile OutputStream out;
+		private volatile OutputStream err;
+		private volatile boolean active = true;
+		private volatile boolean inheritable;
+
+		private Binding() {
+		}
+
+	}
+
+	private static final class Route<S> {
+
+		private final Supplier<S> systemStream;
+		private final Consumer<S> setSystemStream;
+		private final Function<S, S> createRouter;
+
+		private int users;
+		private S original;
+		private S router;
+
+		Route(Supplier<S> systemStream, Consumer<S> setSystemStream, Function<S, S> createRouter) {
+			this.systemStream = systemStream;
+			this.setSystemStream = setSystemStream;
+			this.createRouter = createRouter;
+		}
+
+		synchronized void install() {
+			if (users++ > 0)
+				return;
+			original = systemStream.get();
+			router = createRouter.apply(original);
+			setSystemStream.accept(router);
+		}
+
+		synchronized void uninstall() {
+			if (--users > 0)
+				return;
+			// don't overwrite a stream that was set by someone else in the meantime
+			if (systemStream.get() == router)
+				setSystemStream.accept(original);
+			original = null;
+			router = null;
+		}
+
+	}
+
+	private static final class RoutingInputStream extends InputStream {
+
+		private final InputStream original;
+
+		RoutingInputStream(InputStream original) {
+			this.original = original;
+		}
+
+		private InputStream target() {
+			Binding binding = activeBinding();
+			InputStream in = binding == null ? null : binding.in;
+			return in == null ? original : in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return target().read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return target().read(b, off, len);
+		}
+
+		@Override
+		public int available() throws IOException {
+			return target().available();
+		}
+
+	}
+
+	private static final class RoutingOutputStream extends OutputStream {
+
+		private final OutputStream original;
+		private final Function<Binding, OutputStream> boundStream;
+
+		RoutingOutputStream(OutputStream original, Function<Binding, OutputStream> boundStream) {
+			this.original = original;
+			this.boundStream = boundStream;
+		}
+
+		private OutputStream target() {
+			Binding binding = activeBinding();
+			OutputStream out = binding == null ? null : boundStream.apply(binding);
+			return out == null ? original : out;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			target().write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			target().write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			target().flush();
+		}
+
+	}
+
+}
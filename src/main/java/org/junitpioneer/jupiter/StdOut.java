@@ -22,4 +22,8 @@ public class StdOut extends StdOutputStream {
 		// recreate default constructor to prevent compiler warning
 	}
 
+	StdOut(CaptureBuffer buffer) {
+		super(buffer);
+	}
+
 }
@@ -11,33 +11,37 @@
 package org.junitpioneer.jupiter;
 
 import java.io.OutputStream;
-import java.io.StringWriter;
 import java.nio.charset.Charset;
-import java.util.Arrays;
+import java.util.stream.Stream;
 
 abstract class StdOutputStream extends OutputStream {
 
-	private final StringWriter writer = new StringWriter();
+	private final CaptureBuffer buffer;
 
 	public StdOutputStream() {
-		// recreate default constructor to prevent compiler warning
+		// `System.out` and `System.err` encode with the default charset, so decode with it as well
+		this(new CaptureBuffer(Charset.defaultCharset()));
+	}
+
+	StdOutputStream(CaptureBuffer buffer) {
+		this.buffer = buffer;
 	}
 
 	@Override
 	public void write(int i) {
-		writer.write(i);
+		buffer.write(i);
 	}
 
 	@Override
 	public final void write(byte[] b, int off, int len) {
-		writer.write(new String(b, Charset.defaultCharset()), off, len);
+		buffer.write(b, off, len);
 	}
 
 	/**
 	 * @return the string that was written to {@code System.out} or {@code System.err}
 	 */
 	public String capturedString() {
-		return writer.toString();
+		return buffer.text();
 	}
 
 	/**
@@ -55,8 +59,84 @@ abstract class StdOutputStream extends OutputStream {
 	 * @return the lines that were written to {@code System.out} or {@code System.err}
 	 */
 	public String[] capturedLines() {
-		var lines = writer.toString().split(StdIoExtension.SEPARATOR, -1);
-		return lines[lines.length - 1].isEmpty() ? Arrays.copyOf(lines, lines.length - 1) : lines;
+		return buffer.lines();
+	}
+
+	/**
+	 * The same lines as {@link StdOutputStream#capturedLines()}, but as a lazy stream.
+	 *
+	 * <p>If the captured output was spilled to a file (see {@link StdIo#spillThreshold()}), the lines
+	 * are read from that file while the stream is consumed, so they are never all kept in memory.
+	 * In that case, the stream should be closed after use.</p>
+	 *
+	 * @return the lines that were written to {@code System.out} or {@code System.err}
+	 */
+	public Stream<String> capturedLineStream() {
+		return buffer.lineStream();
+	}
+
+	/**
+	 * @return the number of {@link StdOutputStream#capturedLines() lines} that were written
+	 */
+	public int lineCount() {
+		return buffer.lineCount();
+	}
+
+	/**
+	 * Returns a single line of the {@link StdOutputStream#capturedLines() captured lines} without
+	 * creating the others. The line is looked up in an index of the line separators' positions,
+	 * unless the captured output was spilled to a file (see {@link StdIo#spillThreshold()}),
+	 * in which case the file is read up to the line.
+	 *
+	 * @param index the zero-based index of the line
+	 * @return the line that was written to {@code System.out} or {@code System.err}
+	 * @throws IndexOutOfBoundsException if fewer lines were written
+	 */
+	public String line(int index) {
+		return buffer.line(index);
+	}
+
+	/**
+	 * Searches the {@link StdOutputStream#capturedString() captured string} without copying it.
+	 *
+	 * <p>If the captured output was spilled to a file (see {@link StdIo#spillThreshold()}), the file
+	 * is searched without keeping its content in memory.</p>
+	 *
+	 * @return the index of the first occurrence of the given string in the
+	 * 		{@link StdOutputStream#capturedString() captured string} or -1 if there is none
+	 */
+	public long indexOf(String string) {
+		return buffer.indexOf(string);
+	}
+
+	/**
+	 * Searches the {@link StdOutputStream#capturedString() captured string} for the given string.
+	 *
+	 * <p>If the captured output was spilled to a file (see {@link StdIo#spillThreshold()}), the file
+	 * is searched without keeping its content in memory.</p>
+	 *
+	 * @return whether the given string was written to {@code System.out} or {@code System.err}
+	 */
+	public boolean contains(String string) {
+		return buffer.contains(string);
+	}
+
+	/**
+	 * If the capture is limited with {@link StdIo#headBytes()} or {@link StdIo#tailBytes()},
+	 * the bytes that were written but neither kept in the head nor the tail are dropped.
+	 * They are not included in {@link #capturedString()} and {@link #capturedLines()}.
+	 *
+	 * @return the number of bytes that were dropped
+	 */
+	public long droppedBytes() {
+		return buffer.droppedBytes();
+	}
+
+	/**
+	 * Deletes the file the captured output may have been spilled to.
+	 */
+	void discard() {
+		buffer.close();
 	}
 
 }
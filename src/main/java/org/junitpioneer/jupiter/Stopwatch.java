@@ -22,7 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * {@code @Stopwatch} is a JUnit Jupiter extension to measure the elapsed time of a test execution.
  * It's based on the JUnit extension example.
  *
- * <p>{@code Stopwatch} is not repeatable. It can be used on the method and class level.</p>
+ * <p>{@code Stopwatch} is not repeatable. It can be used on the method and class level.
+ * The closest annotation determines whether {@link #phases() phases} are reported.</p>
  *
  * @since 0.6
  */
@@ -32,4 +33,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 @ExtendWith(StopwatchExtension.class)
 public @interface Stopwatch {
 
+	/**
+	 * Whether to additionally report the time each lifecycle phase of a test takes: the construction of
+	 * the test instance, each {@code @BeforeAll}, {@code @BeforeEach}, {@code @AfterEach}, and
+	 * {@code @AfterAll} method, the resolution of the test method's parameters, and the test method itself.
+	 * Each phase is reported in its own report entry.
+	 *
+	 * <p>Note that the construction and the {@code @BeforeAll}/{@code @AfterAll} methods are only
+	 * measured if {@code @Stopwatch} is applied to the class.</p>
+	 */
+	boolean phases() default false;
+
+	/**
+	 * Whether to additionally report the CPU time the test takes.
+	 *
+	 * <p>That's the CPU time of the thread executing the test and, unless
+	 * <a href="https://junit.org/junit5/docs/current/user-guide/#writing-tests-parallel-execution" target="_top">parallel execution</a>
+	 * is enabled, of the threads the test started and that are still alive when it finishes.
+	 * If the JVM can't measure CPU time, nothing is reported.</p>
+	 */
+	boolean cpuTime() default false;
+
+	/**
+	 * Whether to additionally report the number of bytes the test allocates.
+	 *
+	 * <p>Threads are included like for {@link #cpuTime()}.
+	 * If the JVM can't measure allocations, nothing is reported.</p>
+	 */
+	boolean allocations() default false;
+
 }
@@ -10,55 +10,275 @@
 
 package org.junitpioneer.jupiter;
 
+import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.ALLOCATION_REPORT_KEY;
+import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.CPU_TIME_REPORT_KEY;
 import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.TIME_REPORT_KEY;
 
-import java.time.Clock;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junitpioneer.internal.LogHistogram;
 import org.junitpioneer.internal.PioneerAnnotationUtils;
+import org.junitpioneer.jupiter.timing.TimingBaselines;
+import org.junitpioneer.jupiter.timing.TimingBaselines.Metric;
 
 /**
  * The StopwatchExtension implements callback methods for the {@code @Stopwatch} annotation.
  */
-class StopwatchExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+class StopwatchExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback, InvocationInterceptor {
 
-	private final Clock clock = Clock.systemUTC();
 	private static final Namespace NAMESPACE = Namespace.create(StopwatchExtension.class);
 	static final String STORE_KEY = "StopwatchExtension";
+	static final String SUMMARY_KEY = "StopwatchExtensionSummary";
+	static final String PHASE_KEY = "StopwatchExtensionPhase";
+	static final String CPU_TIME_KEY = "StopwatchExtensionCpuTime";
+	static final String ALLOCATION_KEY = "StopwatchExtensionAllocation";
+	private static final String STATISTICS_KEY = "StopwatchExtension_Statistics";
+	private static final String METER_KEY_SUFFIX = "_Meter";
+
+	// the threads a test starts can't be told apart from those of concurrent tests
+	private static final String PARALLEL_EXECUTION_PARAM = "junit.jupiter.execution.parallel.enabled";
 
 	@Override
 	public void beforeTestExecution(ExtensionContext context) {
+		startMeter(context);
 		storeNowAsLaunchTime(context);
 	}
 
 	@Override
 	public void afterTestExecution(ExtensionContext context) {
-		long elapsedTime = calculateElapsedTime(context);
-		reportElapsedTime(context, elapsedTime);
+		long elapsedNanos = calculateElapsedNanos(context);
+		reportElapsedTime(context, elapsedNanos);
+		reportThreadUsage(context);
+		recordInTemplateStatistics(context, elapsedNanos);
+		TimingBaselines.check(context, Metric.DURATION, elapsedNanos);
+	}
+
+	private static void startMeter(ExtensionContext context) {
+		boolean measuresThreads = PioneerAnnotationUtils
+				.findClosestEnclosingAnnotation(context, Stopwatch.class)
+				.map(stopwatch -> stopwatch.cpuTime() || stopwatch.allocations())
+				.orElse(false);
+		if (measuresThreads) {
+			boolean parallel = context
+					.getConfigurationParameter(PARALLEL_EXECUTION_PARAM, Boolean::parseBoolean)
+					.orElse(false);
+			context
+					.getStore(NAMESPACE)
+					.put(context.getUniqueId() + METER_KEY_SUFFIX, ThreadUsageMeter.start(!parallel));
+		}
+	}
+
+	private static void reportThreadUsage(ExtensionContext context) {
+		ThreadUsageMeter meter = context
+				.getStore(NAMESPACE)
+				.get(context.getUniqueId() + METER_KEY_SUFFIX, ThreadUsageMeter.class);
+		if (meter == null)
+			return;
+
+		Stopwatch stopwatch = PioneerAnnotationUtils.findClosestEnclosingAnnotation(context, Stopwatch.class).get();
+		boolean issue = PioneerAnnotationUtils.isAnnotationPresent(context, Issue.class);
+		long cpuTime = stopwatch.cpuTime() ? meter.cpuTime() : -1;
+		if (cpuTime >= 0) {
+			String message = String
+					.format("Execution of '%s' used [%s] ms of CPU time.", context.getDisplayName(),
+						formatMillis(cpuTime));
+			context.publishReportEntry(CPU_TIME_KEY, message);
+			if (issue)
+				context.publishReportEntry(CPU_TIME_REPORT_KEY, String.valueOf(TimeUnit.NANOSECONDS.toMillis(cpuTime)));
+		}
+		long allocatedBytes = stopwatch.allocations() ? meter.allocatedBytes() : -1;
+		if (allocatedBytes >= 0) {
+			String message = String
+					.format("Execution of '%s' allocated [%d] bytes.", context.getDisplayName(), allocatedBytes);
+			context.publishReportEntry(ALLOCATION_KEY, message);
+			if (issue)
+				context.publishReportEntry(ALLOCATION_REPORT_KEY, String.valueOf(allocatedBytes));
+		}
+	}
+
+	@Override
+	public <T> T interceptTestClassConstructor(Invocation<T> invocation,
+			ReflectiveInvocationContext<Constructor<T>> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		return timePhase(invocation, extensionContext, "constructor");
+	}
+
+	@Override
+	public void interceptBeforeAllMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		timePhase(invocation, extensionContext, phase("before all", invocationContext));
+	}
+
+	@Override
+	public void interceptBeforeEachMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		timePhase(invocation, extensionContext, phase("before each", invocationContext));
+	}
+
+	@Override
+	public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+			ExtensionContext extensionContext) throws Throwable {
+		timeTestBody(invocation, extensionContext);
+	}
+
+	@Override
+	public void interceptTestTemplateMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		timeTestBody(invocation, extensionContext);
+	}
+
+	@Override
+	public <T> T interceptTestFactoryMethod(Invocation<T> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		return timeTestBody(invocation, extensionContext);
+	}
+
+	@Override
+	public void interceptAfterEachMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		timePhase(invocation, extensionContext, phase("after each", invocationContext));
 	}
 
-	private static void reportElapsedTime(ExtensionContext context, long elapsedTime) {
-		String message = String.format("Execution of '%s' took [%d] ms.", context.getDisplayName(), elapsedTime);
+	@Override
+	public void interceptAfterAllMethod(Invocation<Void> invocation,
+			ReflectiveInvocationContext<Method> invocationContext, ExtensionContext extensionContext)
+			throws Throwable {
+		timePhase(invocation, extensionContext, phase("after all", invocationContext));
+	}
+
+	private static String phase(String phase, ReflectiveInvocationContext<Method> invocationContext) {
+		return String.format("%s (%s())", phase, invocationContext.getExecutable().getName());
+	}
+
+	private static <T> T timeTestBody(Invocation<T> invocation, ExtensionContext context) throws Throwable {
+		if (reportsPhases(context)) {
+			// the test method's parameters are resolved after `beforeTestExecution` and before the invocation
+			Long launchTime = context.getStore(NAMESPACE).get(context.getUniqueId(), Long.class);
+			if (launchTime != null)
+				reportPhase(context, "parameter resolution", System.nanoTime() - launchTime);
+		}
+		return timePhase(invocation, context, "test body");
+	}
+
+	private static <T> T timePhase(Invocation<T> invocation, ExtensionContext context, String phase)
+			throws Throwable {
+		if (!reportsPhases(context))
+			return invocation.proceed();
+		long start = System.nanoTime();
+		try {
+			return invocation.proceed();
+		}
+		finally {
+			reportPhase(context, phase, System.nanoTime() - start);
+		}
+	}
+
+	private static boolean reportsPhases(ExtensionContext context) {
+		return PioneerAnnotationUtils
+				.findClosestEnclosingAnnotation(context, Stopwatch.class)
+				.map(Stopwatch::phases)
+				.orElse(false);
+	}
+
+	private static void reportPhase(ExtensionContext context, String phase, long elapsedNanos) {
+		String message = String
+				.format("Phase '%s' of '%s' took [%s] ms.", phase, context.getDisplayName(),
+					formatMillis(elapsedNanos));
+		context.publishReportEntry(PHASE_KEY, message);
+	}
+
+	private static void reportElapsedTime(ExtensionContext context, long elapsedNanos) {
+		String message = String
+				.format("Execution of '%s' took [%s] ms.", context.getDisplayName(), formatMillis(elapsedNanos));
 		context.publishReportEntry(STORE_KEY, message);
 		if (PioneerAnnotationUtils.isAnnotationPresent(context, Issue.class)) {
-			context.publishReportEntry(TIME_REPORT_KEY, String.valueOf(elapsedTime));
+			context
+					.publishReportEntry(TIME_REPORT_KEY,
+						String.valueOf(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
 		}
 	}
 
+	private static void recordInTemplateStatistics(ExtensionContext context, long elapsedNanos) {
+		// the invocations of a test template (e.g. `@RepeatedTest`) are children of the template's context,
+		// which (unlike a class's context) has a test method
+		context
+				.getParent()
+				.filter(parent -> parent.getTestMethod().isPresent())
+				.ifPresent(template -> template
+						.getStore(NAMESPACE)
+						.getOrComputeIfAbsent(STATISTICS_KEY, __ -> new TemplateStatistics(template),
+							TemplateStatistics.class)
+						.record(elapsedNanos));
+	}
+
+	static String formatMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000d);
+	}
+
 	private void storeNowAsLaunchTime(ExtensionContext context) {
-		context.getStore(NAMESPACE).put(context.getUniqueId(), clock.instant().toEpochMilli());
+		context.getStore(NAMESPACE).put(context.getUniqueId(), System.nanoTime());
 	}
 
 	private long loadLaunchTime(ExtensionContext context) {
 		return context.getStore(NAMESPACE).get(context.getUniqueId(), long.class);
 	}
 
-	private long calculateElapsedTime(ExtensionContext context) {
+	private long calculateElapsedNanos(ExtensionContext context) {
 		long launchTime = loadLaunchTime(context);
-		return clock.instant().toEpochMilli() - launchTime;
+		return System.nanoTime() - launchTime;
+	}
+
+	/**
+	 * Collects the elapsed times of a template's invocations and publishes a summary
+	 * when the template's store is closed, i.e. when all invocations finished.
+	 */
+	private static class TemplateStatistics implements CloseableResource {
+
+		private final ExtensionContext template;
+		private final LogHistogram histogram = new LogHistogram();
+
+		TemplateStatistics(ExtensionContext template) {
+			this.template = template;
+		}
+
+		void record(long elapsedNanos) {
+			histogram.record(elapsedNanos);
+		}
+
+		@Override
+		public void close() {
+			//@formatter:off
+			String message = String.format(
+					"Execution of '%s' (%d invocations) took min [%s] ms, max [%s] ms, mean [%s] ms, "
+							+ "p50 [%s] ms, p90 [%s] ms, p99 [%s] ms, p99.9 [%s] ms.",
+					template.getDisplayName(),
+					histogram.count(),
+					formatMillis(histogram.min()),
+					formatMillis(histogram.max()),
+					formatMillis(Math.round(histogram.mean())),
+					formatMillis(histogram.percentile(50)),
+					formatMillis(histogram.percentile(90)),
+					formatMillis(histogram.percentile(99)),
+					formatMillis(histogram.percentile(99.9)));
+			//@formatter:on
+			template.publishReportEntry(SUMMARY_KEY, message);
+		}
+
 	}
 
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * Invokes an intercepted test method again with the same test instance and arguments, e.g. to warm
+ * it up or to measure it repeatedly. These invocations call the method directly, so neither lifecycle
+ * methods nor other interceptors (like the one behind {@code @Timeout}) apply to them.
+ */
+final class TestMethodRepeater {
+
+	private final Method method;
+	private final Object target;
+	private final Object[] arguments;
+
+	TestMethodRepeater(ReflectiveInvocationContext<Method> invocationContext) {
+		this.method = invocationContext.getExecutable();
+		this.target = invocationContext.getTarget().orElse(null);
+		this.arguments = invocationContext.getArguments().toArray();
+	}
+
+	/**
+	 * Invokes the test method once; exceptions it throws are rethrown as they are.
+	 */
+	void invoke() {
+		ReflectionSupport.invokeMethod(method, target, arguments);
+	}
+
+	/**
+	 * Invokes the test method the given number of times without measuring it.
+	 */
+	void warmUp(int warmups) {
+		for (int i = 0; i < warmups; i++)
+			invoke();
+	}
+
+}
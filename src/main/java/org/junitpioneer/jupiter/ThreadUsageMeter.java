@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Measures the CPU time and the allocated bytes of the thread that creates it and, optionally,
+ * of the threads that were started after it was created.
+ *
+ * <p>Such child threads are only measured if they are still alive when they're measured - the JVM
+ * forgets the usage of terminated threads. Since it's impossible to tell which thread started
+ * another, child threads should only be included if no other tests run concurrently.</p>
+ */
+class ThreadUsageMeter {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final long threadId = Thread.currentThread().getId();
+	private final long[] preexistingThreads;
+	private final long startCpuTime;
+	private final long startAllocatedBytes;
+
+	private ThreadUsageMeter(boolean includeChildThreads) {
+		long[] threads = includeChildThreads ? THREADS.getAllThreadIds() : null;
+		if (threads != null)
+			Arrays.sort(threads);
+		this.preexistingThreads = threads;
+		this.startCpuTime = isCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+		this.startAllocatedBytes = isAllocationSupported() ? Allocations.allocatedBytes(threadId) : -1;
+	}
+
+	/**
+	 * Starts measuring the current thread (and, optionally, the threads that are started from now on).
+	 */
+	static ThreadUsageMeter start(boolean includeChildThreads) {
+		return new ThreadUsageMeter(includeChildThreads);
+	}
+
+	static boolean isCpuTimeSupported() {
+		return THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+	}
+
+	static boolean isAllocationSupported() {
+		// `com.sun.management` is in an optional module, so don't load `Allocations` without it
+		return ModuleLayer.boot().findModule("jdk.management").isPresent() && Allocations.isSupported();
+	}
+
+	/**
+	 * Must be called from the thread that started this meter.
+	 *
+	 * @return the CPU time in nanoseconds or -1 if the JVM can't measure it
+	 */
+	long cpuTime() {
+		if (startCpuTime < 0)
+			return -1;
+		long cpuTime = THREADS.getCurrentThreadCpuTime() - startCpuTime;
+		for (long childThread : childThreads())
+			cpuTime += Math.max(THREADS.getThreadCpuTime(childThread), 0);
+		return cpuTime;
+	}
+
+	/**
+	 * Must be called from the thread that started this meter.
+	 *
+	 * @return the allocated bytes or -1 if the JVM can't measure them
+	 */
+	long allocatedBytes() {
+		if (startAllocatedBytes < 0)
+			return -1;
+		long allocatedBytes = Allocations.allocatedBytes(threadId) - startAllocatedBytes;
+		for (long childBytes : Allocations.allocatedBytes(childThreads()))
+			allocatedBytes += Math.max(childBytes, 0);
+		return allocatedBytes;
+	}
+
+	private long[] childThreads() {
+		if (preexistingThreads == null)
+			return new long[0];
+		return Arrays
+				.stream(THREADS.getAllThreadIds())
+				.filter(thread -> Arrays.binarySearch(preexistingThreads, thread) < 0)
+				.toArray();
+	}
+
+	private static class Allocations {
+
+		static boolean isSupported() {
+			if (!(THREADS instanceof com.sun.management.ThreadMXBean))
+				return false;
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+			return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+		}
+
+		static long allocatedBytes(long thread) {
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(thread);
+		}
+
+		static long[] allocatedBytes(long[] threads) {
+			if (threads.length == 0)
+				return threads;
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(threads);
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@ import java.util.List;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junitpioneer.internal.LazyArgument;
 
 class CartesianProductResolver implements ParameterResolver {
 
@@ -37,7 +38,7 @@ class CartesianProductResolver implements ParameterResolver {
 		if (!parameterInRange)
 			return false;
 
-		Object parameter = parameters.get(parameterContext.getIndex());
+		Object parameter = LazyArgument.unwrap(parameters.get(parameterContext.getIndex()));
 		Class<?> parameterType = parameterContext.getParameter().getType();
 		// need to go from primitives to wrapper class or `isAssignableFrom` returns false for primitive parameters
 		Class<?> parameterClass = wrap(parameterType);
@@ -52,7 +53,7 @@ class CartesianProductResolver implements ParameterResolver {
 
 	@Override
 	public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
-		return parameters.get(parameterContext.getIndex());
+		return LazyArgument.unwrap(parameters.get(parameterContext.getIndex()));
 	}
 
 }
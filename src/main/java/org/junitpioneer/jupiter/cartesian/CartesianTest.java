@@ -100,6 +100,10 @@ public @interface CartesianTest {
 	 * <p>For the latter, you may use {@link java.text.MessageFormat} patterns
 	 * to customize formatting.</p>
 	 *
+	 * <p>Arguments that are computed lazily (e.g. by the JSON argument sources) are computed
+	 * to format them, so a name that doesn't contain them avoids computing them for invocations
+	 * that are skipped.</p>
+	 *
 	 * @since 1.5
 	 * @see java.text.MessageFormat
 	 * @see org.junit.jupiter.params.ParameterizedTest#name()
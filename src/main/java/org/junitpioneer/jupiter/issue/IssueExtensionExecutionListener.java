@@ -37,6 +37,8 @@ public class IssueExtensionExecutionListener implements TestExecutionListener {
 
 	public static final String REPORT_ENTRY_KEY = "IssueExtension";
 	public static final String TIME_REPORT_KEY = "IssueExtensionTimeReport";
+	public static final String CPU_TIME_REPORT_KEY = "IssueExtensionCpuTimeReport";
+	public static final String ALLOCATION_REPORT_KEY = "IssueExtensionAllocationReport";
 
 	/**
 	 * This listener will be active as soon as Pioneer is on the class/module path, regardless of whether {@code @Issue} is actually used.
@@ -69,6 +71,14 @@ public class IssueExtensionExecutionListener implements TestExecutionListener {
 			var elapsedTime = Long.parseLong(messages.get(TIME_REPORT_KEY));
 			testCaseBuilder.setElapsedTime(elapsedTime);
 		}
+		if (messages.containsKey(CPU_TIME_REPORT_KEY)) {
+			var cpuTime = Long.parseLong(messages.get(CPU_TIME_REPORT_KEY));
+			testCaseBuilder.setCpuTime(cpuTime);
+		}
+		if (messages.containsKey(ALLOCATION_REPORT_KEY)) {
+			var allocatedBytes = Long.parseLong(messages.get(ALLOCATION_REPORT_KEY));
+			testCaseBuilder.setAllocatedBytes(allocatedBytes);
+		}
 	}
 
 	@Override
@@ -23,6 +23,8 @@ class IssueTestCaseBuilder {
 	private String issueId;
 	private Status result;
 	private Long elapsedTime;
+	private Long cpuTime;
+	private Long allocatedBytes;
 
 	public IssueTestCaseBuilder(String testId) {
 		this.testId = testId;
@@ -38,6 +40,16 @@ class IssueTestCaseBuilder {
 		return this;
 	}
 
+	public IssueTestCaseBuilder setCpuTime(long cpuTime) {
+		this.cpuTime = cpuTime;
+		return this;
+	}
+
+	public IssueTestCaseBuilder setAllocatedBytes(long allocatedBytes) {
+		this.allocatedBytes = allocatedBytes;
+		return this;
+	}
+
 	public String getIssueId() {
 		return issueId;
 	}
@@ -48,7 +60,8 @@ class IssueTestCaseBuilder {
 	}
 
 	public IssueTestCase build() {
-		return new IssueTestCase(testId, result, Optional.ofNullable(elapsedTime));
+		return new IssueTestCase(testId, result, Optional.ofNullable(elapsedTime), Optional.ofNullable(cpuTime),
+			Optional.ofNullable(allocatedBytes));
 	}
 
 }
@@ -11,11 +11,14 @@
 package org.junitpioneer.jupiter.json;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toUnmodifiableSet;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -23,6 +26,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.support.AnnotationConsumer;
 import org.junit.platform.commons.support.AnnotationSupport;
+import org.junitpioneer.internal.LazyArgument;
 import org.junitpioneer.internal.PioneerPreconditions;
 import org.junitpioneer.jupiter.cartesian.CartesianParameterArgumentsProvider;
 
@@ -37,15 +41,20 @@ abstract class AbstractJsonArgumentsProvider<A extends Annotation>
 	@Override
 	public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
 		Method method = context.getRequiredTestMethod();
-		return provideNodes(context).map(node -> createArguments(method, node));
+		return provideNodes(context, requiredProperties(method)).map(node -> createArguments(method, node));
 	}
 
 	@Override
 	public Stream<Object> provideArguments(ExtensionContext context, Parameter parameter) throws Exception {
-		return provideNodes(context).map(node -> createArgumentForCartesianProvider(parameter, node));
+		// the nodes are only converted once needed, so invocations that are skipped never pay for it;
+		// equal nodes convert to equivalent arguments, which allows deduplication before conversion
+		return provideNodes(context, requiredProperties(parameter))
+				.map(node -> LazyArgument
+						.of(List.of(node, parameter.getParameterizedType()),
+							() -> createArgumentForCartesianProvider(parameter, node)));
 	}
 
-	private Stream<Node> provideNodes(ExtensionContext context) {
+	private Stream<Node> provideNodes(ExtensionContext context, Set<String> properties) {
 		String config = context.getConfigurationParameter(CONFIG_PARAM).orElse("default");
 		PioneerPreconditions
 				.notBlank(config, format("The configuration parameter %s must not have a blank value", CONFIG_PARAM));
@@ -54,10 +63,39 @@ abstract class AbstractJsonArgumentsProvider<A extends Annotation>
 				.map(UseObjectMapper::value)
 				.orElse(config);
 		PioneerPreconditions.notBlank(objectMapperId, format("%s must not have a blank value", UseObjectMapper.class));
-		return provideNodes(context, JsonConverterProvider.getJsonConverter(objectMapperId));
+		return provideNodes(context, JsonConverterProvider.getJsonConverter(objectMapperId), properties);
 	}
 
-	protected abstract Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter);
+	/**
+	 * Provides the nodes to create arguments from.
+	 *
+	 * @param context the current extension context
+	 * @param jsonConverter the converter to parse JSON with
+	 * @param properties the names of the only properties that are accessed on the nodes or {@code null}
+	 * 		if the nodes are converted as a whole, see {@link JsonConverter#toNodes(java.io.InputStream, String, Set)}
+	 * @return the nodes
+	 */
+	protected abstract Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter,
+			Set<String> properties);
+
+	private static Set<String> requiredProperties(Method method) {
+		if (method.getParameterCount() == 1 && !method.getParameters()[0].isAnnotationPresent(Property.class))
+			return null;
+		return Arrays
+				.stream(method.getParameters())
+				.map(AbstractJsonArgumentsProvider::propertyName)
+				.collect(toUnmodifiableSet());
+	}
+
+	private static Set<String> requiredProperties(Parameter parameter) {
+		Property property = parameter.getAnnotation(Property.class);
+		return property == null ? null : Set.of(property.value());
+	}
+
+	private static String propertyName(Parameter parameter) {
+		Property property = parameter.getAnnotation(Property.class);
+		return property == null ? parameter.getName() : property.value();
+	}
 
 	private static Object createArgumentForCartesianProvider(Parameter parameter, Node node) {
 		Property property = parameter.getAnnotation(Property.class);
@@ -90,16 +128,10 @@ abstract class AbstractJsonArgumentsProvider<A extends Annotation>
 	private static Arguments createArgumentsForMethod(Method method, Node node) {
 		// @formatter:off
 		Object[] arguments = Arrays.stream(method.getParameters())
-				.map(parameter -> {
-					Property property = parameter.getAnnotation(Property.class);
-					String name = property == null
-							? parameter.getName()
-							: property.value();
-					return node
-							.getNode(name)
-							.map(value -> value.value(parameter.getParameterizedType()))
-							.orElse(null);
-				})
+				.map(parameter -> node
+						.getNode(propertyName(parameter))
+						.map(value -> value.value(parameter.getParameterizedType()))
+						.orElse(null))
 				.toArray();
 		// @formatter:on
 		return Arguments.of(arguments);
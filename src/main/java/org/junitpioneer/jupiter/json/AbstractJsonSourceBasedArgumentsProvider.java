@@ -13,10 +13,12 @@ package org.junitpioneer.jupiter.json;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
-import org.junit.platform.commons.PreconditionViolationException;
 import org.junitpioneer.internal.PioneerPreconditions;
 
 abstract class AbstractJsonSourceBasedArgumentsProvider<A extends Annotation> extends AbstractJsonArgumentsProvider<A> {
@@ -32,33 +34,62 @@ abstract class AbstractJsonSourceBasedArgumentsProvider<A extends Annotation> ex
 	}
 
 	@Override
-	protected Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter) {
-		return PioneerPreconditions
-				.notEmpty(this.sources, "Value must not be empty")
-				.stream()
-				.map(source -> source.open(context))
-				.map(jsonConverter::toNode)
-				.flatMap(this::extractArgumentNodes);
+	protected Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter,
+			Set<String> properties) {
+		List<Source> sources = PioneerPreconditions.notEmpty(sources(context), "Value must not be empty");
+		if (sources.size() == 1)
+			return readNodes(sources.get(0), context, jsonConverter, properties);
+
+		// with several sources, they are read and parsed concurrently,
+		// but their nodes are still emitted in the order of the sources
+		ParallelSourceReader reader = new ParallelSourceReader(sources,
+			source -> readNodes(source, context, jsonConverter, properties));
+		return StreamSupport.stream(reader, false).onClose(reader::close);
 	}
 
-	private Stream<Node> extractArgumentNodes(Node node) {
-		// @formatter:off
-		Node nodeForExtraction = (dataLocation == null || dataLocation.isEmpty())
-				? node
-				: node.getNode(dataLocation)
-						.orElseThrow(() -> new PreconditionViolationException(
-							"Node " + node + " does not have data element at " + dataLocation));
-		// @formatter:on
-		if (nodeForExtraction.isArray()) {
-			return nodeForExtraction.elements();
-		}
-		return Stream.of(nodeForExtraction);
+	/**
+	 * @return the sources to provide nodes from, in the order in which their nodes are emitted
+	 */
+	protected List<Source> sources(ExtensionContext context) {
+		return this.sources;
+	}
+
+	private Stream<Node> readNodes(Source source, ExtensionContext context, JsonConverter jsonConverter,
+			Set<String> properties) {
+		return openDocuments(source, context)
+				.flatMap(document -> jsonConverter.toNodes(document, dataLocation, properties));
+	}
+
+	private static Stream<InputStream> openDocuments(Source source, ExtensionContext context) {
+		InputStream stream = source.open(context);
+		return Compression.forName(source.name()).decompress(source.name(), stream);
 	}
 
 	interface Source {
 
+		/**
+		 * @return the name of the source, whose suffix determines its {@link Compression}
+		 */
+		String name();
+
 		InputStream open(ExtensionContext context);
 
+		static Source of(String name, Function<ExtensionContext, InputStream> opener) {
+			return new Source() {
+
+				@Override
+				public String name() {
+					return name;
+				}
+
+				@Override
+				public InputStream open(ExtensionContext context) {
+					return opener.apply(context);
+				}
+
+			};
+		}
+
 	}
 
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link JsonConverter} without dependencies that is used if the object mapper ID
+ * is {@value #ID}. It supports the types {@link BuiltInTypeConverter} can create.
+ */
+class BuiltInJsonConverter implements JsonConverter {
+
+	static final String ID = "builtin";
+
+	private static final BuiltInJsonConverter INSTANCE = new BuiltInJsonConverter();
+
+	private BuiltInJsonConverter() {
+	}
+
+	static JsonConverter getConverter() {
+		return INSTANCE;
+	}
+
+	@Override
+	public Node toNode(InputStream stream) {
+		try (Reader reader = new BufferedReader(new InputStreamReader(stream, UTF_8))) {
+			return new BuiltInNode(BuiltInJsonParser.parse(reader, false));
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read stream", e);
+		}
+	}
+
+	@Override
+	public Node toNode(String value, boolean lenient) {
+		return new BuiltInNode(BuiltInJsonParser.parse(new StringReader(value), lenient));
+	}
+
+}
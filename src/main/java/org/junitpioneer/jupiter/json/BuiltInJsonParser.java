@@ -0,0 +1,325 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A small recursive-descent JSON parser without dependencies.
+ *
+ * <p>It parses JSON into plain Java structures: objects become (insertion-ordered) {@link Map}s,
+ * arrays become {@link List}s, strings become {@link String}s, {@code true} and {@code false}
+ * become {@link Boolean}s, and {@code null} becomes {@code null}. Integral numbers become the
+ * smallest of {@link Integer}, {@link Long}, or {@link BigInteger} they fit in, other numbers
+ * become {@link Double}s.</p>
+ *
+ * <p>In lenient mode, it also accepts unquoted field names, single-quoted strings,
+ * Java comments, and trailing commas - just like Jackson's lenient mode used by {@link JsonSource}.</p>
+ */
+class BuiltInJsonParser {
+
+	private static final int END = -1;
+
+	private final Reader reader;
+	private final boolean lenient;
+	private final StringBuilder buffer = new StringBuilder();
+
+	private int current;
+	private int line = 1;
+	private int column;
+
+	private BuiltInJsonParser(Reader reader, boolean lenient) {
+		this.reader = reader;
+		this.lenient = lenient;
+	}
+
+	/**
+	 * Parses the single JSON value the given reader provides.
+	 *
+	 * @throws IllegalArgumentException if the reader does not provide valid JSON
+	 * @throws UncheckedIOException if reading fails
+	 */
+	static Object parse(Reader reader, boolean lenient) {
+		try {
+			BuiltInJsonParser parser = new BuiltInJsonParser(reader, lenient);
+			parser.read();
+			Object value = parser.parseValue();
+			parser.skipWhitespace();
+			if (parser.current != END)
+				throw parser.unexpectedCharacter();
+			return value;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read JSON", e);
+		}
+	}
+
+	private Object parseValue() throws IOException {
+		skipWhitespace();
+		switch (current) {
+			case '{':
+				return parseObject();
+			case '[':
+				return parseArray();
+			case '"':
+				return parseString('"');
+			case '\'':
+				if (lenient)
+					return parseString('\'');
+				throw unexpectedCharacter();
+			case 't':
+				return parseLiteral("true", Boolean.TRUE);
+			case 'f':
+				return parseLiteral("false", Boolean.FALSE);
+			case 'n':
+				return parseLiteral("null", null);
+			default:
+				if (current == '-' || isDigit(current))
+					return parseNumber();
+				throw unexpectedCharacter();
+		}
+	}
+
+	private Map<String, Object> parseObject() throws IOException {
+		read();
+		Map<String, Object> object = new LinkedHashMap<>();
+		skipWhitespace();
+		if (current == '}') {
+			read();
+			return Collections.unmodifiableMap(object);
+		}
+		while (true) {
+			skipWhitespace();
+			if (lenient && current == '}') {
+				// trailing comma
+				read();
+				return Collections.unmodifiableMap(object);
+			}
+			String name = parseFieldName();
+			skipWhitespace();
+			expect(':');
+			object.put(name, parseValue());
+			skipWhitespace();
+			if (current == '}') {
+				read();
+				return Collections.unmodifiableMap(object);
+			}
+			expect(',');
+		}
+	}
+
+	private String parseFieldName() throws IOException {
+		if (current == '"')
+			return parseString('"');
+		if (lenient && current == '\'')
+			return parseString('\'');
+		if (lenient && Character.isJavaIdentifierStart(current)) {
+			buffer.setLength(0);
+			while (current != END && Character.isJavaIdentifierPart(current)) {
+				buffer.append((char) current);
+				read();
+			}
+			return buffer.toString();
+		}
+		throw unexpectedCharacter();
+	}
+
+	private List<Object> parseArray() throws IOException {
+		read();
+		List<Object> array = new ArrayList<>();
+		skipWhitespace();
+		if (current == ']') {
+			read();
+			return Collections.unmodifiableList(array);
+		}
+		while (true) {
+			skipWhitespace();
+			if (lenient && current == ']') {
+				// trailing comma
+				read();
+				return Collections.unmodifiableList(array);
+			}
+			array.add(parseValue());
+			skipWhitespace();
+			if (current == ']') {
+				read();
+				return Collections.unmodifiableList(array);
+			}
+			expect(',');
+		}
+	}
+
+	private String parseString(char quote) throws IOException {
+		read();
+		buffer.setLength(0);
+		while (current != quote) {
+			if (current == END || current < 0x20)
+				throw unexpectedCharacter();
+			if (current == '\\') {
+				read();
+				buffer.append(parseEscapedCharacter());
+			} else {
+				buffer.append((char) current);
+			}
+			read();
+		}
+		read();
+		return buffer.toString();
+	}
+
+	private char parseEscapedCharacter() throws IOException {
+		switch (current) {
+			case '"':
+			case '\'':
+			case '\\':
+			case '/':
+				return (char) current;
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'u':
+				int codeUnit = 0;
+				for (int i = 0; i < 4; i++) {
+					read();
+					int digit = Character.digit(current, 16);
+					if (digit < 0)
+						throw unexpectedCharacter();
+					codeUnit = codeUnit * 16 + digit;
+				}
+				return (char) codeUnit;
+			default:
+				throw unexpectedCharacter();
+		}
+	}
+
+	private Object parseLiteral(String literal, Object value) throws IOException {
+		for (int i = 0; i < literal.length(); i++) {
+			if (current != literal.charAt(i))
+				throw unexpectedCharacter();
+			read();
+		}
+		return value;
+	}
+
+	private Number parseNumber() throws IOException {
+		buffer.setLength(0);
+		boolean integral = true;
+		if (current == '-')
+			readIntoBuffer();
+		readDigitsIntoBuffer();
+		if (current == '.') {
+			integral = false;
+			readIntoBuffer();
+			readDigitsIntoBuffer();
+		}
+		if (current == 'e' || current == 'E') {
+			integral = false;
+			readIntoBuffer();
+			if (current == '+' || current == '-')
+				readIntoBuffer();
+			readDigitsIntoBuffer();
+		}
+
+		String number = buffer.toString();
+		if (!integral)
+			return Double.valueOf(number);
+		BigInteger value = new BigInteger(number);
+		if (value.bitLength() < Integer.SIZE)
+			return value.intValue();
+		if (value.bitLength() < Long.SIZE)
+			return value.longValue();
+		return value;
+	}
+
+	private void readDigitsIntoBuffer() throws IOException {
+		if (!isDigit(current))
+			throw unexpectedCharacter();
+		while (isDigit(current))
+			readIntoBuffer();
+	}
+
+	private void readIntoBuffer() throws IOException {
+		buffer.append((char) current);
+		read();
+	}
+
+	private void skipWhitespace() throws IOException {
+		while (true) {
+			if (current == ' ' || current == '\t' || current == '\n' || current == '\r')
+				read();
+			else if (lenient && current == '/')
+				skipComment();
+			else
+				return;
+		}
+	}
+
+	private void skipComment() throws IOException {
+		read();
+		if (current == '/') {
+			while (current != '\n' && current != END)
+				read();
+		} else if (current == '*') {
+			read();
+			int previous;
+			do {
+				previous = current;
+				read();
+				if (previous == END)
+					throw unexpectedCharacter();
+			} while (previous != '*' || current != '/');
+			read();
+		} else {
+			throw unexpectedCharacter();
+		}
+	}
+
+	private void expect(char expected) throws IOException {
+		if (current != expected)
+			throw unexpectedCharacter();
+		read();
+	}
+
+	private void read() throws IOException {
+		if (current == '\n') {
+			line++;
+			column = 0;
+		}
+		current = reader.read();
+		column++;
+	}
+
+	private static boolean isDigit(int character) {
+		return character >= '0' && character <= '9';
+	}
+
+	private IllegalArgumentException unexpectedCharacter() {
+		String found = current == END ? "end of input" : "'" + (char) current + "'";
+		return new IllegalArgumentException(
+			"Unexpected " + found + " in JSON at line " + line + ", column " + column);
+	}
+
+}
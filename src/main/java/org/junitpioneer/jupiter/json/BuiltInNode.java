@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class BuiltInNode implements Node {
+
+	private final Object value;
+
+	BuiltInNode(Object value) {
+		this.value = value;
+	}
+
+	@Override
+	public boolean isArray() {
+		return value instanceof List;
+	}
+
+	@Override
+	public Stream<Node> elements() {
+		if (value instanceof List)
+			return ((List<?>) value).stream().map(BuiltInNode::new);
+		if (value instanceof Map)
+			return ((Map<?, ?>) value).values().stream().map(BuiltInNode::new);
+		return Stream.empty();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T toType(Type type) {
+		return (T) BuiltInTypeConverter.convert(value, type);
+	}
+
+	@Override
+	public Optional<Node> getNode(String name) {
+		if (!(value instanceof Map) || !((Map<?, ?>) value).containsKey(name))
+			return Optional.empty();
+		return Optional.of(new BuiltInNode(((Map<?, ?>) value).get(name)));
+	}
+
+	@Override
+	public Object value(Type typeHint) {
+		if (value instanceof Map || value instanceof List)
+			return toType(typeHint);
+		return value;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof BuiltInNode))
+			return false;
+		var that = (BuiltInNode) o;
+		return Objects.equals(value, that.value);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hashCode(value);
+	}
+
+	@Override
+	public String toString() {
+		return "BuiltInNode{" + "value=" + value + '}';
+	}
+
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+import org.junitpioneer.internal.PioneerUtils;
+
+/**
+ * Converts the plain Java structures created by {@link BuiltInJsonParser} into the types
+ * requested by test parameters: primitives and their wrappers, strings, big numbers, enums,
+ * arrays, collections, maps, records, and classes with a parameterless constructor whose
+ * properties are set via setters or fields.
+ */
+class BuiltInTypeConverter {
+
+	// records were introduced after Java 11, so they need to be handled reflectively
+	private static final Optional<Method> IS_RECORD = findMethod(Class.class, "isRecord");
+	private static final Optional<Method> GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+
+	private BuiltInTypeConverter() {
+		// private constructor to prevent instantiation of utility class
+	}
+
+	static Object convert(Object value, Type type) {
+		try {
+			return convertValue(value, type);
+		}
+		catch (ArgumentConversionException ex) {
+			throw ex;
+		}
+		catch (RuntimeException | ReflectiveOperationException ex) {
+			throw new ArgumentConversionException(format("Failed to convert %s to type %s", value, type), ex);
+		}
+	}
+
+	private static Object convertValue(Object value, Type type) throws ReflectiveOperationException {
+		Class<?> rawType = rawType(type);
+		if (value == null)
+			return rawType.isPrimitive() ? Array.get(Array.newInstance(rawType, 1), 0) : null;
+		if (rawType == Object.class)
+			return value;
+
+		Class<?> wrappedType = PioneerUtils.wrap(rawType);
+		if (wrappedType == String.class)
+			return convertToString(value);
+		if (Number.class.isAssignableFrom(wrappedType))
+			return convertToNumber(value, wrappedType);
+		if (wrappedType == Boolean.class)
+			return convertToBoolean(value);
+		if (wrappedType == Character.class)
+			return convertToCharacter(value);
+		if (rawType.isEnum())
+			return convertToEnum(value, rawType);
+		if (rawType.isArray())
+			return convertToArray(value, type, rawType);
+		if (Collection.class.isAssignableFrom(rawType))
+			return convertToCollection(value, type, rawType);
+		if (Map.class.isAssignableFrom(rawType))
+			return convertToMap(value, type, rawType);
+		if (isRecord(rawType))
+			return convertToRecord(value, rawType);
+		return convertToObject(value, rawType);
+	}
+
+	private static String convertToString(Object value) {
+		if (value instanceof Map || value instanceof List)
+			throw cannotConvert(value, String.class);
+		return value.toString();
+	}
+
+	private static Object convertToNumber(Object value, Class<?> numberType) {
+		Number number;
+		if (value instanceof Number)
+			number = (Number) value;
+		else if (value instanceof String)
+			number = new BigDecimal((String) value);
+		else
+			throw cannotConvert(value, numberType);
+
+		if (numberType == Double.class)
+			return number.doubleValue();
+		if (numberType == Float.class)
+			return number.floatValue();
+		if (numberType == BigDecimal.class)
+			return new BigDecimal(number.toString());
+		try {
+			// like Jackson, fail on values that are out of range instead of silently narrowing them
+			BigDecimal exact = new BigDecimal(number.toString());
+			if (numberType == Integer.class)
+				return exact.intValueExact();
+			if (numberType == Long.class)
+				return exact.longValueExact();
+			if (numberType == Short.class)
+				return exact.shortValueExact();
+			if (numberType == Byte.class)
+				return exact.byteValueExact();
+			if (numberType == BigInteger.class)
+				return number instanceof BigInteger ? number : exact.toBigIntegerExact();
+		}
+		catch (ArithmeticException ex) {
+			throw cannotConvert(value, numberType);
+		}
+		if (numberType.isInstance(number))
+			return number;
+		throw cannotConvert(value, numberType);
+	}
+
+	private static Boolean convertToBoolean(Object value) {
+		if (value instanceof Boolean)
+			return (Boolean) value;
+		if ("true".equals(value) || "false".equals(value))
+			return Boolean.valueOf((String) value);
+		throw cannotConvert(value, Boolean.class);
+	}
+
+	private static Character convertToCharacter(Object value) {
+		if (value instanceof String && ((String) value).length() == 1)
+			return ((String) value).charAt(0);
+		throw cannotConvert(value, Character.class);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object convertToEnum(Object value, Class<?> enumType) {
+		if (!(value instanceof String))
+			throw cannotConvert(value, enumType);
+		return Enum.valueOf((Class<? extends Enum>) enumType, (String) value);
+	}
+
+	private static Object convertToArray(Object value, Type type, Class<?> arrayType)
+			throws ReflectiveOperationException {
+		List<?> elements = asList(value, arrayType);
+		Type componentType = type instanceof GenericArrayType ? ((GenericArrayType) type).getGenericComponentType()
+				: arrayType.getComponentType();
+		Object array = Array.newInstance(arrayType.getComponentType(), elements.size());
+		for (int i = 0; i < elements.size(); i++)
+			Array.set(array, i, convertValue(elements.get(i), componentType));
+		return array;
+	}
+
+	private static Collection<Object> convertToCollection(Object value, Type type, Class<?> collectionType)
+			throws ReflectiveOperationException {
+		List<?> elements = asList(value, collectionType);
+		Type elementType = typeArgument(type, 0);
+		Collection<Object> collection = newCollection(collectionType);
+		for (Object element : elements)
+			collection.add(convertValue(element, elementType));
+		return collection;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Collection<Object> newCollection(Class<?> collectionType) throws ReflectiveOperationException {
+		if (collectionType.isInterface() || Modifier.isAbstract(collectionType.getModifiers())) {
+			if (collectionType.isAssignableFrom(ArrayList.class))
+				return new ArrayList<>();
+			if (collectionType.isAssignableFrom(LinkedHashSet.class))
+				return new LinkedHashSet<>();
+			if (collectionType.isAssignableFrom(TreeSet.class))
+				return new TreeSet<>();
+			throw new ArgumentConversionException("Unsupported collection type " + collectionType.getName());
+		}
+		return (Collection<Object>) instantiate(collectionType);
+	}
+
+	private static Map<Object, Object> convertToMap(Object value, Type type, Class<?> mapType)
+			throws ReflectiveOperationException {
+		if (!(value instanceof Map))
+			throw cannotConvert(value, mapType);
+		Type keyType = typeArgument(type, 0);
+		Type valueType = typeArgument(type, 1);
+		Map<Object, Object> map = newMap(mapType);
+		for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+			map.put(convertValue(entry.getKey(), keyType), convertValue(entry.getValue(), valueType));
+		return map;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<Object, Object> newMap(Class<?> mapType) throws ReflectiveOperationException {
+		if (mapType.isInterface() || Modifier.isAbstract(mapType.getModifiers())) {
+			if (SortedMap.class.isAssignableFrom(mapType))
+				return new TreeMap<>();
+			return new LinkedHashMap<>();
+		}
+		return (Map<Object, Object>) instantiate(mapType);
+	}
+
+	private static Object convertToRecord(Object value, Class<?> recordType) throws ReflectiveOperationException {
+		Map<?, ?> properties = asMap(value, recordType);
+		Object[] components = (Object[]) GET_RECORD_COMPONENTS.get().invoke(recordType);
+		Class<?>[] parameterTypes = new Class<?>[components.length];
+		Object[] arguments = new Object[components.length];
+		for (int i = 0; i < components.length; i++) {
+			Class<?> componentClass = components[i].getClass();
+			String name = (String) componentClass.getMethod("getName").invoke(components[i]);
+			Type genericType = (Type) componentClass.getMethod("getGenericType").invoke(components[i]);
+			parameterTypes[i] = (Class<?>) componentClass.getMethod("getType").invoke(components[i]);
+			arguments[i] = convertValue(properties.get(name), genericType);
+		}
+		Set<Object> unknownProperties = new LinkedHashSet<>(properties.keySet());
+		for (Object component : components)
+			unknownProperties.remove(component.getClass().getMethod("getName").invoke(component));
+		if (!unknownProperties.isEmpty())
+			throw unknownProperty(unknownProperties.iterator().next(), recordType);
+
+		Constructor<?> constructor = recordType.getDeclaredConstructor(parameterTypes);
+		constructor.setAccessible(true);
+		return newInstance(constructor, arguments);
+	}
+
+	private static Object convertToObject(Object value, Class<?> type) throws ReflectiveOperationException {
+		Map<?, ?> properties = asMap(value, type);
+		Object instance = instantiate(type);
+		for (Map.Entry<?, ?> property : properties.entrySet())
+			setProperty(instance, (String) property.getKey(), property.getValue());
+		return instance;
+	}
+
+	private static void setProperty(Object instance, String name, Object value) throws ReflectiveOperationException {
+		Optional<Method> setter = findSetter(instance.getClass(), name);
+		if (setter.isPresent()) {
+			Method method = setter.get();
+			method.setAccessible(true);
+			method.invoke(instance, convertValue(value, method.getGenericParameterTypes()[0]));
+			return;
+		}
+		Field field = findField(instance.getClass(), name)
+				.orElseThrow(() -> unknownProperty(name, instance.getClass()));
+		field.setAccessible(true);
+		field.set(instance, convertValue(value, field.getGenericType()));
+	}
+
+	private static Optional<Method> findSetter(Class<?> type, String property) {
+		if (property.isEmpty())
+			return Optional.empty();
+		String setterName = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+			for (Method method : current.getDeclaredMethods())
+				if (method.getName().equals(setterName) && method.getParameterCount() == 1
+						&& !Modifier.isStatic(method.getModifiers()))
+					return Optional.of(method);
+		return Optional.empty();
+	}
+
+	private static Optional<Field> findField(Class<?> type, String name) {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass())
+			for (Field field : current.getDeclaredFields())
+				if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())
+						&& !Modifier.isFinal(field.getModifiers()))
+					return Optional.of(field);
+		return Optional.empty();
+	}
+
+	private static Object instantiate(Class<?> type) throws ReflectiveOperationException {
+		Constructor<?> constructor;
+		try {
+			constructor = type.getDeclaredConstructor();
+		}
+		catch (NoSuchMethodException ex) {
+			throw new ArgumentConversionException(
+				format("Type %s needs a constructor without parameters to be created from JSON", type.getName()), ex);
+		}
+		constructor.setAccessible(true);
+		return newInstance(constructor);
+	}
+
+	private static Object newInstance(Constructor<?> constructor, Object... arguments)
+			throws ReflectiveOperationException {
+		try {
+			return constructor.newInstance(arguments);
+		}
+		catch (InvocationTargetException ex) {
+			if (ex.getCause() instanceof RuntimeException)
+				throw (RuntimeException) ex.getCause();
+			throw ex;
+		}
+	}
+
+	private static List<?> asList(Object value, Class<?> type) {
+		if (!(value instanceof List))
+			throw cannotConvert(value, type);
+		return (List<?>) value;
+	}
+
+	private static Map<?, ?> asMap(Object value, Class<?> type) {
+		if (!(value instanceof Map))
+			throw cannotConvert(value, type);
+		return (Map<?, ?>) value;
+	}
+
+	private static boolean isRecord(Class<?> type) throws ReflectiveOperationException {
+		return IS_RECORD.isPresent() && (Boolean) IS_RECORD.get().invoke(type);
+	}
+
+	private static Class<?> rawType(Type type) {
+		if (type instanceof Class)
+			return (Class<?>) type;
+		if (type instanceof ParameterizedType)
+			return rawType(((ParameterizedType) type).getRawType());
+		if (type instanceof GenericArrayType)
+			return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		if (type instanceof WildcardType)
+			return rawType(((WildcardType) type).getUpperBounds()[0]);
+		if (type instanceof TypeVariable)
+			return rawType(((TypeVariable<?>) type).getBounds()[0]);
+		return Object.class;
+	}
+
+	private static Type typeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < arguments.length)
+				return arguments[index];
+		}
+		return Object.class;
+	}
+
+	private static Optional<Method> findMethod(Class<?> type, String name) {
+		try {
+			return Optional.of(type.getMethod(name));
+		}
+		catch (NoSuchMethodException ex) {
+			return Optional.empty();
+		}
+	}
+
+	private static ArgumentConversionException cannotConvert(Object value, Class<?> type) {
+		return new ArgumentConversionException(format("Cannot convert JSON value %s to type %s", value, type.getName()));
+	}
+
+	private static ArgumentConversionException unknownProperty(Object name, Class<?> type) {
+		return new ArgumentConversionException(
+			format("Type %s has no property '%s' that could be set from JSON", type.getName(), name));
+	}
+
+}
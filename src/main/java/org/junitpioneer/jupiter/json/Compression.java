@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * The compression format of a JSON source, derived from its name.
+ *
+ * <p>Decompression happens while the parser reads from the returned streams,
+ * so compressed sources are never fully inflated in memory or on disk.</p>
+ */
+enum Compression {
+
+	/**
+	 * The source is plain JSON.
+	 */
+	NONE {
+		@Override
+		Stream<InputStream> decompress(String name, InputStream stream) {
+			return Stream.of(stream);
+		}
+	},
+
+	/**
+	 * The source is a gzip-compressed JSON document (e.g. {@code jedis.json.gz}).
+	 */
+	GZIP {
+		@Override
+		Stream<InputStream> decompress(String name, InputStream stream) {
+			try {
+				return Stream.of(new GZIPInputStream(stream));
+			}
+			catch (IOException e) {
+				closeQuietly(stream, e);
+				throw new UncheckedIOException("Failed to decompress gzip source " + name, e);
+			}
+		}
+	},
+
+	/**
+	 * The source is a zip archive; each of its (non-directory) entries is a JSON document.
+	 */
+	ZIP {
+		@Override
+		Stream<InputStream> decompress(String name, InputStream stream) {
+			ZipInputStream zip = new ZipInputStream(stream);
+			return StreamSupport
+					.stream(new ZipEntrySpliterator(name, zip), false)
+					.onClose(() -> closeQuietly(zip, null));
+		}
+	};
+
+	static Compression forName(String name) {
+		String lowerCaseName = name == null ? "" : name.toLowerCase(Locale.ROOT);
+		if (lowerCaseName.endsWith(".gz"))
+			return GZIP;
+		if (lowerCaseName.endsWith(".zip"))
+			return ZIP;
+		return NONE;
+	}
+
+	/**
+	 * Returns the (decompressed) JSON documents contained in the given {@code stream}.
+	 *
+	 * @param name the name of the source, used for error messages
+	 * @param stream the raw stream of the source
+	 * @return the JSON documents, each as a stream that has to be read before the next one is requested
+	 */
+	abstract Stream<InputStream> decompress(String name, InputStream stream);
+
+	private static void closeQuietly(InputStream stream, Exception cause) {
+		try {
+			stream.close();
+		}
+		catch (IOException e) {
+			if (cause != null)
+				cause.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * Lazily walks a zip archive's entries, so each entry is only inflated
+	 * once the previous one was consumed.
+	 */
+	private static class ZipEntrySpliterator extends Spliterators.AbstractSpliterator<InputStream> {
+
+		private final String name;
+		private final ZipInputStream zip;
+
+		ZipEntrySpliterator(String name, ZipInputStream zip) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.name = name;
+			this.zip = zip;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super InputStream> action) {
+			try {
+				ZipEntry entry = zip.getNextEntry();
+				while (entry != null && entry.isDirectory())
+					entry = zip.getNextEntry();
+				if (entry == null) {
+					zip.close();
+					return false;
+				}
+				action.accept(new ZipEntryInputStream(zip));
+				return true;
+			}
+			catch (IOException e) {
+				closeQuietly(zip, e);
+				throw new UncheckedIOException("Failed to read zip source " + name, e);
+			}
+		}
+
+	}
+
+	/**
+	 * Parsers close the stream they read from, which must not close the whole archive.
+	 */
+	private static class ZipEntryInputStream extends FilterInputStream {
+
+		ZipEntryInputStream(ZipInputStream zip) {
+			super(zip);
+		}
+
+		@Override
+		public void close() throws IOException {
+			((ZipInputStream) in).closeEntry();
+		}
+
+	}
+
+}
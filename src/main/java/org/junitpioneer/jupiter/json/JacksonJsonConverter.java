@@ -18,10 +18,21 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.ServiceLoader;
-
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import org.junit.platform.commons.PreconditionViolationException;
 import org.junitpioneer.internal.PioneerPreconditions;
 
 /**
@@ -53,6 +64,9 @@ class JacksonJsonConverter implements JsonConverter {
 	public Node toNode(InputStream stream) {
 		try {
 			JsonNode jsonNode = objectMapper.readTree(stream);
+			// Jackson represents a document without content as a missing node (or `null`)
+			if (jsonNode == null || jsonNode.isMissingNode())
+				throw emptyDocument();
 			return new JacksonNode(objectMapper, jsonNode);
 		}
 		catch (IOException e) {
@@ -60,6 +74,94 @@ class JacksonJsonConverter implements JsonConverter {
 		}
 	}
 
+	@Override
+	public Stream<Node> toNodes(InputStream stream, String dataLocation, Set<String> properties) {
+		try {
+			JsonParser parser = objectMapper.createParser(stream);
+			try {
+				JsonToken token = parser.nextToken();
+				if (token == null)
+					throw emptyDocument();
+				if (dataLocation != null && !dataLocation.isEmpty())
+					token = moveToValueOf(parser, token, dataLocation);
+				if (token == JsonToken.START_ARRAY)
+					return StreamSupport
+							.stream(new ArrayElementSpliterator(parser, properties), false)
+							.onClose(() -> closeQuietly(parser, null));
+				JsonNode jsonNode = readValue(parser, properties);
+				parser.close();
+				return Stream.of(new JacksonNode(objectMapper, jsonNode));
+			}
+			catch (IOException | RuntimeException e) {
+				closeQuietly(parser, e);
+				throw e;
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to read stream", e);
+		}
+	}
+
+	private static PreconditionViolationException emptyDocument() {
+		return new PreconditionViolationException("JSON source does not contain any JSON value");
+	}
+
+	/**
+	 * Moves the parser to the value of the root object's field with the given name,
+	 * skipping the values of all fields before it without materializing them.
+	 */
+	private static JsonToken moveToValueOf(JsonParser parser, JsonToken token, String fieldName) throws IOException {
+		if (token != JsonToken.START_OBJECT)
+			throw missingDataLocation(token == JsonToken.START_ARRAY ? "[...]" : parser.getText(), fieldName);
+
+		// the skipped values aren't materialized, so the error message can only show the field names
+		StringJoiner skippedFields = new StringJoiner(",", "{", "}");
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String currentName = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if (fieldName.equals(currentName))
+				return value;
+			skippedFields.add("\"" + currentName + "\":...");
+			parser.skipChildren();
+		}
+		throw missingDataLocation(skippedFields.toString(), fieldName);
+	}
+
+	private static PreconditionViolationException missingDataLocation(String node, String fieldName) {
+		// same message as `JsonConverter::toNodes`
+		return new PreconditionViolationException("Node " + node + " does not have data element at " + fieldName);
+	}
+
+	/**
+	 * Reads the value at the parser's current token. If it is an object and {@code properties}
+	 * is given, only these properties are materialized and all others are skipped.
+	 */
+	private JsonNode readValue(JsonParser parser, Set<String> properties) throws IOException {
+		if (properties == null || parser.currentToken() != JsonToken.START_OBJECT)
+			return objectMapper.readTree(parser);
+
+		ObjectNode projection = objectMapper.createObjectNode();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String currentName = parser.getCurrentName();
+			parser.nextToken();
+			if (properties.contains(currentName))
+				projection.set(currentName, objectMapper.readTree(parser));
+			else
+				parser.skipChildren();
+		}
+		return projection;
+	}
+
+	private static void closeQuietly(JsonParser parser, Exception cause) {
+		try {
+			parser.close();
+		}
+		catch (IOException e) {
+			if (cause != null)
+				cause.addSuppressed(e);
+		}
+	}
+
 	@Override
 	public Node toNode(String value, boolean lenient) {
 		try {
@@ -79,4 +181,37 @@ class JacksonJsonConverter implements JsonConverter {
 		return new JacksonJsonConverter(OBJECT_MAPPERS.get(objectMapperId));
 	}
 
+	/**
+	 * Reads one array element after the other, so only the element currently
+	 * requested is ever held in memory (and only the requested properties of it).
+	 */
+	private class ArrayElementSpliterator extends Spliterators.AbstractSpliterator<Node> {
+
+		private final JsonParser parser;
+		private final Set<String> properties;
+
+		ArrayElementSpliterator(JsonParser parser, Set<String> properties) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.parser = parser;
+			this.properties = properties;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Node> action) {
+			try {
+				if (parser.isClosed() || parser.nextToken() == JsonToken.END_ARRAY) {
+					parser.close();
+					return false;
+				}
+				action.accept(new JacksonNode(objectMapper, readValue(parser, properties)));
+				return true;
+			}
+			catch (IOException e) {
+				closeQuietly(parser, e);
+				throw new UncheckedIOException("Failed to read stream", e);
+			}
+		}
+
+	}
+
 }
@@ -88,6 +88,21 @@ class JacksonNode implements Node {
 		return node;
 	}
 
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof JacksonNode))
+			return false;
+		var that = (JacksonNode) o;
+		return node.equals(that.node);
+	}
+
+	@Override
+	public int hashCode() {
+		return node.hashCode();
+	}
+
 	@Override
 	public String toString() {
 		return "JacksonNode{" + "node=" + node + '}';
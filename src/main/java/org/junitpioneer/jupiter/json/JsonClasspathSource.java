@@ -49,6 +49,9 @@ public @interface JsonClasspathSource {
 
 	/**
 	 * The JSON classpath resources to use as the sources of arguments; must not be empty.
+	 *
+	 * <p>Sources ending in {@code .gz} are decompressed with gzip, sources ending in
+	 * {@code .zip} are treated as archives whose entries are each a JSON source.</p>
 	 */
 	String[] value() default {};
 
@@ -35,12 +35,12 @@ class JsonClasspathSourceArgumentsProvider extends AbstractJsonSourceBasedArgume
 	}
 
 	private static Source classpathResource(String resource) {
-		return context -> {
+		return Source.of(resource, context -> {
 			PioneerPreconditions.notBlank(resource, "Classpath resource must not be null or blank");
 			InputStream stream = context.getRequiredTestClass().getClassLoader().getResourceAsStream(resource);
 			PioneerPreconditions.notNull(stream, "Classpath resource [" + resource + "] does not exist");
 			return stream;
-		};
+		});
 	}
 
 }
@@ -11,6 +11,10 @@
 package org.junitpioneer.jupiter.json;
 
 import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.platform.commons.PreconditionViolationException;
 
 /**
  * A JSON Converter which parses an input stream into a Node.
@@ -26,6 +30,35 @@ interface JsonConverter {
 	 */
 	Node toNode(InputStream stream);
 
+	/**
+	 * Convert the given {@code stream} into the {@link Node}s that are used as arguments:
+	 * the element at {@code dataLocation} (or the root if it is empty) or, if that is an array, its elements.
+	 *
+	 * <p>Implementations are encouraged to only materialize the returned nodes and skip
+	 * everything else in the stream while parsing. If {@code properties} is given, object
+	 * nodes may be reduced to these properties.</p>
+	 *
+	 * @param stream the stream that should be converted
+	 * @param dataLocation the name of the element the nodes should be extracted from, may be empty
+	 * @param properties the names of the only properties that are accessed on the returned nodes
+	 * 		or {@code null} if the nodes are converted as a whole
+	 * @return the argument {@link Node}s for the stream, never {@code null}
+	 */
+	default Stream<Node> toNodes(InputStream stream, String dataLocation, Set<String> properties) {
+		Node node = toNode(stream);
+		// @formatter:off
+		Node nodeForExtraction = (dataLocation == null || dataLocation.isEmpty())
+				? node
+				: node.getNode(dataLocation)
+						.orElseThrow(() -> new PreconditionViolationException(
+							"Node " + node + " does not have data element at " + dataLocation));
+		// @formatter:on
+		if (nodeForExtraction.isArray()) {
+			return nodeForExtraction.elements();
+		}
+		return Stream.of(nodeForExtraction);
+	}
+
 	/**
 	 * Convert the given {@code value} into a {@link Node}
 	 *
@@ -12,8 +12,6 @@ package org.junitpioneer.jupiter.json;
 
 class JsonConverterProvider {
 
-	private static final boolean JACKSON_PRESENT = isJacksonObjectMapperClassPresent();
-
 	static boolean isJacksonObjectMapperClassPresent() {
 		try {
 			JsonConverterProvider.class.getClassLoader().loadClass("com.fasterxml.jackson.databind.ObjectMapper");
@@ -25,11 +23,21 @@ class JsonConverterProvider {
 	}
 
 	static JsonConverter getJsonConverter(String objectMapperId) {
-		if (JACKSON_PRESENT) {
+		// checked first, so selecting the built-in converter never loads Jackson
+		if (BuiltInJsonConverter.ID.equals(objectMapperId)) {
+			return BuiltInJsonConverter.getConverter();
+		}
+		if (Jackson.PRESENT) {
 			return JacksonJsonConverter.getConverter(objectMapperId);
 		}
 
 		throw new NoJsonParserConfiguredException();
 	}
 
+	private static class Jackson {
+
+		private static final boolean PRESENT = isJacksonObjectMapperClassPresent();
+
+	}
+
 }
@@ -49,9 +49,28 @@ public @interface JsonFileSource {
 
 	/**
 	 * The JSON files to use as the sources of arguments; must not be empty.
+	 *
+	 * <p>Sources ending in {@code .gz} are decompressed with gzip, sources ending in
+	 * {@code .zip} are treated as archives whose entries are each a JSON source.</p>
 	 */
 	String[] value() default {};
 
+	/**
+	 * Directories with JSON files to use as sources of arguments, in addition to {@link #value()}.
+	 *
+	 * <p>The files in these directories (including subdirectories) whose paths relative to
+	 * the directory match {@link #glob()} are used, ordered by these relative paths.</p>
+	 */
+	String[] directories() default {};
+
+	/**
+	 * The glob pattern that files in {@link #directories()} must match,
+	 * see {@link java.nio.file.FileSystem#getPathMatcher(String)} for the syntax.
+	 * By default, all files ending in {@code .json} directly within the directories are used;
+	 * use e.g. {@code "**.json"} to include subdirectories.
+	 */
+	String glob() default "*.json";
+
 	/**
 	 * The name of the element from which the data should be extracted from.
 	 * If not set the root element will be used.
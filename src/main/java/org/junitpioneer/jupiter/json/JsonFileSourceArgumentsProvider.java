@@ -10,16 +10,21 @@
 
 package org.junitpioneer.jupiter.json;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toUnmodifiableList;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.PreconditionViolationException;
 import org.junitpioneer.internal.PioneerPreconditions;
 
@@ -30,14 +35,49 @@ class JsonFileSourceArgumentsProvider extends AbstractJsonSourceBasedArgumentsPr
 
 	// the reading of the resources / files is heavily inspired by Jupiter's CsvFileArgumentsProvider
 
+	private List<String> directories;
+	private String glob;
+
 	@Override
 	public void accept(JsonFileSource jsonSource) {
 		Stream<Source> files = Arrays.stream(jsonSource.value()).map(JsonFileSourceArgumentsProvider::fileResource);
 		accept(files.collect(toUnmodifiableList()), jsonSource.data());
+		this.directories = List.of(jsonSource.directories());
+		this.glob = jsonSource.glob();
+	}
+
+	@Override
+	protected List<Source> sources(ExtensionContext context) {
+		if (directories.isEmpty())
+			return super.sources(context);
+
+		List<Source> sources = new ArrayList<>(super.sources(context));
+		directories.forEach(directory -> sources.addAll(discoverFiles(directory)));
+		return sources;
+	}
+
+	private List<Source> discoverFiles(String directory) {
+		PioneerPreconditions.notBlank(directory, "Directory must not be null or blank");
+		Path directoryPath = Paths.get(directory);
+		if (!Files.isDirectory(directoryPath))
+			throw new PreconditionViolationException("Directory does not exist: " + directory);
+		PathMatcher matcher = directoryPath.getFileSystem().getPathMatcher("glob:" + glob);
+		try (Stream<Path> paths = Files.walk(directoryPath)) {
+			return paths
+					.filter(Files::isRegularFile)
+					.map(directoryPath::relativize)
+					.filter(matcher::matches)
+					.sorted()
+					.map(file -> fileResource(directoryPath.resolve(file).toString()))
+					.collect(toList());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to list files in directory " + directory, e);
+		}
 	}
 
 	private static Source fileResource(String file) {
-		return context -> {
+		return Source.of(file, context -> {
 			PioneerPreconditions.notBlank(file, "File must not be null or blank");
 			Path filePath = Paths.get(file);
 			if (!Files.exists(filePath))
@@ -48,7 +88,7 @@ class JsonFileSourceArgumentsProvider extends AbstractJsonSourceBasedArgumentsPr
 			catch (IOException e) {
 				throw new UncheckedIOException("Failed to read file " + file, e);
 			}
-		};
+		});
 	}
 
 }
@@ -12,6 +12,7 @@ package org.junitpioneer.jupiter.json;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -30,7 +31,8 @@ class JsonInlineArgumentsProvider extends AbstractJsonArgumentsProvider<JsonSour
 	}
 
 	@Override
-	protected Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter) {
+	protected Stream<Node> provideNodes(ExtensionContext context, JsonConverter jsonConverter,
+			Set<String> properties) {
 		return PioneerPreconditions
 				.notEmpty(this.jsonValues, "value must not be empty")
 				.stream()
@@ -20,7 +20,7 @@ import org.junit.platform.commons.JUnitException;
 public class NoJsonParserConfiguredException extends JUnitException {
 
 	private static final long serialVersionUID = 5399969575022498446L;
-	private static final String ERROR_MESSAGE = "No JSON parsing library found. Make sure a supported JSON parser (currently only Jackson) is on your test class/module path. For more information, see https://junit-pioneer.org/docs/json-argument-source/";
+	private static final String ERROR_MESSAGE = "No JSON parsing library found. Make sure a supported JSON parser (currently only Jackson) is on your test class/module path or select the built-in converter by setting the object mapper ID to 'builtin'. For more information, see https://junit-pioneer.org/docs/json-argument-source/";
 
 	NoJsonParserConfiguredException() {
 		super(ERROR_MESSAGE);
@@ -17,6 +17,9 @@ import java.util.stream.Stream;
 /**
  * A node representing a JSON structure.
  * This class is a Pioneer abstraction which allows using different JSON parsers.
+ *
+ * <p>Implementations must implement {@code equals} and {@code hashCode} so that nodes
+ * representing the same JSON structure are equal.</p>
  */
 interface Node {
 
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.platform.commons.JUnitException;
+import org.junitpioneer.jupiter.json.AbstractJsonSourceBasedArgumentsProvider.Source;
+
+/**
+ * Reads and parses several sources concurrently on a shared, bounded pool of daemon threads,
+ * while still emitting each source's nodes in the order of the sources.
+ *
+ * <p>Only a limited number of sources is read ahead of the consumer and each of them hands
+ * its nodes over in small batches through a bounded queue, so the number of parsed nodes
+ * held in memory stays bounded even for large sources. While a queue is full, its source
+ * isn't read on any thread, so a slow consumer doesn't keep the shared pool from reading
+ * other readers' sources.</p>
+ */
+class ParallelSourceReader extends Spliterators.AbstractSpliterator<Node> implements AutoCloseable {
+
+	static final int BATCH_SIZE = 64;
+	private static final int QUEUED_BATCHES = 4;
+	// marks the end of a source's batches; it's compared by identity, so it must not be a shared empty list
+	private static final List<Node> END = new ArrayList<>(0);
+
+	private final Iterator<Source> sources;
+	private final Function<Source, Stream<Node>> reader;
+	private final ExecutorService executor;
+	private final int readAhead;
+	private final Deque<SourceTask> pending = new ArrayDeque<>();
+	private Iterator<Node> batch = Collections.emptyIterator();
+
+	ParallelSourceReader(List<Source> sources, Function<Source, Stream<Node>> reader) {
+		this(sources, reader, SharedExecutor.INSTANCE, 2 * SharedExecutor.THREADS);
+	}
+
+	ParallelSourceReader(List<Source> sources, Function<Source, Stream<Node>> reader, ExecutorService executor,
+			int readAhead) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.sources = sources.iterator();
+		this.reader = reader;
+		this.executor = executor;
+		this.readAhead = readAhead;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super Node> action) {
+		while (!batch.hasNext()) {
+			if (!nextBatch()) {
+				close();
+				return false;
+			}
+		}
+		action.accept(batch.next());
+		return true;
+	}
+
+	private boolean nextBatch() {
+		while (pending.size() < readAhead && sources.hasNext()) {
+			SourceTask task = new SourceTask(sources.next());
+			task.submit();
+			pending.add(task);
+		}
+		SourceTask current = pending.peek();
+		if (current == null)
+			return false;
+		List<Node> nodes = current.take();
+		if (nodes == END) {
+			pending.poll();
+			current.rethrowFailure();
+		}
+		else
+			batch = nodes.iterator();
+		return true;
+	}
+
+	@Override
+	public void close() {
+		// the executor is shared, so only this reader's tasks are cancelled
+		SourceTask task;
+		while ((task = pending.poll()) != null)
+			task.cancel();
+	}
+
+	/**
+	 * Reads a single source and hands its nodes to the consumer in batches.
+	 * Once all nodes were handed over (or reading failed), {@link #END} follows.
+	 *
+	 * <p>The executor is shared by all readers, so a task never blocks a pool thread while it waits
+	 * for the consumer: if the queue is full, the task stops and the consumer resubmits it once it
+	 * took a batch. Only one run of a task is scheduled at any time, which {@code scheduled} ensures.</p>
+	 */
+	private class SourceTask implements Runnable {
+
+		private final Source source;
+		private final BlockingQueue<List<Node>> batches = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+		private final AtomicBoolean scheduled = new AtomicBoolean(true);
+		private volatile boolean cancelled;
+		private volatile Throwable failure;
+		private Future<?> future;
+
+		// only accessed by the task's runs, which never overlap
+		private Stream<Node> nodes;
+		private Iterator<Node> iterator;
+		private List<Node> nextBatch;
+
+		SourceTask(Source source) {
+			this.source = source;
+		}
+
+		void submit() {
+			future = executor.submit(this);
+		}
+
+		@Override
+		public void run() {
+			while (!cancelled) {
+				if (nextBatch == null)
+					nextBatch = readBatch();
+				if (batches.offer(nextBatch)) {
+					if (nextBatch == END)
+						return;
+					nextBatch = null;
+					continue;
+				}
+				// the queue is full, so stop until the consumer takes a batch - unless it already did
+				// or the reader was closed in the meantime, in which case this run has to go on
+				scheduled.set(false);
+				boolean goOn = cancelled || batches.remainingCapacity() > 0;
+				if (!goOn || !scheduled.compareAndSet(false, true))
+					return;
+			}
+			closeNodes();
+		}
+
+		private List<Node> readBatch() {
+			try {
+				if (iterator == null) {
+					nodes = reader.apply(source);
+					iterator = nodes.iterator();
+				}
+				List<Node> batch = new ArrayList<>(BATCH_SIZE);
+				while (batch.size() < BATCH_SIZE && iterator.hasNext())
+					batch.add(iterator.next());
+				if (!batch.isEmpty())
+					return batch;
+				nodes.close();
+			}
+			catch (Throwable ex) { // NOSONAR - the consumer rethrows the failure
+				failure = ex;
+				closeNodes();
+			}
+			return END;
+		}
+
+		private void closeNodes() {
+			try {
+				if (nodes != null)
+					nodes.close();
+			}
+			catch (RuntimeException ex) {
+				// nobody waits for the remaining nodes anymore or a failure is already reported
+			}
+		}
+
+		List<Node> take() {
+			List<Node> taken;
+			try {
+				taken = batches.take();
+			}
+			catch (InterruptedException ex) {
+				close();
+				Thread.currentThread().interrupt();
+				throw new JUnitException("Interrupted while reading JSON sources", ex);
+			}
+			// there's room in the queue again, so resume the task if it stopped because it was full
+			if (taken != END && scheduled.compareAndSet(false, true))
+				submit();
+			return taken;
+		}
+
+		void cancel() {
+			cancelled = true;
+			future.cancel(true);
+			// if no run is scheduled, nobody else closes the source
+			if (scheduled.compareAndSet(false, true))
+				closeNodes();
+		}
+
+		void rethrowFailure() {
+			if (failure == null)
+				return;
+			close();
+			if (failure instanceof RuntimeException)
+				throw (RuntimeException) failure;
+			if (failure instanceof Error)
+				throw (Error) failure;
+			throw new JUnitException("Failed to read JSON source", failure);
+		}
+
+	}
+
+	/**
+	 * The pool that all readers share. It's created on first use, has at most one thread per
+	 * processor, and lets idle threads time out, so it doesn't keep threads around between tests.
+	 */
+	private static final class SharedExecutor {
+
+		private static final int THREADS = Runtime.getRuntime().availableProcessors();
+		private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+		private static final ExecutorService INSTANCE = newExecutor();
+
+		private static ExecutorService newExecutor() {
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 10, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), SharedExecutor::newDaemonThread);
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+		private static Thread newDaemonThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "pioneer-json-source-reader-" + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * The durations of test classes and methods in previous runs as recorded in the timing baselines file
+ * by {@link org.junitpioneer.jupiter.Stopwatch @Stopwatch}.
+ *
+ * <p>A test's duration is the median of its recorded results. A method's duration is the sum of its tests'
+ * durations (e.g. all invocations of a parameterized test) and a class's duration is the sum of the durations of
+ * all tests it contains, including those of its nested classes.</p>
+ */
+public final class TestDurations {
+
+	public static final String UNKNOWN_PARAM = "org.junitpioneer.jupiter.timing.order.unknown";
+
+	static final String DEFAULT_UNKNOWN = "first";
+
+	// the durations file is read for each class whose methods are ordered, so it's cached
+	private static CachedDurations cache;
+
+	// keys are class names (e.g. `org.example.Outer$Inner`) and method keys (see `key(Class, Method)`),
+	// values are durations in nanoseconds
+	private final Map<String, Double> durations;
+	private final double unknownNanos;
+
+	TestDurations(Map<String, Double> durations, double unknownNanos) {
+		this.durations = durations;
+		this.unknownNanos = unknownNanos;
+	}
+
+	/**
+	 * Loads the durations from the timing baselines file configured by the given configuration parameters.
+	 * Unlike {@link TimingBaselines}, this doesn't require the baselines to be enabled.
+	 */
+	public static TestDurations load(Function<String, Optional<String>> configuration) {
+		Path file = Paths.get(configuration.apply(TimingBaselines.FILE_PARAM).orElse(TimingBaselines.DEFAULT_FILE));
+		double unknownNanos = parseUnknown(configuration.apply(UNKNOWN_PARAM).orElse(DEFAULT_UNKNOWN));
+		return new TestDurations(loadCached(file), unknownNanos);
+	}
+
+	private static double parseUnknown(String unknown) {
+		String trimmed = unknown.trim().toLowerCase(Locale.ROOT);
+		if (trimmed.equals("first"))
+			return Double.POSITIVE_INFINITY;
+		if (trimmed.equals("last"))
+			return Double.NEGATIVE_INFINITY;
+		try {
+			double millis = Double.parseDouble(trimmed);
+			if (millis >= 0)
+				return millis * 1_000_000;
+		}
+		catch (NumberFormatException ex) {
+			// fall through to the exception below
+		}
+		throw new ExtensionConfigurationException(
+			String.format("The configuration parameter %s must be `first`, `last`, or a number of milliseconds, "
+					+ "but was `%s`.", UNKNOWN_PARAM, unknown));
+	}
+
+	private static synchronized Map<String, Double> loadCached(Path file) {
+		FileTime lastModified = lastModified(file);
+		if (cache == null || !cache.file.equals(file) || !Objects.equals(cache.lastModified, lastModified))
+			cache = new CachedDurations(file, lastModified, aggregate(TimingBaselines.readFile(file)));
+		return cache.durations;
+	}
+
+	private static FileTime lastModified(Path file) {
+		try {
+			return Files.exists(file) ? Files.getLastModifiedTime(file) : null;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read timing baselines file " + file, ex);
+		}
+	}
+
+	static Map<String, Double> aggregate(Map<String, Map<TimingBaselines.Metric, List<Double>>> results) {
+		Map<String, Double> durations = new HashMap<>();
+		results.forEach((testId, metrics) -> {
+			List<Double> values = metrics.get(TimingBaselines.Metric.DURATION);
+			if (values == null || values.isEmpty())
+				return;
+			double duration = TimingBaselines.median(values);
+			String classKey = null;
+			String methodKey = null;
+			for (UniqueId.Segment segment : UniqueId.parse(testId).getSegments()) {
+				switch (segment.getType()) {
+					case "class":
+						classKey = segment.getValue();
+						durations.merge(classKey, duration, Double::sum);
+						break;
+					case "nested-class":
+						classKey = classKey + "$" + segment.getValue();
+						durations.merge(classKey, duration, Double::sum);
+						break;
+					case "method":
+					case "test-template":
+					case "test-factory":
+						if (methodKey == null && classKey != null) {
+							methodKey = classKey + "#" + segment.getValue();
+							durations.merge(methodKey, duration, Double::sum);
+						}
+						break;
+					default:
+						// other segments (e.g. invocations) belong to the enclosing method
+				}
+			}
+		});
+		return durations;
+	}
+
+	/**
+	 * @return the key of the given class
+	 */
+	public static String key(Class<?> testClass) {
+		return testClass.getName();
+	}
+
+	/**
+	 * @return the key of the given method when it's executed as part of the given test class
+	 *         (which may be a subclass of the method's declaring class)
+	 */
+	public static String key(Class<?> testClass, Method method) {
+		// this matches how Jupiter creates the unique IDs of methods
+		String parameterTypes = Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(joining(", "));
+		return testClass.getName() + "#" + method.getName() + "(" + parameterTypes + ")";
+	}
+
+	/**
+	 * Sorts the given items by their durations, longest first. Items without a recorded duration
+	 * are treated as configured by {@value #UNKNOWN_PARAM}. The sort is stable, so items with the
+	 * same duration keep their relative order.
+	 */
+	public <T> void sortLongestFirst(List<? extends T> items, Function<? super T, String> key) {
+		items.sort(Comparator.comparingDouble((T item) -> duration(key.apply(item))).reversed());
+	}
+
+	double duration(String key) {
+		return durations.getOrDefault(key, unknownNanos);
+	}
+
+	private static final class CachedDurations {
+
+		private final Path file;
+		private final FileTime lastModified;
+		private final Map<String, Double> durations;
+
+		private CachedDurations(Path file, FileTime lastModified, Map<String, Double> durations) {
+			this.file = file;
+			this.lastModified = lastModified;
+			this.durations = durations;
+		}
+
+	}
+
+}
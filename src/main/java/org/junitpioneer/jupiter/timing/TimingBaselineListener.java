@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.junit.platform.engine.TestExecutionResult.Status.SUCCESSFUL;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * This listener records the durations of {@link org.junitpioneer.jupiter.Stopwatch @Stopwatch} tests and the
+ * throughputs of {@link org.junitpioneer.jupiter.BenchmarkTest @BenchmarkTest} tests in a baseline file
+ * that later runs compare their results to. Only results of successful tests are recorded.
+ * After all tests are finished, the results are merged into the file (which other JVMs may update at the
+ * same time) and regressions are logged as warnings.
+ *
+ * <p>The listener is only active if the configuration parameter {@value TimingBaselines#ENABLED_PARAM}
+ * is {@code true}.</p>
+ */
+public class TimingBaselineListener implements TestExecutionListener {
+
+	private static final Logger LOG = Logger.getLogger(TimingBaselineListener.class.getName());
+
+	private final ConcurrentMap<String, Map<TimingBaselines.Metric, Double>> pendingResults = new ConcurrentHashMap<>();
+	private final List<String> regressions = new ArrayList<>();
+
+	// `null` if the baselines aren't enabled
+	private volatile TimingBaselines baselines;
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		baselines = TimingBaselines.load(testPlan.getConfigurationParameters()::get).orElse(null);
+	}
+
+	@Override
+	public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		if (baselines == null)
+			return;
+
+		entry.getKeyValuePairs().forEach((key, value) -> {
+			Optional<TimingBaselines.Metric> metric = TimingBaselines.Metric.fromReportKey(key);
+			metric
+					.ifPresent(presentMetric -> pendingResults
+							.computeIfAbsent(testIdentifier.getUniqueId(),
+								__ -> new EnumMap<>(TimingBaselines.Metric.class))
+							.put(presentMetric, Double.valueOf(value)));
+			if (key.equals(TimingBaselines.REGRESSION_KEY))
+				addRegression(value);
+		});
+	}
+
+	private synchronized void addRegression(String regression) {
+		regressions.add(regression);
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		if (baselines == null)
+			return;
+
+		// this relies on report entries being published before the execution finishes
+		Map<TimingBaselines.Metric, Double> results = pendingResults.remove(testIdentifier.getUniqueId());
+		if (results != null && testExecutionResult.getStatus() == SUCCESSFUL)
+			results.forEach((metric, value) -> baselines.record(testIdentifier.getUniqueId(), metric, value));
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		if (baselines == null)
+			return;
+
+		baselines.write();
+		synchronized (this) {
+			if (!regressions.isEmpty())
+				LOG
+						.warning(() -> String
+								.format("%d timing regression(s) compared to the baselines in %s:%n%s",
+									regressions.size(), baselines.file(), String.join(System.lineSeparator(), regressions)));
+		}
+	}
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * The results of the last runs of each measured test, which are stored in a file, and the
+ * logic to detect regressions against them.
+ *
+ * <p>A result is a regression if it's worse than the median of the previous results by more
+ * than {@code k} times their median absolute deviation (MAD, scaled to be comparable to a
+ * standard deviation). To not flag every little change of very stable results, the MAD is
+ * assumed to be at least 1% of the median.</p>
+ */
+public final class TimingBaselines {
+
+	public static final String ENABLED_PARAM = "org.junitpioneer.jupiter.timing.baseline.enabled";
+	public static final String FILE_PARAM = "org.junitpioneer.jupiter.timing.baseline.file";
+	public static final String HISTORY_PARAM = "org.junitpioneer.jupiter.timing.baseline.history";
+	public static final String MINIMUM_RUNS_PARAM = "org.junitpioneer.jupiter.timing.baseline.minimumruns";
+	public static final String THRESHOLD_PARAM = "org.junitpioneer.jupiter.timing.baseline.threshold";
+	public static final String MODE_PARAM = "org.junitpioneer.jupiter.timing.baseline.mode";
+
+	public static final String REGRESSION_KEY = "TimingBaselineRegression";
+
+	static final String DEFAULT_FILE = "build/junit-pioneer/timing-baselines.tsv";
+	static final int DEFAULT_HISTORY = 10;
+	static final int DEFAULT_MINIMUM_RUNS = 5;
+	static final double DEFAULT_THRESHOLD = 3;
+
+	// scales the MAD of normally distributed values to their standard deviation
+	private static final double MAD_SCALE = 1.4826;
+	private static final double MINIMUM_RELATIVE_MAD = 0.01;
+
+	private static final Namespace NAMESPACE = Namespace.create(TimingBaselines.class);
+	private static final String HEADER = "# JUnit Pioneer timing baselines: test ID, metric, and the results of the last runs (oldest first)";
+	// file locks are held on behalf of the entire JVM, so writers within one JVM are serialized by this monitor
+	private static final Object WRITE_LOCK = new Object();
+
+	/**
+	 * The measured values that are compared to baselines.
+	 */
+	public enum Metric {
+
+		/**
+		 * The duration of a test in nanoseconds; higher is worse.
+		 */
+		DURATION("TimingBaselineDuration", "duration-ns", true),
+
+		/**
+		 * The throughput of a benchmark in operations per second; lower is worse.
+		 */
+		THROUGHPUT("TimingBaselineThroughput", "throughput-ops-per-s", false);
+
+		private final String reportKey;
+		private final String fileName;
+		private final boolean higherIsWorse;
+
+		Metric(String reportKey, String fileName, boolean higherIsWorse) {
+			this.reportKey = reportKey;
+			this.fileName = fileName;
+			this.higherIsWorse = higherIsWorse;
+		}
+
+		/**
+		 * The key of the report entries that publish this metric's values.
+		 */
+		public String reportKey() {
+			return reportKey;
+		}
+
+		static Optional<Metric> fromReportKey(String key) {
+			return Arrays.stream(values()).filter(metric -> metric.reportKey.equals(key)).findFirst();
+		}
+
+		static Metric fromFileName(String name) {
+			return Arrays
+					.stream(values())
+					.filter(metric -> metric.fileName.equals(name))
+					.findFirst()
+					.orElseThrow(() -> new IllegalArgumentException("Unknown metric: " + name));
+		}
+
+	}
+
+	private final Path file;
+	private final int history;
+	private final int minimumRuns;
+	private final double threshold;
+	private final boolean failOnRegression;
+	// keys are test IDs, then metrics
+	private final Map<String, Map<Metric, List<Double>>> results;
+	// the results of this run, which are merged into the file when it's written
+	private final Map<String, Map<Metric, List<Double>>> recorded = new TreeMap<>();
+
+	private TimingBaselines(Path file, int history, int minimumRuns, double threshold, boolean failOnRegression,
+			Map<String, Map<Metric, List<Double>>> results) {
+		this.file = file;
+		this.history = history;
+		this.minimumRuns = minimumRuns;
+		this.threshold = threshold;
+		this.failOnRegression = failOnRegression;
+		this.results = results;
+	}
+
+	/**
+	 * Loads the baselines as configured by the given configuration parameters.
+	 *
+	 * @return the baselines or an empty {@code Optional} if they're not enabled
+	 */
+	static Optional<TimingBaselines> load(Function<String, Optional<String>> configuration) {
+		boolean enabled = configuration.apply(ENABLED_PARAM).map(Boolean::parseBoolean).orElse(false);
+		if (!enabled)
+			return Optional.empty();
+
+		Path file = Paths.get(configuration.apply(FILE_PARAM).orElse(DEFAULT_FILE));
+		int history = parse(configuration, HISTORY_PARAM, Integer::parseInt, DEFAULT_HISTORY);
+		int minimumRuns = parse(configuration, MINIMUM_RUNS_PARAM, Integer::parseInt, DEFAULT_MINIMUM_RUNS);
+		double threshold = parse(configuration, THRESHOLD_PARAM, Double::parseDouble, DEFAULT_THRESHOLD);
+		String mode = configuration.apply(MODE_PARAM).orElse("warn").trim().toLowerCase(Locale.ROOT);
+		if (history < 1 || minimumRuns < 1 || minimumRuns > history || threshold <= 0)
+			throw new ExtensionConfigurationException(String
+					.format("Timing baselines require that 1 <= %s <= %s and that %s be positive.",
+						MINIMUM_RUNS_PARAM, HISTORY_PARAM, THRESHOLD_PARAM));
+		if (!mode.equals("warn") && !mode.equals("fail"))
+			throw new ExtensionConfigurationException(
+				String.format("The configuration parameter %s must be `warn` or `fail`, but was `%s`.", MODE_PARAM,
+					mode));
+		return Optional
+				.of(new TimingBaselines(file, history, minimumRuns, threshold, mode.equals("fail"), readFile(file)));
+	}
+
+	private static <T> T parse(Function<String, Optional<String>> configuration, String parameter,
+			Function<String, T> parser, T defaultValue) {
+		try {
+			return configuration.apply(parameter).map(String::trim).map(parser).orElse(defaultValue);
+		}
+		catch (NumberFormatException ex) {
+			throw new ExtensionConfigurationException(
+				String.format("The configuration parameter %s must be a number.", parameter), ex);
+		}
+	}
+
+	static Map<String, Map<Metric, List<Double>>> readFile(Path file) {
+		Map<String, Map<Metric, List<Double>>> results = new TreeMap<>();
+		if (!Files.exists(file))
+			return results;
+		try {
+			for (String line : Files.readAllLines(file, UTF_8)) {
+				if (line.isBlank() || line.startsWith("#"))
+					continue;
+				String[] columns = line.split("\t");
+				if (columns.length != 3)
+					throw new IllegalArgumentException("Malformed line in timing baselines file " + file + ": " + line);
+				List<Double> values = new ArrayList<>();
+				for (String value : columns[2].trim().split(" "))
+					values.add(Double.valueOf(value));
+				results
+						.computeIfAbsent(columns[0], __ -> new TreeMap<>())
+						.put(Metric.fromFileName(columns[1]), values);
+			}
+			return results;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read timing baselines file " + file, ex);
+		}
+	}
+
+	/**
+	 * Publishes the given value for the listener to record and compares it to the baseline.
+	 * A regression either fails the test or is published as a warning.
+	 */
+	public static void check(ExtensionContext context, Metric metric, double value) {
+		Optional<TimingBaselines> baselines = loadOnce(context);
+		if (baselines.isEmpty())
+			return;
+
+		context.publishReportEntry(metric.reportKey(), format(value));
+		Optional<String> regression = baselines.get().findRegression(context.getUniqueId(), metric, value);
+		if (regression.isPresent()) {
+			String message = String.format("'%s' regressed: %s", context.getDisplayName(), regression.get());
+			if (baselines.get().failOnRegression)
+				throw new AssertionFailedError(message);
+			context.publishReportEntry(REGRESSION_KEY, message);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Optional<TimingBaselines> loadOnce(ExtensionContext context) {
+		// the file is only read once per run
+		return (Optional<TimingBaselines>) context
+				.getRoot()
+				.getStore(NAMESPACE)
+				.getOrComputeIfAbsent(TimingBaselines.class, __ -> load(context::getConfigurationParameter));
+	}
+
+	/**
+	 * @return a description of the regression, if the value is one
+	 */
+	synchronized Optional<String> findRegression(String testId, Metric metric, double value) {
+		List<Double> previous = results.getOrDefault(testId, Map.of()).getOrDefault(metric, List.of());
+		if (previous.size() < minimumRuns)
+			return Optional.empty();
+
+		double median = median(previous);
+		List<Double> deviations = new ArrayList<>();
+		for (double result : previous)
+			deviations.add(Math.abs(result - median));
+		double mad = Math.max(MAD_SCALE * median(deviations), MINIMUM_RELATIVE_MAD * Math.abs(median));
+		double limit = metric.higherIsWorse ? median + threshold * mad : median - threshold * mad;
+		boolean regressed = metric.higherIsWorse ? value > limit : value < limit;
+		if (!regressed)
+			return Optional.empty();
+
+		return Optional
+				.of(String
+						.format(Locale.ROOT,
+							"%s [%.3f] is %s than the baseline's limit [%.3f] (median [%.3f] %s %s x MAD [%.3f] of the last %d runs)",
+							metric.fileName, value, metric.higherIsWorse ? "higher" : "lower", limit, median,
+							metric.higherIsWorse ? "+" : "-", format(threshold), mad, previous.size()));
+	}
+
+	static double median(List<Double> values) {
+		List<Double> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		int middle = sorted.size() / 2;
+		return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+	}
+
+	/**
+	 * Appends the given value to the test's results, dropping the oldest ones beyond the configured history.
+	 */
+	synchronized void record(String testId, Metric metric, double value) {
+		append(results, testId, metric, List.of(value));
+		append(recorded, testId, metric, List.of(value));
+	}
+
+	private void append(Map<String, Map<Metric, List<Double>>> target, String testId, Metric metric,
+			List<Double> newValues) {
+		List<Double> values = target
+				.computeIfAbsent(testId, __ -> new TreeMap<>())
+				.computeIfAbsent(metric, __ -> new ArrayList<>());
+		values.addAll(newValues);
+		if (values.size() > history)
+			values.subList(0, values.size() - history).clear();
+	}
+
+	synchronized List<Double> results(String testId, Metric metric) {
+		return List.copyOf(results.getOrDefault(testId, Map.of()).getOrDefault(metric, List.of()));
+	}
+
+	/**
+	 * Merges the results recorded during this run into the file, replacing it atomically (if the file system
+	 * supports that).
+	 *
+	 * <p>Other JVMs may write the same file at the same time (e.g. parallel forks of a build), so the file is
+	 * re-read while holding a lock on a sibling {@code .lock} file and this run's results are appended to
+	 * whatever it contains by then. That way, no run's results are lost.</p>
+	 */
+	void write() {
+		Path absoluteFile = file.toAbsolutePath();
+		Path lockFile = absoluteFile.resolveSibling(absoluteFile.getFileName() + ".lock");
+		synchronized (WRITE_LOCK) {
+			try {
+				Files.createDirectories(absoluteFile.getParent());
+				try (FileChannel channel = FileChannel.open(lockFile, CREATE, WRITE)) {
+					// the lock is released when the channel is closed
+					channel.lock();
+					writeMerged(absoluteFile.getParent());
+				}
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to write timing baselines file " + file, ex);
+			}
+		}
+	}
+
+	private synchronized void writeMerged(Path directory) throws IOException {
+		Map<String, Map<Metric, List<Double>>> merged = readFile(file);
+		recorded
+				.forEach((testId, metrics) -> metrics
+						.forEach((metric, values) -> append(merged, testId, metric, values)));
+
+		List<String> lines = new ArrayList<>();
+		lines.add(HEADER);
+		merged
+				.forEach((testId, metrics) -> metrics
+						.forEach((metric, values) -> lines
+								.add(testId + "\t" + metric.fileName + "\t"
+										+ values.stream().map(TimingBaselines::format).collect(joining(" ")))));
+		Path temporaryFile = Files.createTempFile(directory, "timing-baselines", ".tmp");
+		Files.write(temporaryFile, lines, UTF_8);
+		try {
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		results.clear();
+		results.putAll(merged);
+		recorded.clear();
+	}
+
+	Path file() {
+		return file;
+	}
+
+	private static String format(double value) {
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junitpioneer.internal.LogHistogram;
+
+/**
+ * Aggregates the durations of a test run into a report: the slowest tests and classes,
+ * the distribution of test durations, and how much time containers spend on setup and teardown.
+ *
+ * <p>Memory is bounded regardless of the number of tests because the slowest tests and classes are
+ * kept in min-heaps of a fixed size and the distribution is kept in a histogram.</p>
+ */
+final class TimingReport {
+
+	static final String ENABLED_PARAM = "org.junitpioneer.jupiter.timing.report.enabled";
+	static final String FILE_PARAM = "org.junitpioneer.jupiter.timing.report.file";
+	static final String TOP_PARAM = "org.junitpioneer.jupiter.timing.report.top";
+
+	static final String DEFAULT_FILE = "build/junit-pioneer/timing-report.json";
+	static final int DEFAULT_TOP = 10;
+
+	// upper bounds (exclusive) of the distribution's buckets; the last bucket has no upper bound
+	private static final long[] BUCKET_BOUNDS = { 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+			10_000_000_000L };
+	private static final String[] BUCKET_NAMES = { "< 1 ms", "1-10 ms", "10-100 ms", "100 ms - 1 s", "1-10 s",
+			">= 10 s" };
+
+	private static final Comparator<Timing> BY_DURATION = Comparator
+			.comparingLong((Timing timing) -> timing.nanos)
+			// break ties by ID, so the report is deterministic
+			.thenComparing(timing -> timing.uniqueId, Comparator.reverseOrder());
+
+	private final Path file;
+	private final int top;
+
+	// min-heaps, so the fastest of the slowest tests is evicted first
+	private final PriorityQueue<Timing> slowestTests = new PriorityQueue<>(BY_DURATION);
+	private final PriorityQueue<Timing> slowestClasses = new PriorityQueue<>(BY_DURATION);
+	private final LogHistogram testDurations = new LogHistogram();
+	private final long[] buckets = new long[BUCKET_NAMES.length];
+
+	private long testNanos;
+	private long containers;
+	private long overheadNanos;
+	private long totalNanos;
+
+	TimingReport(Path file, int top) {
+		this.file = file;
+		this.top = top;
+	}
+
+	/**
+	 * Creates a report as configured by the given configuration parameters.
+	 *
+	 * @return the report or an empty {@code Optional} if it's not enabled
+	 */
+	static Optional<TimingReport> load(Function<String, Optional<String>> configuration) {
+		boolean enabled = configuration.apply(ENABLED_PARAM).map(Boolean::parseBoolean).orElse(false);
+		if (!enabled)
+			return Optional.empty();
+
+		Path file = Paths.get(configuration.apply(FILE_PARAM).orElse(DEFAULT_FILE));
+		int top;
+		try {
+			top = configuration.apply(TOP_PARAM).map(String::trim).map(Integer::parseInt).orElse(DEFAULT_TOP);
+		}
+		catch (NumberFormatException ex) {
+			throw new ExtensionConfigurationException(
+				String.format(Locale.ROOT, "The configuration parameter %s must be a number.", TOP_PARAM), ex);
+		}
+		if (top < 0)
+			throw new ExtensionConfigurationException(
+				String.format(Locale.ROOT, "The configuration parameter %s must not be negative.", TOP_PARAM));
+		return Optional.of(new TimingReport(file, top));
+	}
+
+	synchronized void recordTest(String uniqueId, String name, long nanos) {
+		testNanos += nanos;
+		testDurations.record(nanos);
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS.length && nanos >= BUCKET_BOUNDS[bucket])
+			bucket++;
+		buckets[bucket]++;
+		offer(slowestTests, new Timing(uniqueId, name, nanos, 0));
+	}
+
+	/**
+	 * @param childNanos the summed up durations of the container's children; whatever else the container
+	 *                   took was spent on its setup and teardown
+	 */
+	synchronized void recordContainer(String uniqueId, String name, boolean isClass, long nanos, long childNanos) {
+		containers++;
+		// during parallel execution, children overlap and can take longer than their container
+		long overhead = Math.max(0, nanos - childNanos);
+		overheadNanos += overhead;
+		if (isClass)
+			offer(slowestClasses, new Timing(uniqueId, name, nanos, overhead));
+	}
+
+	private void offer(PriorityQueue<Timing> slowest, Timing timing) {
+		if (top == 0)
+			return;
+		if (slowest.size() < top)
+			slowest.add(timing);
+		else if (BY_DURATION.compare(timing, slowest.peek()) > 0) {
+			slowest.poll();
+			slowest.add(timing);
+		}
+	}
+
+	synchronized void finish(long totalNanos) {
+		this.totalNanos = totalNanos;
+	}
+
+	synchronized List<Timing> slowestTests() {
+		return sortedDescending(slowestTests);
+	}
+
+	synchronized List<Timing> slowestClasses() {
+		return sortedDescending(slowestClasses);
+	}
+
+	private static List<Timing> sortedDescending(PriorityQueue<Timing> slowest) {
+		List<Timing> sorted = new ArrayList<>(slowest);
+		sorted.sort(BY_DURATION.reversed());
+		return sorted;
+	}
+
+	/**
+	 * @return a human-readable summary of the report
+	 */
+	synchronized String summary() {
+		String newLine = System.lineSeparator();
+		StringBuilder summary = new StringBuilder();
+		summary
+				.append(String
+						.format(Locale.ROOT,
+							"Timing report of %d tests in %s s: tests took %s s, container setup and teardown took %s s (%.1f%%)",
+							testDurations.count(), seconds(totalNanos), seconds(testNanos), seconds(overheadNanos),
+							overheadRatio() * 100));
+		if (testDurations.count() > 0) {
+			summary
+					.append(newLine)
+					.append(String
+							.format(Locale.ROOT, "Test durations: p50 %s ms, p90 %s ms, p99 %s ms, max %s ms",
+								millis(testDurations.percentile(50)), millis(testDurations.percentile(90)),
+								millis(testDurations.percentile(99)), millis(testDurations.max())));
+			summary.append(newLine).append("Distribution: ");
+			for (int bucket = 0; bucket < buckets.length; bucket++)
+				summary.append(bucket == 0 ? "" : ", ").append(BUCKET_NAMES[bucket]).append(": ").append(buckets[bucket]);
+		}
+		appendSlowest(summary, "Slowest tests:", slowestTests());
+		appendSlowest(summary, "Slowest classes:", slowestClasses());
+		return summary.append(newLine).append("Written to ").append(file.toAbsolutePath()).toString();
+	}
+
+	private static void appendSlowest(StringBuilder summary, String title, List<Timing> slowest) {
+		if (slowest.isEmpty())
+			return;
+		summary.append(System.lineSeparator()).append(title);
+		for (int i = 0; i < slowest.size(); i++)
+			summary
+					.append(System.lineSeparator())
+					.append(String
+							.format(Locale.ROOT, "%3d. %12s ms  %s", i + 1, millis(slowest.get(i).nanos),
+								slowest.get(i).name));
+	}
+
+	/**
+	 * Writes the report as JSON to the file.
+	 */
+	synchronized void write() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"totalNanos\": ").append(totalNanos).append(",\n");
+		json.append("  \"tests\": {\n");
+		json.append("    \"count\": ").append(testDurations.count()).append(",\n");
+		json.append("    \"totalNanos\": ").append(testNanos).append(",\n");
+		json.append("    \"percentileNanos\": {");
+		json
+				.append(String
+						.format(Locale.ROOT, " \"50\": %d, \"90\": %d, \"99\": %d, \"99.9\": %d, \"100\": %d },\n",
+							testDurations.percentile(50), testDurations.percentile(90), testDurations.percentile(99),
+							testDurations.percentile(99.9), testDurations.max()));
+		json.append("    \"distribution\": [\n");
+		for (int bucket = 0; bucket < buckets.length; bucket++) {
+			json
+					.append(String
+							.format(Locale.ROOT, "      { \"fromNanos\": %d, \"toNanos\": %s, \"count\": %d }",
+								bucket == 0 ? 0 : BUCKET_BOUNDS[bucket - 1],
+								bucket < BUCKET_BOUNDS.length ? String.valueOf(BUCKET_BOUNDS[bucket]) : "null",
+								buckets[bucket]))
+					.append(bucket < buckets.length - 1 ? ",\n" : "\n");
+		}
+		json.append("    ]\n");
+		json.append("  },\n");
+		json.append("  \"containers\": {\n");
+		json.append("    \"count\": ").append(containers).append(",\n");
+		json.append("    \"overheadNanos\": ").append(overheadNanos).append(",\n");
+		json.append("    \"overheadRatio\": ").append(String.format(Locale.ROOT, "%.4f", overheadRatio())).append("\n");
+		json.append("  },\n");
+		json.append("  \"slowestTests\": ").append(toJson(slowestTests(), false)).append(",\n");
+		json.append("  \"slowestClasses\": ").append(toJson(slowestClasses(), true)).append("\n");
+		json.append("}\n");
+		try {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			Files.write(file, json.toString().getBytes(UTF_8));
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to write timing report " + file, ex);
+		}
+	}
+
+	private static String toJson(List<Timing> timings, boolean withOverhead) {
+		if (timings.isEmpty())
+			return "[]";
+		return timings
+				.stream()
+				.map(timing -> String
+						.format(Locale.ROOT, "    { \"uniqueId\": %s, \"name\": %s, \"nanos\": %d%s }",
+							quote(timing.uniqueId), quote(timing.name), timing.nanos,
+							withOverhead ? ", \"overheadNanos\": " + timing.overheadNanos : ""))
+				.collect(joining(",\n", "[\n", "\n  ]"));
+	}
+
+	private static String quote(String value) {
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char character : value.toCharArray()) {
+			if (character == '"' || character == '\\')
+				quoted.append('\\').append(character);
+			else if (character < 0x20)
+				quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) character));
+			else
+				quoted.append(character);
+		}
+		return quoted.append('"').toString();
+	}
+
+	private double overheadRatio() {
+		long total = testNanos + overheadNanos;
+		return total == 0 ? 0 : (double) overheadNanos / total;
+	}
+
+	Path file() {
+		return file;
+	}
+
+	private static String seconds(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e9);
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+
+	static final class Timing {
+
+		final String uniqueId;
+		final String name;
+		final long nanos;
+		final long overheadNanos;
+
+		Timing(String uniqueId, String name, long nanos, long overheadNanos) {
+			this.uniqueId = uniqueId;
+			this.name = name;
+			this.nanos = nanos;
+			this.overheadNanos = overheadNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * This listener times all tests and containers of a test run. After all tests are finished,
+ * it logs a summary with the slowest tests and classes, the distribution of test durations,
+ * and how much time containers spent on setup and teardown compared to the tests.
+ * It also writes the summary as JSON to a file.
+ *
+ * <p>The listener is only active if the configuration parameter {@value TimingReport#ENABLED_PARAM}
+ * is {@code true}.</p>
+ */
+public class TimingReportListener implements TestExecutionListener {
+
+	private static final Logger LOG = Logger.getLogger(TimingReportListener.class.getName());
+
+	private final LongSupplier nanoTime;
+	// only tests and containers that are currently executing are kept, so memory stays bounded
+	private final ConcurrentMap<String, Long> startTimes = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> childNanos = new ConcurrentHashMap<>();
+
+	// `null` if the report isn't enabled
+	private volatile TimingReport report;
+	private volatile long testPlanStartTime;
+
+	public TimingReportListener() {
+		this(System::nanoTime);
+	}
+
+	TimingReportListener(LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+	}
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		report = TimingReport.load(testPlan.getConfigurationParameters()::get).orElse(null);
+		testPlanStartTime = nanoTime.getAsLong();
+	}
+
+	@Override
+	public void executionStarted(TestIdentifier testIdentifier) {
+		if (report == null)
+			return;
+
+		if (testIdentifier.isContainer())
+			childNanos.put(testIdentifier.getUniqueId(), new LongAdder());
+		startTimes.put(testIdentifier.getUniqueId(), nanoTime.getAsLong());
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		if (report == null)
+			return;
+
+		Long startTime = startTimes.remove(testIdentifier.getUniqueId());
+		if (startTime == null)
+			return;
+		long nanos = nanoTime.getAsLong() - startTime;
+		testIdentifier.getParentId().map(childNanos::get).ifPresent(parentChildNanos -> parentChildNanos.add(nanos));
+
+		// a test can also be a container (e.g. a dynamic test that registers children) - treat it as a test
+		if (testIdentifier.isTest()) {
+			childNanos.remove(testIdentifier.getUniqueId());
+			report.recordTest(testIdentifier.getUniqueId(), name(testIdentifier), nanos);
+		} else {
+			LongAdder children = childNanos.remove(testIdentifier.getUniqueId());
+			report
+					.recordContainer(testIdentifier.getUniqueId(), name(testIdentifier), isClass(testIdentifier), nanos,
+						children == null ? 0 : children.sum());
+		}
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		if (report == null)
+			return;
+
+		report.finish(nanoTime.getAsLong() - testPlanStartTime);
+		report.write();
+		LOG.info(report::summary);
+	}
+
+	private static boolean isClass(TestIdentifier testIdentifier) {
+		return testIdentifier.getSource().filter(ClassSource.class::isInstance).isPresent();
+	}
+
+	private static String name(TestIdentifier testIdentifier) {
+		TestSource source = testIdentifier.getSource().orElse(null);
+		if (source instanceof ClassSource)
+			return ((ClassSource) source).getClassName();
+		if (source instanceof MethodSource) {
+			String className = ((MethodSource) source).getClassName();
+			return className.substring(className.lastIndexOf('.') + 1) + " > " + testIdentifier.getDisplayName();
+		}
+		return testIdentifier.getDisplayName();
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * This package contains implementation details of the timing baselines that
+ * {@link org.junitpioneer.jupiter.Stopwatch @Stopwatch} and
+ * {@link org.junitpioneer.jupiter.BenchmarkTest @BenchmarkTest} results are compared to,
+ * of the test durations that {@link org.junitpioneer.jupiter.LongestFirstMethodOrderer} and
+ * {@link org.junitpioneer.jupiter.LongestFirstClassOrderer} order tests by,
+ * and of the timing report of entire test runs.
+ */
+
+package org.junitpioneer.jupiter.timing;
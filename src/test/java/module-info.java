@@ -18,6 +18,13 @@ module org.junitpioneer {
 	requires static com.fasterxml.jackson.core;
 	requires static com.fasterxml.jackson.databind;
 
+	requires java.logging;
+	requires java.management;
+	// only needed to measure allocated bytes, which is skipped if the module is missing
+	requires static jdk.management;
+	// only needed to record tests with JFR, which is skipped if the module is missing
+	requires static jdk.jfr;
+
 	exports org.junitpioneer.vintage;
 	exports org.junitpioneer.jupiter;
 	exports org.junitpioneer.jupiter.cartesian;
@@ -29,13 +36,16 @@ module org.junitpioneer {
 	opens org.junitpioneer.jupiter to org.junit.platform.commons, nl.jqno.equalsverifier;
 	opens org.junitpioneer.jupiter.cartesian to org.junit.platform.commons;
 	opens org.junitpioneer.jupiter.issue to org.junit.platform.commons;
+	opens org.junitpioneer.jupiter.timing to org.junit.platform.commons;
 	opens org.junitpioneer.jupiter.params to org.junit.platform.commons;
 	opens org.junitpioneer.jupiter.resource to org.junit.platform.commons;
 	opens org.junitpioneer.jupiter.json to org.junit.platform.commons, com.fasterxml.jackson.databind;
 	opens org.junitpioneer.jupiter.converter to org.junit.platform.commons;
 
 	provides org.junit.platform.launcher.TestExecutionListener
-			with org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener;
+			with org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener,
+					org.junitpioneer.jupiter.timing.TimingBaselineListener,
+					org.junitpioneer.jupiter.timing.TimingReportListener;
 	provides org.junitpioneer.jupiter.IssueProcessor
 			with org.junitpioneer.jupiter.issue.StoringIssueProcessor;
 	uses org.junitpioneer.jupiter.IssueProcessor;
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Lazy argument")
+class LazyArgumentTests {
+
+	@Test
+	@DisplayName("computes its value only once it is requested")
+	void computesOnDemand() {
+		AtomicInteger computations = new AtomicInteger();
+		LazyArgument argument = LazyArgument.of("key", computations::incrementAndGet);
+
+		assertThat(computations).hasValue(0);
+		assertThat(argument.get()).isEqualTo(1);
+		assertThat(argument.get()).isEqualTo(1);
+		assertThat(computations).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("is equal to lazy arguments with equal keys, without computing its value")
+	void equalityByKey() {
+		AtomicInteger computations = new AtomicInteger();
+		LazyArgument argument = LazyArgument.of("key", computations::incrementAndGet);
+
+		assertThat(argument)
+				.isEqualTo(LazyArgument.of("key", computations::incrementAndGet))
+				.hasSameHashCodeAs(LazyArgument.of("key", computations::incrementAndGet))
+				.isNotEqualTo(LazyArgument.of("other key", computations::incrementAndGet));
+		assertThat(computations).hasValue(0);
+	}
+
+	@Test
+	@DisplayName("uses its value's string representation")
+	void toStringOfValue() {
+		LazyArgument argument = LazyArgument.of("key", () -> new int[] { 1, 2, 3 });
+
+		assertThat(argument).hasToString("[1, 2, 3]");
+	}
+
+	@Test
+	@DisplayName("unwraps lazy arguments and leaves other arguments alone")
+	void unwrap() {
+		assertThat(LazyArgument.unwrap(LazyArgument.of("key", () -> "value"))).isEqualTo("value");
+		assertThat(LazyArgument.unwrap("value")).isEqualTo("value");
+		assertThat(LazyArgument.unwrap(null)).isNull();
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Log histogram")
+class LogHistogramTests {
+
+	private final LogHistogram histogram = new LogHistogram();
+
+	@Test
+	@DisplayName("reports zeros if nothing was recorded")
+	void empty() {
+		assertThat(histogram.count()).isZero();
+		assertThat(histogram.min()).isZero();
+		assertThat(histogram.max()).isZero();
+		assertThat(histogram.mean()).isZero();
+		assertThat(histogram.percentile(99)).isZero();
+	}
+
+	@Test
+	@DisplayName("tracks count, minimum, maximum, and mean exactly")
+	void exactStatistics() {
+		histogram.record(3);
+		histogram.record(1_000_003);
+		histogram.record(2_000_000);
+
+		assertThat(histogram.count()).isEqualTo(3);
+		assertThat(histogram.min()).isEqualTo(3);
+		assertThat(histogram.max()).isEqualTo(2_000_000);
+		assertThat(histogram.mean()).isEqualTo(1_000_002);
+	}
+
+	@Test
+	@DisplayName("records small values exactly")
+	void smallValues() {
+		for (int value = 1; value <= 10; value++)
+			histogram.record(value);
+
+		assertThat(histogram.percentile(50)).isEqualTo(5);
+		assertThat(histogram.percentile(90)).isEqualTo(9);
+		assertThat(histogram.percentile(100)).isEqualTo(10);
+	}
+
+	@Test
+	@DisplayName("approximates percentiles of large values within a few percent")
+	void largeValues() {
+		for (long value = 1; value <= 10_000; value++)
+			histogram.record(value * 1_000);
+
+		assertThat(histogram.percentile(50)).isCloseTo(5_000_000, within(150_000L));
+		assertThat(histogram.percentile(99)).isCloseTo(9_900_000, within(300_000L));
+		assertThat(histogram.percentile(99.9)).isCloseTo(9_990_000, within(300_000L));
+		assertThat(histogram.percentile(0)).isEqualTo(1_000);
+	}
+
+	@Test
+	@DisplayName("rejects negative values and invalid percentiles")
+	void invalidInput() {
+		assertThatThrownBy(() -> histogram.record(-1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> histogram.percentile(100.1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
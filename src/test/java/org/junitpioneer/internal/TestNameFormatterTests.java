@@ -80,6 +80,17 @@ public class TestNameFormatterTests {
 				.isEqualTo("Second {6} and before that class java.lang.Boolean");
 	}
 
+	@Test
+	@DisplayName("does not compute arguments that are not referenced")
+	void unreferencedArguments() {
+		TestNameFormatter formatter = new TestNameFormatter("First is {0}", "", TestNameFormatter.class);
+		LazyArgument unreferenced = LazyArgument.of("key", () -> {
+			throw new IllegalStateException("Must not be computed");
+		});
+
+		assertThat(formatter.format(0, "enigma", unreferenced)).isEqualTo("First is enigma");
+	}
+
 	@Test
 	@DisplayName("throws exception for negative indexed arguments")
 	void negativeIndexedArguments() {
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junitpioneer.jupiter.cartesian.CartesianTest;
+import org.junitpioneer.jupiter.cartesian.CartesianTest.Values;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+
+@DisplayName("BenchmarkTest extension")
+public class BenchmarkTestExtensionTests {
+
+	private static final String RESULT = "Benchmark of '%s' ran \\[[0-9]+\\.[0-9]{3} \\+/- [0-9]+\\.[0-9]{3}\\] ops/s "
+			+ "\\(99\\.9%% confidence interval \\[-?[0-9]+\\.[0-9]{3}, [0-9]+\\.[0-9]{3}\\], %d iterations\\)\\.";
+
+	@Test
+	@DisplayName("runs a single fork and reports its throughput")
+	void runsSingleFork() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(BenchmarkTestTestCases.class, "benchmark", Blackhole.class);
+
+		assertThat(results).hasSingleDynamicallyRegisteredTest().whichSucceeded();
+		assertThat(results)
+				.hasNumberOfReportEntries(1)
+				.firstValue()
+				.matches(String.format(RESULT, "\\[fork 1\\]", 3));
+	}
+
+	@Test
+	@DisplayName("runs each fork as an invocation and summarizes them")
+	void runsForks() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(BenchmarkTestTestCases.class, "forked");
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfSucceededTests(2);
+		assertThat(results)
+				.hasNumberOfReportEntries(3)
+				.values()
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[fork 1\\]", 2)))
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[fork 2\\]", 2)))
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "forked\\(\\)", 4)));
+	}
+
+	@Test
+	@DisplayName("runs each fork of a composed annotation as an invocation")
+	void runsForksOfComposedAnnotation() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(BenchmarkTestTestCases.class, "composed");
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfSucceededTests(2);
+		assertThat(results)
+				.hasNumberOfReportEntries(3)
+				.values()
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[fork 1\\]", 2)))
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[fork 2\\]", 2)))
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "composed\\(\\)", 4)));
+	}
+
+	@Test
+	@DisplayName("benchmarks each invocation of a @CartesianTest with all forks")
+	void benchmarksCartesianTest() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(BenchmarkTestTestCases.class, "cartesian", int.class,
+					Blackhole.class);
+
+		assertThat(results).hasNumberOfDynamicallyRegisteredTests(2).hasNumberOfSucceededTests(2);
+		assertThat(results)
+				.hasNumberOfReportEntries(2)
+				.values()
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[1\\] 1", 4)))
+				.anySatisfy(value -> Assertions.assertThat(value).matches(String.format(RESULT, "\\[2\\] 2", 4)));
+	}
+
+	@Test
+	@DisplayName("fails with the exception the test method throws")
+	void failsWithException() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(BenchmarkTestTestCases.class, "throwing");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(IllegalStateException.class)
+				.hasMessage("failed");
+		assertThat(results).hasNumberOfReportEntries(0);
+	}
+
+	@Test
+	@DisplayName("fails without forks")
+	void failsWithoutForks() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(BenchmarkTestTestCases.class, "noForks");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@BenchmarkTest requires that `forks` be greater than or equal to 1.");
+	}
+
+	@Test
+	@DisplayName("fails without measurement iterations")
+	void failsWithoutMeasurementIterations() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(BenchmarkTestTestCases.class, "noMeasurementIterations");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@BenchmarkTest requires that `measurementIterations` be greater than or equal to 1.");
+	}
+
+	@Test
+	@DisplayName("computes the confidence interval with Student's t-distribution")
+	void describesThroughputs() {
+		// mean 15, standard error 5, and the 99.9% quantile for one degree of freedom is 636.619
+		Assertions
+				.assertThat(BenchmarkTestExtension.describe("test()", List.of(10d, 20d)))
+				.isEqualTo("Benchmark of 'test()' ran [15.000 +/- 3183.095] ops/s "
+						+ "(99.9% confidence interval [-3168.095, 3198.095], 2 iterations).");
+		Assertions
+				.assertThat(BenchmarkTestExtension.describe("test()", List.of(10d)))
+				.isEqualTo("Benchmark of 'test()' ran [10.000] ops/s (1 iteration).");
+	}
+
+	static class BenchmarkTestTestCases {
+
+		@BenchmarkTest(warmupIterations = 1, measurementIterations = 3, iterationMillis = 1)
+		void benchmark(Blackhole blackhole) {
+			blackhole.consume(Math.sqrt(42));
+		}
+
+		@BenchmarkTest(forks = 2, warmupIterations = 0, measurementIterations = 2, iterationMillis = 1)
+		void forked() {
+		}
+
+		@QuickBench
+		void composed() {
+		}
+
+		@CartesianTest
+		@BenchmarkTest(forks = 2, warmupIterations = 1, measurementIterations = 2, iterationMillis = 1)
+		void cartesian(@Values(ints = { 1, 2 }) int value, Blackhole blackhole) {
+			blackhole.consume(value * 31);
+		}
+
+		@BenchmarkTest(iterationMillis = 1)
+		void throwing() {
+			throw new IllegalStateException("failed");
+		}
+
+		@BenchmarkTest(forks = 0)
+		void noForks() {
+		}
+
+		@BenchmarkTest(measurementIterations = 0)
+		void noMeasurementIterations() {
+		}
+
+	}
+
+	@Target(ElementType.METHOD)
+	@Retention(RetentionPolicy.RUNTIME)
+	@BenchmarkTest(forks = 2, warmupIterations = 0, measurementIterations = 2, iterationMillis = 1)
+	@interface QuickBench {
+	}
+
+}
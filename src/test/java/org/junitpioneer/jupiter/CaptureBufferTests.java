@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CaptureBuffer")
+class CaptureBufferTests {
+
+	private final CaptureBuffer buffer = new CaptureBuffer(UTF_8, "\n");
+
+	@Test
+	@DisplayName("decodes characters that are split across writes")
+	void splitCharacter() {
+		byte[] bytes = "a€b".getBytes(UTF_8);
+
+		buffer.write(bytes, 0, 2);
+		assertThat(buffer.text()).isEqualTo("a");
+		buffer.write(bytes[2]);
+		assertThat(buffer.text()).isEqualTo("a");
+		buffer.write(bytes, 3, bytes.length - 3);
+
+		assertThat(buffer.text()).isEqualTo("a€b");
+		assertThat(buffer.size()).isEqualTo(bytes.length);
+	}
+
+	@Test
+	@DisplayName("decodes characters that are split across chunks")
+	void characterAcrossChunks() {
+		StringBuilder expected = new StringBuilder();
+		// odd length, so that the three-byte euro sign eventually spans every possible chunk boundary
+		for (int i = 0; i < 10_000; i++) {
+			String text = i + "€\n";
+			expected.append(text);
+			byte[] bytes = text.getBytes(UTF_8);
+			buffer.write(bytes, 0, bytes.length);
+			if (i % 1_000 == 0)
+				assertThat(buffer.text()).isEqualTo(expected.toString());
+		}
+
+		assertThat(buffer.text()).isEqualTo(expected.toString());
+		assertThat(buffer.lines()).hasSize(10_000).startsWith("0€", "1€").endsWith("9999€");
+	}
+
+	@Test
+	@DisplayName("divides the text into lines incrementally")
+	void incrementalLines() {
+		write("first\n\nthi");
+		assertThat(buffer.lines()).containsExactly("first", "", "thi");
+
+		write("rd\n");
+		assertThat(buffer.lines()).containsExactly("first", "", "third");
+
+		write("\n");
+		assertThat(buffer.lines()).containsExactly("first", "", "third", "");
+	}
+
+	@Test
+	@DisplayName("finds multi-character separators that are split across writes")
+	void splitSeparator() {
+		CaptureBuffer windowsBuffer = new CaptureBuffer(UTF_8, "\r\n");
+
+		windowsBuffer.write("first\r".getBytes(UTF_8), 0, 6);
+		assertThat(windowsBuffer.lines()).containsExactly("first\r");
+		windowsBuffer.write("\nsecond".getBytes(UTF_8), 0, 7);
+
+		assertThat(windowsBuffer.lines()).containsExactly("first", "second");
+	}
+
+	@Test
+	@DisplayName("has no lines if nothing was written")
+	void empty() {
+		assertThat(buffer.text()).isEmpty();
+		assertThat(buffer.lines()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("keeps only the head if limited")
+	void head() {
+		CaptureBuffer headBuffer = CaptureBuffer.of(UTF_8, 5, -1, -1, ChunkPool.UNPOOLED);
+
+		write(headBuffer, "first\nsecond\n");
+
+		assertThat(headBuffer.text()).isEqualTo("first");
+		assertThat(headBuffer.size()).isEqualTo(13);
+		assertThat(headBuffer.droppedBytes()).isEqualTo(8);
+	}
+
+	@Test
+	@DisplayName("keeps only the tail in a ring buffer if limited")
+	void tail() {
+		CaptureBuffer tailBuffer = new CaptureBuffer(UTF_8, "\n", 0, 8, Long.MAX_VALUE);
+
+		write(tailBuffer, "first\n");
+		assertThat(tailBuffer.lines()).containsExactly("first");
+		write(tailBuffer, "second\n");
+		assertThat(tailBuffer.text()).isEqualTo("\nsecond\n");
+		assertThat(tailBuffer.lines()).containsExactly("", "second");
+		for (char c = 'a'; c <= 'k'; c++)
+			tailBuffer.write(c);
+
+		assertThat(tailBuffer.text()).isEqualTo("defghijk");
+		assertThat(tailBuffer.droppedBytes()).isEqualTo(13 + 11 - 8);
+	}
+
+	@Test
+	@DisplayName("keeps the head and the tail if limited")
+	void headAndTail() {
+		CaptureBuffer limitedBuffer = new CaptureBuffer(UTF_8, "\n", 6, 8, Long.MAX_VALUE);
+
+		for (int i = 1; i <= 1_000; i++)
+			write(limitedBuffer, i + "\n");
+
+		assertThat(limitedBuffer.text()).isEqualTo("1\n2\n3\n" + "99\n1000\n");
+		assertThat(limitedBuffer.lines()).containsExactly("1", "2", "3", "99", "1000");
+		assertThat(limitedBuffer.droppedBytes()).isEqualTo(limitedBuffer.size() - 14);
+	}
+
+	@Test
+	@DisplayName("streams lines and searches text that was spilled to a file")
+	void spilled() {
+		try (CaptureBuffer spillingBuffer = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, 0)) {
+			for (int i = 0; i < 10_000; i++)
+				write(spillingBuffer, i + "€\n");
+
+			assertThat(spillingBuffer.hasSpilled()).isTrue();
+			try (Stream<String> lines = spillingBuffer.lineStream()) {
+				assertThat(lines.skip(9_998)).containsExactly("9998€", "9999€");
+			}
+			assertThat(spillingBuffer.contains("4711€\n4712€")).isTrue();
+			assertThat(spillingBuffer.contains("10000€")).isFalse();
+			assertThat(spillingBuffer.lines()).hasSize(10_000).startsWith("0€", "1€");
+		}
+	}
+
+	@Test
+	@DisplayName("counts, looks up, and searches lines without creating the others")
+	void lineAccess() {
+		write("first\nsecond\nthi");
+
+		assertThat(buffer.lineCount()).isEqualTo(3);
+		assertThat(buffer.line(1)).isEqualTo("second");
+		assertThat(buffer.line(2)).isEqualTo("thi");
+		assertThat(buffer.indexOf("second")).isEqualTo(6);
+		assertThat(buffer.indexOf("third")).isEqualTo(-1);
+		assertThatThrownBy(() -> buffer.line(3)).isInstanceOf(IndexOutOfBoundsException.class);
+
+		write("rd\n");
+
+		assertThat(buffer.lineCount()).isEqualTo(3);
+		assertThat(buffer.line(2)).isEqualTo("third");
+		assertThat(buffer.indexOf("third")).isEqualTo(13);
+		assertThat(buffer.lineStream()).containsExactly("first", "second", "third");
+	}
+
+	@Test
+	@DisplayName("counts, looks up, and searches lines that were spilled to a file")
+	void spilledLineAccess() {
+		try (CaptureBuffer spillingBuffer = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, 0)) {
+			for (int i = 0; i < 10_000; i++)
+				write(spillingBuffer, i + "\n");
+
+			assertThat(spillingBuffer.lineCount()).isEqualTo(10_000);
+			assertThat(spillingBuffer.line(4711)).isEqualTo("4711");
+			assertThat(spillingBuffer.indexOf("9\n10\n")).isEqualTo(18);
+			assertThatThrownBy(() -> spillingBuffer.line(10_000)).isInstanceOf(IndexOutOfBoundsException.class);
+			assertThatThrownBy(() -> spillingBuffer.line(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+		}
+	}
+
+	@Test
+	@DisplayName("streams the spilled head and the tail")
+	void streamsHeadAndTail() {
+		String spilledLine = "x".repeat(ChunkedByteStore.CHUNK_SIZE);
+		try (CaptureBuffer limitedBuffer = new CaptureBuffer(UTF_8, "\n", spilledLine.length() + 3, 3, 0)) {
+			write(limitedBuffer, spilledLine + "a\nbc\nd\n");
+
+			assertThat(limitedBuffer.hasSpilled()).isTrue();
+			try (Stream<String> lines = limitedBuffer.lineStream()) {
+				assertThat(lines).containsExactly(spilledLine + "a", "b", "d");
+			}
+			assertThat(limitedBuffer.contains("bd")).isFalse();
+			assertThat(limitedBuffer.contains("b\nd")).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("discards the spilled bytes when closed")
+	void closed() {
+		CaptureBuffer spillingBuffer = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, 0);
+		write(spillingBuffer, "x".repeat(10_000));
+
+		spillingBuffer.close();
+
+		assertThatThrownBy(() -> spillingBuffer.contains("x")).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("releases its chunks to the pool when closed, so the next buffer reuses them")
+	void pooled() {
+		ChunkPool pool = new ChunkPool(10 * ChunkedByteStore.CHUNK_SIZE);
+		CaptureBuffer first = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, Long.MAX_VALUE, pool);
+		write(first, "x".repeat(3 * ChunkedByteStore.CHUNK_SIZE));
+		first.close();
+
+		assertThat(pool.retainedChunks()).isEqualTo(3);
+		assertThatThrownBy(first::lines).isInstanceOf(IllegalStateException.class);
+
+		CaptureBuffer second = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, Long.MAX_VALUE, pool);
+		write(second, "first\nsecond");
+
+		assertThat(pool.retainedChunks()).isEqualTo(2);
+		assertThat(second.lines()).containsExactly("first", "second");
+	}
+
+	@Test
+	@DisplayName("doesn't retain more chunks than the pool's maximum")
+	void poolMaximum() {
+		ChunkPool pool = new ChunkPool(2 * ChunkedByteStore.CHUNK_SIZE);
+		CaptureBuffer pathological = new CaptureBuffer(UTF_8, "\n", Long.MAX_VALUE, 0, Long.MAX_VALUE, pool);
+		write(pathological, "x".repeat(5 * ChunkedByteStore.CHUNK_SIZE));
+		pathological.close();
+
+		assertThat(pool.retainedChunks()).isEqualTo(2);
+	}
+
+	private void write(String text) {
+		write(buffer, text);
+	}
+
+	private static void write(CaptureBuffer buffer, String text) {
+		byte[] bytes = text.getBytes(UTF_8);
+		buffer.write(bytes, 0, bytes.length);
+	}
+
+}
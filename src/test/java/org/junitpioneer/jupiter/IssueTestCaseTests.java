@@ -12,6 +12,8 @@ package org.junitpioneer.jupiter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Test;
 import org.junit.platform.engine.TestExecutionResult.Status;
 
@@ -39,9 +41,23 @@ public final class IssueTestCaseTests {
 		assertThat(result).isEqualTo(expected);
 	}
 
+	@Test
+	void testToStringWithThreadUsage() {
+		String expected = "IssueTestCase{uniqueName='myName', result='SUCCESSFUL', elapsedTime='3 ms', cpuTime='2 ms', allocatedBytes='1024 bytes'}";
+		IssueTestCase sut = new IssueTestCase("myName", Status.SUCCESSFUL, Optional.of(3L), Optional.of(2L),
+			Optional.of(1024L));
+
+		String result = sut.toString();
+
+		assertThat(result).isEqualTo(expected);
+	}
+
 	@Test
 	public void equalsContract() {
-		EqualsVerifier.forClass(IssueTestCase.class).withNonnullFields("testId", "result", "elapsedTime").verify();
+		EqualsVerifier
+				.forClass(IssueTestCase.class)
+				.withNonnullFields("testId", "result", "elapsedTime", "cpuTime", "allocatedBytes")
+				.verify();
 	}
 
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.timing.TimingBaselines;
+
+@DisplayName("LongestFirstClassOrderer")
+public class LongestFirstClassOrdererTests {
+
+	// see `IssueExtensionExecutionListenerTests` for why the JUnit types are mocked
+	private final ClassOrdererContext context = mock(ClassOrdererContext.class);
+	private final List<ClassDescriptor> classes = new ArrayList<>();
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("orders the classes with the longest previous durations first, including their nested classes")
+	void ordersLongestFirst() throws IOException {
+		Path file = directory.resolve("baselines.tsv");
+		Files
+				.write(file,
+					List
+							.of(testId(Short.class, "[method:test()]") + "\tduration-ns\t10000000",
+								testId(Long.class, "[method:test()]") + "\tduration-ns\t20000000",
+								testId(Long.class, "[nested-class:Inner]/[method:test()]") + "\tduration-ns\t20000000",
+								testId(Medium.class, "[method:test()]") + "\tduration-ns\t30000000"));
+		when(context.getConfigurationParameter(anyString())).thenReturn(Optional.empty());
+		when(context.getConfigurationParameter(TimingBaselines.FILE_PARAM)).thenReturn(Optional.of(file.toString()));
+		doReturn(classes).when(context).getClassDescriptors();
+		List.of(Short.class, Unknown.class, Medium.class, Long.class).forEach(this::addClass);
+
+		new LongestFirstClassOrderer().orderClasses(context);
+
+		assertThat(classes)
+				.extracting(ClassDescriptor::getTestClass)
+				.containsExactly(Unknown.class, Long.class, Medium.class, Short.class);
+	}
+
+	private void addClass(Class<?> testClass) {
+		ClassDescriptor descriptor = mock(ClassDescriptor.class);
+		doReturn(testClass).when(descriptor).getTestClass();
+		classes.add(descriptor);
+	}
+
+	private static String testId(Class<?> testClass, String rest) {
+		return "[engine:junit-jupiter]/[class:" + testClass.getName() + "]/" + rest;
+	}
+
+	static class Short {
+	}
+
+	static class Medium {
+	}
+
+	static class Long {
+	}
+
+	static class Unknown {
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junitpioneer.jupiter.timing.TestDurations;
+import org.junitpioneer.jupiter.timing.TimingBaselines;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+
+@DisplayName("LongestFirstMethodOrderer")
+@Execution(SAME_THREAD) // the test cases record their execution in a static list
+public class LongestFirstMethodOrdererTests {
+
+	private static final String CLASS_ID = "[engine:junit-jupiter]/[class:" + OrderedTestCases.class.getName() + "]";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("executes the methods with the longest previous durations first")
+	void executesLongestFirst() throws IOException {
+		ExecutionResults results = execute("first");
+
+		assertThat(results).hasNumberOfSucceededTests(5);
+		Assertions
+				.assertThat(OrderedTestCases.EXECUTED)
+				.containsExactly("unknown", "parameterized", "parameterized", "long", "short");
+	}
+
+	@Test
+	@DisplayName("executes the methods without previous durations as configured")
+	void executesUnknownAsConfigured() throws IOException {
+		ExecutionResults results = execute("last");
+
+		assertThat(results).hasNumberOfSucceededTests(5);
+		Assertions
+				.assertThat(OrderedTestCases.EXECUTED)
+				.containsExactly("parameterized", "parameterized", "long", "short", "unknown");
+	}
+
+	private ExecutionResults execute(String unknown) throws IOException {
+		Path file = directory.resolve("baselines.tsv");
+		// the parameterized test's invocations take 60 ms in total
+		Files
+				.write(file,
+					List
+							.of(CLASS_ID + "/[method:shortTest()]\tduration-ns\t1000000",
+								CLASS_ID + "/[method:longTest()]\tduration-ns\t50000000 40000000 45000000",
+								CLASS_ID + "/[test-template:parameterizedTest(int, java.lang.String)]"
+										+ "/[test-template-invocation:#1]\tduration-ns\t30000000",
+								CLASS_ID + "/[test-template:parameterizedTest(int, java.lang.String)]"
+										+ "/[test-template-invocation:#2]\tduration-ns\t30000000"));
+		OrderedTestCases.EXECUTED.clear();
+		return PioneerTestKit
+				.executeTestClassWithConfigurationParameters(
+					Map.of(TimingBaselines.FILE_PARAM, file.toString(), TestDurations.UNKNOWN_PARAM, unknown),
+					OrderedTestCases.class);
+	}
+
+	@Execution(SAME_THREAD)
+	@TestMethodOrder(LongestFirstMethodOrderer.class)
+	static class OrderedTestCases {
+
+		static final List<String> EXECUTED = new CopyOnWriteArrayList<>();
+
+		@Test
+		void shortTest() {
+			EXECUTED.add("short");
+		}
+
+		@Test
+		void unknownTest() {
+			EXECUTED.add("unknown");
+		}
+
+		@Test
+		void longTest() {
+			EXECUTED.add("long");
+		}
+
+		@ParameterizedTest
+		@CsvSource({ "1, a", "2, b" })
+		void parameterizedTest(int number, String letter) {
+			EXECUTED.add("parameterized");
+		}
+
+	}
+
+}
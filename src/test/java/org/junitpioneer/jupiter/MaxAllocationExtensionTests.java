@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+import org.opentest4j.AssertionFailedError;
+
+@DisplayName("MaxAllocation extension")
+public class MaxAllocationExtensionTests {
+
+	@Test
+	@DisplayName("passes allocation-free tests with a budget of zero bytes")
+	void passesAllocationFreeTest() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "allocationFree");
+
+		assertThat(results).hasSingleSucceededTest();
+	}
+
+	@Test
+	@DisplayName("passes tests within their budget")
+	void passesTestWithinBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "withinBudget");
+
+		assertThat(results).hasSingleSucceededTest();
+	}
+
+	@Test
+	@DisplayName("fails tests that exceed their budget")
+	void failsTestExceedingBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "exceedsBudget");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(AssertionFailedError.class)
+				.message()
+				.matches("Execution of 'exceedsBudget\\(\\)' allocated \\[[0-9]+\\] bytes, "
+						+ "which exceeds the budget of \\[1024\\] bytes \\(a baseline of \\[[0-9]+\\] bytes was subtracted\\)\\.");
+	}
+
+	@Test
+	@DisplayName("invokes the test method for each warm-up before measuring it")
+	void warmsUp() {
+		MaxAllocationTestCases.WARMED_UP.set(0);
+
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "warmedUp");
+
+		assertThat(results).hasSingleSucceededTest();
+		Assertions.assertThat(MaxAllocationTestCases.WARMED_UP).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("measures each invocation of a test template")
+	void measuresTemplateInvocations() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "repeated");
+
+		assertThat(results).hasNumberOfSucceededTests(3);
+	}
+
+	@Test
+	@DisplayName("fails tests with a negative budget")
+	void failsNegativeBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "negativeBudget");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@MaxAllocation bytes must not be negative");
+	}
+
+	@Test
+	@DisplayName("fails tests with negative warm-ups")
+	void failsNegativeWarmups() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxAllocationTestCases.class, "negativeWarmups");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@MaxAllocation warmups must not be negative");
+	}
+
+	static class MaxAllocationTestCases {
+
+		static final AtomicInteger WARMED_UP = new AtomicInteger();
+
+		// written to, so the allocations can't be optimized away
+		static volatile Object sink;
+		static volatile long sum;
+
+		@Test
+		@MaxAllocation(bytes = 0, warmups = 3)
+		void allocationFree() {
+			long result = 0;
+			for (int i = 0; i < 1_000; i++)
+				result += i;
+			sum = result;
+		}
+
+		@Test
+		@MaxAllocation(bytes = 64 * 1024)
+		void withinBudget() {
+			sink = new byte[1024];
+		}
+
+		@Test
+		@MaxAllocation(bytes = 1024)
+		void exceedsBudget() {
+			sink = new byte[64 * 1024];
+		}
+
+		@Test
+		@MaxAllocation(bytes = 0, warmups = 3)
+		void warmedUp() {
+			WARMED_UP.incrementAndGet();
+		}
+
+		@RepeatedTest(3)
+		@MaxAllocation(bytes = 0, warmups = 3)
+		void repeated() {
+			sum = sum + 1;
+		}
+
+		@Test
+		@MaxAllocation(bytes = -1)
+		void negativeBudget() {
+		}
+
+		@Test
+		@MaxAllocation(bytes = 0, warmups = -1)
+		void negativeWarmups() {
+		}
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+import org.junitpioneer.testkit.assertion.reportentry.ReportEntryContentAssert;
+import org.opentest4j.AssertionFailedError;
+
+@DisplayName("MaxDuration extension")
+public class MaxDurationExtensionTests {
+
+	@Test
+	@DisplayName("passes tests within their budget and reports the percentiles")
+	void passesTestWithinBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "withinBudget");
+
+		assertThat(results).hasSingleSucceededTest();
+		ReportEntryContentAssert reportEntry = assertThat(results).hasNumberOfReportEntries(1);
+		reportEntry.firstKey().isEqualTo(MaxDurationExtension.REPORT_KEY);
+		reportEntry
+				.firstValue()
+				.matches("Execution of 'withinBudget\\(\\)' \\(20 iterations\\) took p50 \\[[0-9]+\\.[0-9]{3}\\] ms, "
+						+ "p90 \\[[0-9.]+\\] ms, p99 \\[[0-9.]+\\] ms, p99.9 \\[[0-9.]+\\] ms, max \\[[0-9.]+\\] ms\\.");
+	}
+
+	@Test
+	@DisplayName("fails tests whose percentiles exceed their budget")
+	void failsTestExceedingBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "exceedsBudget");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(AssertionFailedError.class)
+				.message()
+				.matches("Execution of 'exceedsBudget\\(\\)' exceeded its latency budget: "
+						+ "p50 \\[[0-9]+\\.[0-9]{3}\\] ms > \\[0\\.001\\] ms, max \\[[0-9]+\\.[0-9]{3}\\] ms > \\[0\\.500\\] ms "
+						+ "\\(3 iterations after 1 warm-ups\\)\\.");
+	}
+
+	@Test
+	@DisplayName("invokes the test method once and then for each warm-up and iteration")
+	void invokesWarmupsAndIterations() {
+		MaxDurationTestCases.INVOCATIONS.set(0);
+
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "counted");
+
+		assertThat(results).hasSingleSucceededTest();
+		Assertions.assertThat(MaxDurationTestCases.INVOCATIONS).hasValue(9);
+	}
+
+	@Test
+	@DisplayName("measures each invocation of a test template")
+	void measuresTemplateInvocations() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "repeated");
+
+		assertThat(results).hasNumberOfSucceededTests(3);
+		assertThat(results).hasNumberOfReportEntries(3);
+	}
+
+	@Test
+	@DisplayName("fails with the exception an iteration throws")
+	void failsWithException() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "throwing");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(IllegalStateException.class)
+				.hasMessage("failed");
+	}
+
+	@Test
+	@DisplayName("parses durations with units")
+	void parsesDurations() {
+		Assertions.assertThat(MaxDurationExtension.parseNanos("p99", "750ns")).isEqualTo(750L);
+		Assertions.assertThat(MaxDurationExtension.parseNanos("p99", "250us")).isEqualTo(250_000L);
+		Assertions.assertThat(MaxDurationExtension.parseNanos("p99", "250µs")).isEqualTo(250_000L);
+		Assertions.assertThat(MaxDurationExtension.parseNanos("p99", "1.5ms")).isEqualTo(1_500_000L);
+		Assertions.assertThat(MaxDurationExtension.parseNanos("p99", "2 s")).isEqualTo(2_000_000_000L);
+	}
+
+	@Test
+	@DisplayName("fails tests with an invalid duration")
+	void failsInvalidDuration() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "invalidDuration");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage(
+					"@MaxDuration p99 [5 minutes] is not a duration like \"5ms\" (supported units are ns, us, ms, and s)");
+	}
+
+	@Test
+	@DisplayName("fails tests without a budget")
+	void failsWithoutBudget() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "noBudget");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@MaxDuration must define at least one budget");
+	}
+
+	@Test
+	@DisplayName("fails tests without iterations")
+	void failsWithoutIterations() {
+		ExecutionResults results = PioneerTestKit.executeTestMethod(MaxDurationTestCases.class, "noIterations");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@MaxDuration iterations must be positive");
+	}
+
+	static class MaxDurationTestCases {
+
+		static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+		@Test
+		@MaxDuration(p99 = "10s", max = "10s", iterations = 20)
+		void withinBudget() {
+		}
+
+		@Test
+		@MaxDuration(p50 = "1us", p99 = "10s", max = "500us", warmup = 1, iterations = 3)
+		void exceedsBudget() throws InterruptedException {
+			Thread.sleep(1);
+		}
+
+		@Test
+		@MaxDuration(max = "10s", warmup = 3, iterations = 5)
+		void counted() {
+			INVOCATIONS.incrementAndGet();
+		}
+
+		@RepeatedTest(3)
+		@MaxDuration(p90 = "10s", iterations = 5)
+		void repeated() {
+		}
+
+		@Test
+		@MaxDuration(max = "10s", iterations = 5)
+		void throwing() {
+			throw new IllegalStateException("failed");
+		}
+
+		@Test
+		@MaxDuration(p99 = "5 minutes")
+		void invalidDuration() {
+		}
+
+		@Test
+		@MaxDuration
+		void noBudget() {
+		}
+
+		@Test
+		@MaxDuration(max = "1s", iterations = 0)
+		void noIterations() {
+		}
+
+	}
+
+}
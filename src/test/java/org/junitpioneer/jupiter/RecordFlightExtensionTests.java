@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter;
+
+import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+
+@DisplayName("RecordFlight extension")
+public class RecordFlightExtensionTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("writes a recording named after the test's unique ID and summarizes it")
+	void writesAndSummarizesRecording() throws Exception {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "recorded");
+
+		assertThat(results).hasSingleSucceededTest();
+		Map<String, String> entries = reportEntries(results, 5);
+		Assertions
+				.assertThat(entries)
+				.containsOnlyKeys(RecordFlightExtension.FILE_KEY, FlightRecording.GC_KEY, FlightRecording.ALLOCATION_KEY,
+					FlightRecording.HOT_METHODS_KEY, FlightRecording.LOCK_KEY);
+		Path file = Path.of(entries.get(RecordFlightExtension.FILE_KEY));
+		Assertions.assertThat(file).isRegularFile().hasParent(directory);
+		Assertions.assertThat(file.getFileName().toString()).contains("RecordFlightTestCases").endsWith("recorded.jfr");
+		Assertions
+				.assertThat(entries.get(FlightRecording.GC_KEY))
+				.matches("GC during 'recorded\\(\\)' \\(entire JVM\\): \\[[1-9][0-9]*\\] collections with a total pause of \\[.+\\] ms "
+						+ "and a longest pause of \\[.+\\] ms\\.");
+		Assertions.assertThat(entries.get(FlightRecording.ALLOCATION_KEY)).startsWith("Allocation rate during 'recorded()': ");
+		Assertions.assertThat(entries.get(FlightRecording.HOT_METHODS_KEY)).startsWith("Hot methods during 'recorded()'");
+		Assertions
+				.assertThat(entries.get(FlightRecording.LOCK_KEY))
+				.matches("Lock contention during 'recorded\\(\\)': \\[[0-9]+\\] contended monitor enters "
+						+ "with a total wait of \\[.+\\] ms\\.");
+	}
+
+	@Test
+	@DisplayName("only summarizes the events of the test thread")
+	void summarizesTestThread() {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "busyElsewhere");
+
+		assertThat(results).hasSingleSucceededTest();
+		Assertions
+				.assertThat(reportEntries(results, 5).get(FlightRecording.HOT_METHODS_KEY))
+				.doesNotContain("spin");
+	}
+
+	@Test
+	@DisplayName("records with predefined settings")
+	void recordsWithPredefinedSettings() {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "profiled");
+
+		assertThat(results).hasSingleSucceededTest();
+		Assertions.assertThat(reportEntries(results, 5)).containsKey(RecordFlightExtension.FILE_KEY);
+	}
+
+	@Test
+	@DisplayName("records with settings from a file")
+	void recordsWithSettingsFile() {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "fromFile");
+
+		assertThat(results).hasSingleSucceededTest();
+		Assertions.assertThat(reportEntries(results, 5)).containsKey(RecordFlightExtension.FILE_KEY);
+	}
+
+	@Test
+	@DisplayName("fails tests with unknown settings")
+	void failsUnknownSettings() {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "unknownSettings");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@RecordFlight settings [no-such-settings] are neither a predefined configuration "
+						+ "nor an existing file.");
+	}
+
+	@Test
+	@DisplayName("fails tests with a negative number of hot methods")
+	void failsNegativeHotMethods() {
+		ExecutionResults results = execute(RecordFlightTestCases.class, "negativeHotMethods");
+
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@RecordFlight hotMethods must not be negative");
+	}
+
+	@Test
+	@DisplayName("records each test of an annotated class separately")
+	void recordsEachTestOfClass() throws Exception {
+		assertThat(execute(RecordedTestCases.class, "first")).hasSingleSucceededTest();
+		assertThat(execute(RecordedTestCases.class, "second")).hasSingleSucceededTest();
+
+		try (Stream<Path> files = Files.list(directory)) {
+			Assertions.assertThat(files).hasSize(2);
+		}
+	}
+
+	@Nested
+	@DisplayName("names recordings")
+	class FileNameTests {
+
+		@Test
+		@DisplayName("by replacing the unique ID's special characters")
+		void replacesSpecialCharacters() {
+			Assertions
+					.assertThat(RecordFlightExtension.fileName("[engine:junit-jupiter]/[class:a.B]/[method:c()]"))
+					.isEqualTo("engine_junit-jupiter_class_a.B_method_c.jfr");
+		}
+
+		@Test
+		@DisplayName("by truncating long unique IDs, keeping them apart with a hash")
+		void truncatesLongUniqueIds() {
+			String first = RecordFlightExtension.fileName("a".repeat(300) + "1");
+			String second = RecordFlightExtension.fileName("a".repeat(300) + "2");
+
+			Assertions.assertThat(first).hasSizeLessThan(255).endsWith(".jfr").isNotEqualTo(second);
+		}
+
+	}
+
+	private ExecutionResults execute(Class<?> testClass, String testMethodName) {
+		return PioneerTestKit
+				.executeTestMethodWithParameterTypesAndConfigurationParameters(
+					Map.of(RecordFlightExtension.DIRECTORY_PARAM, directory.toString()), testClass, testMethodName);
+	}
+
+	private static Map<String, String> reportEntries(ExecutionResults results, int count) {
+		Map<String, String> entries = new LinkedHashMap<>();
+		assertThat(results).hasNumberOfReportEntries(count).andThen(entries::put);
+		return entries;
+	}
+
+	static class RecordFlightTestCases {
+
+		// written to, so the allocations can't be optimized away
+		static volatile Object sink;
+
+		@Test
+		@RecordFlight
+		void recorded() {
+			for (int i = 0; i < 1_000; i++)
+				sink = new byte[1024];
+			System.gc();
+		}
+
+		@Test
+		@RecordFlight(settings = "profile", hotMethods = 3)
+		void profiled() {
+		}
+
+		@Test
+		@RecordFlight(settings = "src/test/resources/org/junitpioneer/jupiter/record-flight.jfc")
+		void fromFile() {
+		}
+
+		@Test
+		@RecordFlight(settings = "profile")
+		void busyElsewhere() throws InterruptedException {
+			Thread spinner = new Thread(RecordFlightTestCases::spin);
+			spinner.start();
+			// the test thread itself only waits, so it's never sampled while executing
+			spinner.join();
+		}
+
+		private static void spin() {
+			long end = System.nanoTime() + 500_000_000L;
+			long sum = 0;
+			while (System.nanoTime() < end)
+				for (int i = 0; i < 100_000; i++)
+					sum += i * sum + 1;
+			sink = sum;
+		}
+
+		@Test
+		@RecordFlight(settings = "no-such-settings")
+		void unknownSettings() {
+		}
+
+		@Test
+		@RecordFlight(hotMethods = -1)
+		void negativeHotMethods() {
+		}
+
+	}
+
+	@RecordFlight
+	static class RecordedTestCases {
+
+		@Test
+		void first() {
+		}
+
+		@Test
+		void second() {
+		}
+
+	}
+
+}
@@ -10,6 +10,7 @@
 
 package org.junitpioneer.jupiter;
 
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junitpioneer.testkit.PioneerTestKit.abort;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
@@ -24,12 +25,16 @@ import java.util.List;
 
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestReporter;
 import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.testkit.engine.Execution;
+import org.junitpioneer.jupiter.RetryingTest.Backoff;
 import org.junitpioneer.testkit.ExecutionResults;
 import org.junitpioneer.testkit.PioneerTestKit;
 import org.opentest4j.MultipleFailuresError;
@@ -310,6 +315,159 @@ class RetryingTestExtensionTests {
 		assertFailedTest(results);
 	}
 
+	@Test
+	void failFourTimesWithExponentialBackoff() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "failFourTimesWithExponentialBackoff");
+
+		assertThat(results).hasNumberOfAbortedTests(3).hasNumberOfFailedTests(1);
+		// the third pause is capped at `maxSuspendForMs`
+		Assertions
+				.assertThat(abortedMessages(results))
+				.allMatch(message -> message.startsWith("Retry me"))
+				.satisfiesExactly(message -> Assertions.assertThat(message).endsWith("will retry in 10 ms..."),
+					message -> Assertions.assertThat(message).endsWith("will retry in 30 ms..."),
+					message -> Assertions.assertThat(message).endsWith("will retry in 50 ms..."));
+		assertSuspendedFor(results, SUSPEND_FOR);
+	}
+
+	@Test
+	void exponentialBackoffStartsOverAfterSuccess() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "failEveryOtherTimeWithExponentialBackoff");
+
+		assertThat(results).hasNumberOfAbortedTests(2).hasNumberOfSucceededTests(2);
+		Assertions
+				.assertThat(abortedMessages(results))
+				.allMatch(message -> message.endsWith("will retry in 10 ms..."));
+	}
+
+	@Test
+	void failsOnceTimeBudgetIsSpent() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "failWithTimeBudget");
+
+		// the second pause would end after the budget, so there's no third execution
+		assertThat(results)
+				.hasNumberOfDynamicallyRegisteredTests(2)
+				.hasNumberOfAbortedTests(1)
+				.hasNumberOfFailedTests(1);
+		assertThat(results)
+				.hasSingleFailedTest()
+				.withExceptionInstanceOf(MultipleFailuresError.class)
+				.extracting(MultipleFailuresError::getFailures, InstanceOfAssertFactories.list(Throwable.class))
+				.last()
+				.extracting(Throwable::getMessage, InstanceOfAssertFactories.STRING)
+				.endsWith("will not retry any more because the time budget of 800 ms is spent");
+	}
+
+	@Test
+	void backoffWithoutSuspendFor_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "backoffWithoutSuspendFor");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@RetryingTest requires that `suspendForMs` be greater than 0 for EXPONENTIAL backoff.");
+	}
+
+	@Test
+	void backoffMultiplierLessThanOne_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "backoffMultiplierLessThanOne");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@RetryingTest requires that `backoffMultiplier` be greater than or equal to 1.");
+	}
+
+	@Test
+	void maxSuspendForLessThanSuspendFor_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "maxSuspendForLessThanSuspendFor");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage(
+					"@RetryingTest requires that `maxSuspendForMs` be 0 or greater than or equal to `suspendForMs`.");
+	}
+
+	@Test
+	void timeBudgetLessThanZero_fails() {
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethod(RetryingTestTestCases.class, "timeBudgetLessThanZero");
+
+		assertThat(results)
+				.hasSingleFailedContainer()
+				.withExceptionInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("@RetryingTest requires that `timeBudgetMs` be greater than or equal to 0.");
+	}
+
+	@Nested
+	class SuspensionTests {
+
+		@Test
+		void fixedBackoffAlwaysSuspendsForTheSameTime() {
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.FIXED, 100, 2, 0, 5, 100, 0.5))
+					.isEqualTo(100);
+		}
+
+		@Test
+		void exponentialBackoffMultipliesWithEachFailure() {
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.EXPONENTIAL, 100, 2, 0, 1, 100, 0.5))
+					.isEqualTo(100);
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.EXPONENTIAL, 100, 2, 0, 4, 100, 0.5))
+					.isEqualTo(800);
+		}
+
+		@Test
+		void exponentialBackoffIsCapped() {
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.EXPONENTIAL, 100, 2, 500, 4, 100, 0.5))
+					.isEqualTo(500);
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.EXPONENTIAL, 100, 10, 0, 100, 100, 0.5))
+					.isEqualTo(Integer.MAX_VALUE);
+		}
+
+		@Test
+		void decorrelatedJitterIsBetweenSuspendForAndMultipliedPreviousSuspension() {
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.DECORRELATED_JITTER, 100, 3, 0, 2, 200, 0))
+					.isEqualTo(100);
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.DECORRELATED_JITTER, 100, 3, 0, 2, 200, 0.5))
+					.isEqualTo(350);
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.DECORRELATED_JITTER, 100, 3, 0, 2, 200, 0.999))
+					.isBetween(590, 600);
+		}
+
+		@Test
+		void decorrelatedJitterIsCapped() {
+			Assertions
+					.assertThat(RetryingTestExtension.suspension(Backoff.DECORRELATED_JITTER, 100, 3, 400, 2, 200, 0.9))
+					.isEqualTo(400);
+		}
+
+	}
+
+	private static List<String> abortedMessages(ExecutionResults results) {
+		return results
+				.testEvents()
+				.aborted()
+				.stream()
+				.map(event -> event.getRequiredPayload(TestExecutionResult.class))
+				.map(result -> result.getThrowable().orElseThrow().getMessage())
+				.collect(toList());
+	}
+
 	private void assertSuspendedFor(ExecutionResults results, long greaterThanOrEqualTo) {
 		List<Execution> finishedExecutions = results.testEvents().executions().finished().list();
 		List<Execution> startedExecutions = results.testEvents().executions().started().list();
@@ -518,6 +676,44 @@ class RetryingTestExtensionTests {
 			throw new IllegalArgumentException();
 		}
 
+		@RetryingTest(maxAttempts = 4, suspendForMs = SUSPEND_FOR, backoff = Backoff.EXPONENTIAL, backoffMultiplier = 3,
+				maxSuspendForMs = 50)
+		void failFourTimesWithExponentialBackoff() {
+			throw new IllegalArgumentException("Retry me");
+		}
+
+		@RetryingTest(maxAttempts = 5, minSuccess = 2, suspendForMs = SUSPEND_FOR, backoff = Backoff.EXPONENTIAL)
+		void failEveryOtherTimeWithExponentialBackoff() {
+			executionCount++;
+			if (executionCount % 2 == 1)
+				throw new IllegalArgumentException();
+		}
+
+		@RetryingTest(maxAttempts = 10, suspendForMs = 500, timeBudgetMs = 800)
+		void failWithTimeBudget() {
+			throw new IllegalArgumentException();
+		}
+
+		@RetryingTest(maxAttempts = 3, backoff = Backoff.EXPONENTIAL)
+		void backoffWithoutSuspendFor() {
+			// Do nothing
+		}
+
+		@RetryingTest(maxAttempts = 3, suspendForMs = 10, backoffMultiplier = 0.5)
+		void backoffMultiplierLessThanOne() {
+			// Do nothing
+		}
+
+		@RetryingTest(maxAttempts = 3, suspendForMs = 10, maxSuspendForMs = 5)
+		void maxSuspendForLessThanSuspendFor() {
+			// Do nothing
+		}
+
+		@RetryingTest(maxAttempts = 3, timeBudgetMs = -1)
+		void timeBudgetLessThanZero() {
+			// Do nothing
+		}
+
 	}
 
 	@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
@@ -12,7 +12,9 @@ package org.junitpioneer.jupiter;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestClass;
+import static org.junitpioneer.testkit.PioneerTestKit.executeTestClassWithConfigurationParameters;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethod;
 import static org.junitpioneer.testkit.PioneerTestKit.executeTestMethodWithParameterTypes;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
@@ -21,14 +23,29 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.PrintStream;
+import java.io.RandomAccessFile;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Nested;
@@ -36,6 +53,10 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junitpioneer.testkit.ExecutionResults;
 
 /**
@@ -127,6 +148,59 @@ public class StdIoExtensionTests {
 						"Lifts up his burning head, each under eye");
 		}
 
+		@Test
+		@StdIo(headBytes = 10)
+		@DisplayName("keeps only the head of the output if limited")
+		void catchesHeadOfOut(StdOut out) {
+			app.write();
+
+			assertThat(out.capturedString()).isEqualTo("Lo! in the");
+			assertThat(out.droppedBytes())
+					.isEqualTo(linesAsString("Lo! in the orient when the gracious light",
+						"Lifts up his burning head, each under eye").length() - 10);
+		}
+
+		@Test
+		@StdIo(headBytes = 4, tailBytes = 10)
+		@DisplayName("keeps the head and tail of the output if limited")
+		void catchesHeadAndTailOfOut(StdOut out) {
+			app.write();
+
+			String lastLine = linesAsString("each under eye");
+			String tail = lastLine.substring(lastLine.length() - 10);
+			assertThat(out.capturedString()).isEqualTo("Lo! " + tail);
+			assertThat(out.droppedBytes())
+					.isEqualTo(linesAsString("Lo! in the orient when the gracious light",
+						"Lifts up his burning head, each under eye").length() - 14);
+		}
+
+		@Test
+		@StdIo(spillThreshold = 0)
+		@DisplayName("streams and searches output that was spilled to a file")
+		void catchesSpilledOut(StdOut out) {
+			for (int i = 0; i < 1_000; i++)
+				app.write();
+
+			assertThat(out.contains("each under eye" + StdIoExtension.SEPARATOR + "Lo! in the orient")).isTrue();
+			try (Stream<String> lines = out.capturedLineStream()) {
+				assertThat(lines.skip(1_998))
+						.containsExactly("Lo! in the orient when the gracious light",
+							"Lifts up his burning head, each under eye");
+			}
+		}
+
+		@Test
+		@StdIo
+		@DisplayName("counts and looks up the lines written to the standard out")
+		void accessesLinesOfOut(StdOut out) {
+			app.write();
+
+			assertThat(out.lineCount()).isEqualTo(2);
+			assertThat(out.line(0)).isEqualTo("Lo! in the orient when the gracious light");
+			assertThat(out.indexOf("Lifts")).isEqualTo(41 + StdIoExtension.SEPARATOR.length());
+			assertThatThrownBy(() -> out.line(2)).isInstanceOf(IndexOutOfBoundsException.class);
+		}
+
 		@Test
 		@StdIo
 		@DisplayName("catches the output on the standard err")
@@ -155,6 +229,21 @@ public class StdIoExtensionTests {
 						"Serving with looks his sacred majesty;");
 		}
 
+		@Test
+		@StdIo({ "Doth homage to his new-appearing sight", "Serving with looks his sacred majesty;" })
+		@DisplayName("counts, looks up, and searches the lines read from the standard in")
+		void accessesLinesOfIn(StdIn in) throws IOException {
+			app.read();
+
+			assertThat(in.lineCount()).isEqualTo(2);
+			assertThat(in.line(1)).isEqualTo("Serving with looks his sacred majesty;");
+			assertThat(in.contains("new-appearing")).isTrue();
+			assertThat(in.indexOf("Doth")).isZero();
+			assertThat(in.capturedLineStream())
+					.containsExactly("Doth homage to his new-appearing sight",
+						"Serving with looks his sacred majesty;");
+		}
+
 		@Test
 		@StdIo("")
 		@DisplayName("catches empty input and reads nothing")
@@ -243,6 +332,241 @@ public class StdIoExtensionTests {
 	}
 
 	@Nested
+	@DisplayName("reads the standard in ")
+	class InputTests {
+
+		@Test
+		@StdIo({ "Doth homage to his new-appearing sight", "Serving with looks his sacred majesty;" })
+		@DisplayName("in bulk")
+		void readsInBulk(StdIn in) throws IOException {
+			byte[] bytes = new byte[1024];
+			int count = System.in.read(bytes, 0, bytes.length);
+
+			String expected = linesAsString("Doth homage to his new-appearing sight",
+				"Serving with looks his sacred majesty;");
+			assertThat(count).isEqualTo(expected.getBytes(Charset.defaultCharset()).length);
+			assertThat(System.in.read(bytes, 0, bytes.length)).isEqualTo(-1);
+			assertThat(in.capturedString()).isEqualTo(expected);
+		}
+
+		@Test
+		@StdIo(inputResource = "org/junitpioneer/jupiter/std-in.txt")
+		@DisplayName("from a classpath resource")
+		void readsResource(StdIn in) throws IOException {
+			app.read();
+
+			assertThat(app.lines)
+					.containsExactly("And having climb'd the steep-up heavenly hill,",
+						"Resembling strong youth in his middle age,");
+			assertThat(in.capturedString())
+					.isEqualTo("And having climb'd the steep-up heavenly hill,\nResembling strong youth in his middle age,\n");
+		}
+
+		@Test
+		@StdIo(inputFile = "src/test/resources/org/junitpioneer/jupiter/std-in.txt")
+		@DisplayName("from a file")
+		void readsFile() throws IOException {
+			app.read();
+
+			assertThat(app.lines)
+					.containsExactly("And having climb'd the steep-up heavenly hill,",
+						"Resembling strong youth in his middle age,");
+		}
+
+		@Test
+		@StdIo(inputMethod = "generatedLines")
+		@DisplayName("from lines generated on demand and captures only their start and end")
+		void readsGeneratedLines(StdIn in) throws IOException {
+			app.read();
+
+			assertThat(app.lines).hasSize(100_000).startsWith("line 0").endsWith("line 99999");
+			assertThat(in.droppedBytes()).isPositive();
+			assertThat(in.line(0)).isEqualTo("line 0");
+			assertThat(in.capturedString()).endsWith("line 99999" + StdIoExtension.SEPARATOR);
+		}
+
+		@Test
+		@StdIo(inputMethod = "byteChannel")
+		@DisplayName("from a byte channel")
+		void readsByteChannel(StdIn in) throws IOException {
+			app.read();
+
+			assertThat(app.lines)
+					.containsExactly("And having climb'd the steep-up heavenly hill,",
+						"Resembling strong youth in his middle age,");
+			assertThat(in.capturedString())
+					.isEqualTo("And having climb'd the steep-up heavenly hill,\nResembling strong youth in his middle age,\n");
+		}
+
+		Iterator<String> generatedLines() {
+			return IntStream.range(0, 100_000).mapToObj(i -> "line " + i).iterator();
+		}
+
+		ReadableByteChannel byteChannel() {
+			return Channels
+					.newChannel(StdIoExtensionTests.class.getResourceAsStream("/org/junitpioneer/jupiter/std-in.txt"));
+		}
+
+		@Test
+		@DisplayName("from a memory-mapped file if it's large")
+		void mapsLargeFile(@TempDir Path directory) throws IOException {
+			Path small = Files.write(directory.resolve("small.txt"), new byte[1024]);
+			Path large = Files.write(directory.resolve("large.txt"), new byte[(int) StdIn.MAPPING_THRESHOLD]);
+
+			assertThat(StdIn.readFile(small).isDirect()).isFalse();
+			ByteBuffer mapped = StdIn.readFile(large);
+			assertThat(mapped.isDirect()).isTrue();
+			assertThat(mapped.remaining()).isEqualTo(StdIn.MAPPING_THRESHOLD);
+		}
+
+		@Test
+		@DisplayName("from a non-blocking byte channel that has no input yet")
+		void readsNonBlockingChannel() throws IOException {
+			StdIn in = new StdIn(new NonBlockingChannel(500, "input"), new CaptureBuffer(Charset.defaultCharset()));
+
+			assertThat(in.readAllBytes()).isEqualTo("input".getBytes(Charset.defaultCharset()));
+			in.discard();
+		}
+
+		@Test
+		@DisplayName("until interrupted while waiting for a non-blocking byte channel")
+		void interruptedWhileWaitingForChannel() {
+			StdIn in = new StdIn(new NonBlockingChannel(Integer.MAX_VALUE, ""),
+				new CaptureBuffer(Charset.defaultCharset()));
+
+			Thread.currentThread().interrupt();
+			try {
+				assertThatThrownBy(in::read).isInstanceOf(InterruptedIOException.class);
+			}
+			finally {
+				Thread.interrupted();
+				in.discard();
+			}
+		}
+
+		@Test
+		@DisplayName("but not from a file that is too large to be mapped")
+		void rejectsTooLargeFile(@TempDir Path directory) throws IOException {
+			Path tooLarge = directory.resolve("too-large.txt");
+			// the file is sparse on most file systems, so it doesn't take up 2 GiB
+			try (RandomAccessFile file = new RandomAccessFile(tooLarge.toFile(), "rw")) {
+				file.setLength(Integer.MAX_VALUE + 1L);
+			}
+
+			assertThatThrownBy(() -> StdIn.readFile(tooLarge))
+					.isInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContainingAll("2147483648 bytes", "at most 2147483647 bytes", "inputMethod");
+		}
+
+	}
+
+	@Nested
+	@DisplayName("routes the standard in and out per thread ")
+	class RoutingTests {
+
+		@Test
+		@StdIo
+		@DisplayName("and captures output of threads spawned by the test")
+		void catchesOutOfSpawnedThread(StdOut out) throws InterruptedException {
+			Thread thread = new Thread(app::write);
+			thread.start();
+			thread.join();
+
+			assertThat(out.capturedLines())
+					.containsExactly("Lo! in the orient when the gracious light",
+						"Lifts up his burning head, each under eye");
+		}
+
+		@Test
+		// the executed tests route the standard streams, which other tests may check
+		@ReadsStdIo
+		@DisplayName("so that concurrent tests capture their own output")
+		void concurrentTests() {
+			// the dynamic parallelism might be 1 on the current machine
+			ExecutionResults results = executeTestClassWithConfigurationParameters(
+				Map.of("junit.jupiter.execution.parallel.config.strategy", "fixed",
+					"junit.jupiter.execution.parallel.config.fixed.parallelism", "2"),
+				ConcurrentTestCases.class);
+
+			assertThat(results).hasNumberOfSucceededTests(2);
+		}
+
+		@Test
+		@DisplayName("but not output of threads spawned before the test body runs")
+		void ignoresThreadsSpawnedBeforeTestBody() {
+			ExecutionResults results = executeTestClass(SpawningBeforeTestBodyTestCases.class);
+
+			assertThat(results).hasSingleSucceededTest();
+		}
+
+	}
+
+	@Execution(ExecutionMode.CONCURRENT)
+	static class ConcurrentTestCases {
+
+		// makes both tests run at the same time, but doesn't wait forever if they don't
+		private static final CountDownLatch BOTH_STARTED = new CountDownLatch(2);
+
+		@Test
+		@StdIo("Sonnet VII")
+		void first(StdIn in, StdOut out, StdErr err) throws Exception {
+			writeAndRead("first", in, out, err);
+		}
+
+		@Test
+		@StdIo("Sonnet VIII")
+		void second(StdIn in, StdOut out, StdErr err) throws Exception {
+			writeAndRead("second", in, out, err);
+		}
+
+		private static void writeAndRead(String test, StdIn in, StdOut out, StdErr err) throws Exception {
+			System.out.println(test + " before");
+			BOTH_STARTED.countDown();
+			assertThat(BOTH_STARTED.await(5, TimeUnit.SECONDS)).isTrue();
+			System.out.println(test + " after");
+			System.err.println(test);
+			String line = new BufferedReader(new InputStreamReader(System.in)).readLine();
+
+			assertThat(out.capturedLines()).containsExactly(test + " before", test + " after");
+			assertThat(err.capturedLines()).containsExactly(test);
+			assertThat(line).isEqualTo(in.capturedLines()[0]);
+		}
+
+	}
+
+	static class SpawningBeforeTestBodyTestCases {
+
+		private final CountDownLatch testBodyRuns = new CountDownLatch(1);
+		private Thread spawned;
+
+		@BeforeEach
+		void spawnThread() {
+			// like pool threads started by other extensions, this thread isn't started by the test body
+			spawned = new Thread(() -> {
+				try {
+					testBodyRuns.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				System.out.println();
+			});
+			spawned.start();
+		}
+
+		@Test
+		@StdIo("")
+		void test(StdOut out) throws InterruptedException {
+			testBodyRuns.countDown();
+			spawned.join();
+
+			assertThat(out.capturedString()).isEmpty();
+		}
+
+	}
+
+	@Nested
+	@WritesStdIo
 	@TestMethodOrder(OrderAnnotation.class)
 	@DisplayName("resets the standard in and out ")
 	class ResettingTests {
@@ -398,6 +722,56 @@ public class StdIoExtensionTests {
 			assertThat(results).hasSingleFailedTest();
 		}
 
+		@Test
+		@DisplayName("with several inputs, an exception is thrown")
+		void withSeveralInputs() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurationTestCases.class, "severalInputs");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("only define one of");
+		}
+
+		@Test
+		@DisplayName("with a missing input resource, an exception is thrown")
+		void withMissingInputResource() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurationTestCases.class, "missingInputResource");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("does not exist");
+		}
+
+	}
+
+	@Nested
+	@DisplayName("with an input method ")
+	class InputMethodConfigurationTests {
+
+		@Test
+		@DisplayName("that doesn't exist, an exception is thrown")
+		void missingInputMethod() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurationTestCases.class, "missingInputMethod");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("not found");
+		}
+
+		@Test
+		@DisplayName("that returns neither lines nor bytes, an exception is thrown")
+		void wrongInputMethodType() {
+			ExecutionResults results = executeTestMethod(IllegalConfigurationTestCases.class, "wrongInputMethodType");
+
+			assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(ExtensionConfigurationException.class)
+					.hasMessageContaining("must return an `Iterator<String>` or a `ReadableByteChannel`");
+		}
+
 	}
 
 	static class CorrectConfigurationTestCases {
@@ -431,6 +805,30 @@ public class StdIoExtensionTests {
 		void noInputButStdIn(StdIn in) {
 		}
 
+		@Test
+		@StdIo(value = "Hello, World", inputResource = "org/junitpioneer/jupiter/std-in.txt")
+		void severalInputs() {
+		}
+
+		@Test
+		@StdIo(inputResource = "org/junitpioneer/jupiter/missing.txt")
+		void missingInputResource() {
+		}
+
+		@Test
+		@StdIo(inputMethod = "missing")
+		void missingInputMethod() {
+		}
+
+		@Test
+		@StdIo(inputMethod = "wrongInputType")
+		void wrongInputMethodType() {
+		}
+
+		static List<String> wrongInputType() {
+			return List.of("Hello, World");
+		}
+
 	}
 
 	/**
@@ -492,6 +890,46 @@ public class StdIoExtensionTests {
 
 	}
 
+	/**
+	 * A channel that has no input for the given number of reads, like a non-blocking channel.
+	 */
+	private static class NonBlockingChannel implements ReadableByteChannel {
+
+		private final ByteBuffer input;
+		private int idleReads;
+		private boolean open = true;
+
+		NonBlockingChannel(int idleReads, String input) {
+			this.idleReads = idleReads;
+			this.input = ByteBuffer.wrap(input.getBytes(Charset.defaultCharset()));
+		}
+
+		@Override
+		public int read(ByteBuffer destination) {
+			if (idleReads > 0) {
+				idleReads--;
+				return 0;
+			}
+			if (!input.hasRemaining())
+				return -1;
+			int count = Math.min(destination.remaining(), input.remaining());
+			destination.put(input.slice().limit(count));
+			input.position(input.position() + count);
+			return count;
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() {
+			open = false;
+		}
+
+	}
+
 	private static String linesAsString(String... lines) {
 		return String.join(StdIoExtension.SEPARATOR, lines) + StdIoExtension.SEPARATOR;
 	}
@@ -13,8 +13,14 @@ package org.junitpioneer.jupiter;
 import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
 import org.junitpioneer.testkit.ExecutionResults;
 import org.junitpioneer.testkit.PioneerTestKit;
 import org.junitpioneer.testkit.assertion.reportentry.ReportEntryContentAssert;
@@ -62,6 +68,52 @@ public class StopwatchExtensionTests {
 		assertThat(results).hasNumberOfReportEntries(0);
 	}
 
+	@Test
+	@DisplayName("should report an entry for each invocation of a template and a summary of all invocations")
+	void runTemplateTest() {
+		ExecutionResults results = PioneerTestKit.executeTestClass(TemplateTestCases.class);
+
+		assertThat(results)
+				.hasNumberOfReportEntries(6)
+				.values()
+				.filteredOn(value -> value.startsWith("Execution of 'repeated()' (5 invocations) took"))
+				.singleElement()
+				.asString()
+				.matches(".* min \\[[0-9.]+\\] ms, max \\[[0-9.]+\\] ms, mean \\[[0-9.]+\\] ms, p50 \\[[0-9.]+\\] ms, "
+						+ "p90 \\[[0-9.]+\\] ms, p99 \\[[0-9.]+\\] ms, p99.9 \\[[0-9.]+\\] ms.");
+	}
+
+	@Test
+	@DisplayName("should report an entry for each lifecycle phase if configured")
+	void runPhasesTest() {
+		ExecutionResults results = PioneerTestKit.executeTestClass(PhasesTestCases.class);
+
+		assertThat(results)
+				.hasNumberOfReportEntries(8)
+				.values()
+				.filteredOn(value -> value.startsWith("Phase"))
+				.extracting(value -> value.substring(0, value.indexOf(" of ")))
+				.containsExactlyInAnyOrder("Phase 'constructor'", "Phase 'before all (beforeAll())'",
+					"Phase 'before each (beforeEach())'", "Phase 'parameter resolution'", "Phase 'test body'",
+					"Phase 'after each (afterEach())'", "Phase 'after all (afterAll())'");
+	}
+
+	@Test
+	@DisplayName("should report CPU time and allocated bytes if configured")
+	void runThreadUsageTest() {
+		ExecutionResults results = PioneerTestKit.executeTestClass(ThreadUsageTestCases.class);
+
+		assertThat(results).hasNumberOfReportEntries(3).andThen((key, value) -> {
+			if (key.equals(StopwatchExtension.CPU_TIME_KEY))
+				Assertions.assertThat(value).matches("Execution of 'allocating\\(\\)' used \\[[0-9.]+\\] ms of CPU time.");
+			if (key.equals(StopwatchExtension.ALLOCATION_KEY))
+				// the test allocates 10 MiB
+				Assertions
+						.assertThat(Long.parseLong(value.replaceAll(".*\\[([0-9]+)\\] bytes.", "$1")))
+						.isGreaterThanOrEqualTo(10 * 1024 * 1024);
+		});
+	}
+
 	@Test
 	@DisplayName("should not change the report entry key")
 	void verifyReportEntryKey() {
@@ -72,7 +124,9 @@ public class StopwatchExtensionTests {
 
 	private void assertStringStartWithUnitAndContainsName(ExecutionResults results, String methodName) {
 		ReportEntryContentAssert reportEntry = assertThat(results).hasNumberOfReportEntries(1);
-		reportEntry.firstValue().matches(String.format("Execution of '%s\\(\\)' took \\[[0-9]*\\] ms.", methodName));
+		reportEntry
+				.firstValue()
+				.matches(String.format("Execution of '%s\\(\\)' took \\[[0-9]+\\.[0-9]{3}\\] ms.", methodName));
 		reportEntry.firstKey().isEqualTo(StopwatchExtension.STORE_KEY);
 	}
 
@@ -113,6 +167,61 @@ public class StopwatchExtensionTests {
 
 	}
 
+	/**
+	 * Inner test class for testing the statistics of a test template.
+	 */
+	static class TemplateTestCases {
+
+		@RepeatedTest(5)
+		@Stopwatch
+		void repeated() {
+		}
+
+	}
+
+	/**
+	 * Inner test class for testing the lifecycle phases.
+	 */
+	@Stopwatch(phases = true)
+	static class PhasesTestCases {
+
+		@BeforeAll
+		static void beforeAll() {
+		}
+
+		@BeforeEach
+		void beforeEach() {
+		}
+
+		@Test
+		void test(TestInfo info) {
+		}
+
+		@AfterEach
+		void afterEach() {
+		}
+
+		@AfterAll
+		static void afterAll() {
+		}
+
+	}
+
+	/**
+	 * Inner test class for testing the measurement of CPU time and allocations.
+	 */
+	static class ThreadUsageTestCases {
+
+		@Test
+		@Stopwatch(cpuTime = true, allocations = true)
+		void allocating() {
+			byte[][] allocations = new byte[10][];
+			for (int i = 0; i < allocations.length; i++)
+				allocations[i] = new byte[1024 * 1024];
+		}
+
+	}
+
 	/**
 	 * Inner test class for testing a not annotated method / class annotation.
 	 */
@@ -11,12 +11,15 @@
 package org.junitpioneer.jupiter.issue;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.ALLOCATION_REPORT_KEY;
+import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.CPU_TIME_REPORT_KEY;
 import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.REPORT_ENTRY_KEY;
 import static org.junitpioneer.jupiter.issue.IssueExtensionExecutionListener.TIME_REPORT_KEY;
 import static org.junitpioneer.jupiter.issue.TestPlanHelper.createTestIdentifier;
 import static org.mockito.Mockito.mock;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
@@ -73,6 +76,26 @@ public class IssueExtensionExecutionListenerTests {
 				.containsExactly(new IssueTestCase("[test:successful-test]", Status.SUCCESSFUL, 6L));
 	}
 
+	@Test
+	void issueTestCaseWithThreadUsageCreated() {
+		TestIdentifier successfulTest = createTestIdentifier("successful-test");
+
+		executionListener.testPlanExecutionStarted(testPlan);
+		executionListener.reportingEntryPublished(successfulTest, ReportEntry.from(REPORT_ENTRY_KEY, "#123"));
+		executionListener.reportingEntryPublished(successfulTest, ReportEntry.from(TIME_REPORT_KEY, "6"));
+		executionListener.reportingEntryPublished(successfulTest, ReportEntry.from(CPU_TIME_REPORT_KEY, "4"));
+		executionListener.reportingEntryPublished(successfulTest, ReportEntry.from(ALLOCATION_REPORT_KEY, "1024"));
+		executionListener.executionStarted(successfulTest);
+		executionListener.executionFinished(successfulTest, TestExecutionResult.successful());
+		executionListener.testPlanExecutionFinished(testPlan);
+
+		List<IssueTestSuite> allTests = executionListener.createIssueTestSuites();
+		assertThat(allTests).hasSize(1);
+		assertThat(allTests.get(0).tests())
+				.containsExactly(new IssueTestCase("[test:successful-test]", Status.SUCCESSFUL, Optional.of(6L),
+					Optional.of(4L), Optional.of(1024L)));
+	}
+
 	@Test
 	void abortedIssueTestCaseCreated() {
 		ReportEntry issueEntry = ReportEntry.from(REPORT_ENTRY_KEY, "#123");
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.converter.ArgumentConversionException;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.PioneerTestKit;
+import org.junitpioneer.testkit.assertion.PioneerAssert;
+
+@DisplayName("Built-in JSON converter")
+class BuiltInJsonConverterTests {
+
+	private final JsonConverter converter = BuiltInJsonConverter.getConverter();
+
+	@Nested
+	@DisplayName("parser")
+	class ParserTests {
+
+		@Test
+		@DisplayName("parses all JSON value types")
+		void parsesValues() {
+			Node node = converter
+					.toNode(new ByteArrayInputStream(
+						("{ \"string\": \"a\\\"b\\u0041\", \"int\": -12, \"long\": 12345678901, "
+								+ "\"big\": 123456789012345678901234567890, \"double\": 1.5e2, "
+								+ "\"booleans\": [ true, false ], \"null\": null, \"empty\": {} }").getBytes(UTF_8)));
+
+			assertThat(value(node, "string")).isEqualTo("a\"bA");
+			assertThat(value(node, "int")).isEqualTo(-12);
+			assertThat(value(node, "long")).isEqualTo(12345678901L);
+			assertThat(value(node, "big")).isEqualTo(new BigInteger("123456789012345678901234567890"));
+			assertThat(value(node, "double")).isEqualTo(150.0);
+			assertThat(node.getNode("booleans").get().elements().map(element -> element.value(Object.class)))
+					.containsExactly(true, false);
+			assertThat(node.getNode("null")).isPresent();
+			assertThat(value(node, "null")).isNull();
+			assertThat(node.getNode("missing")).isEmpty();
+		}
+
+		@Test
+		@DisplayName("supports lenient syntax if requested")
+		void parsesLenientSyntax() {
+			String json = "[ { name: 'Luke', /* the hero */ height: 172, }, // trailing comma\n ]";
+
+			Node node = converter.toNode(json, true);
+
+			assertThat(node.isArray()).isTrue();
+			List<Node> elements = node.elements().collect(toList());
+			assertThat(elements).hasSize(1);
+			assertThat(value(elements.get(0), "name")).isEqualTo("Luke");
+			assertThat(value(elements.get(0), "height")).isEqualTo(172);
+		}
+
+		@Test
+		@DisplayName("rejects lenient syntax by default")
+		void rejectsLenientSyntax() {
+			assertThatThrownBy(() -> converter.toNode("{ name: 'Luke' }", false))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Unexpected 'n' in JSON at line 1, column 3");
+		}
+
+		@Test
+		@DisplayName("reports the location of malformed JSON")
+		void reportsLocation() {
+			assertThatThrownBy(() -> converter.toNode("{\n  \"name\": \"Luke\"\n  \"height\": 172 }", false))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Unexpected '\"' in JSON at line 3, column 3");
+			assertThatThrownBy(() -> converter.toNode("[ 1, 2", false))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageStartingWith("Unexpected end of input");
+		}
+
+		@Test
+		@DisplayName("extracts the elements at the data location")
+		void extractsDataLocation() {
+			List<Node> nodes = converter
+					.toNodes(new ByteArrayInputStream("{ \"data\": [ 1, 2 ] }".getBytes(UTF_8)), "data", null)
+					.collect(toList());
+
+			assertThat(nodes).extracting(node -> node.value(Object.class)).containsExactly(1, 2);
+		}
+
+		private Object value(Node node, String name) {
+			return node.getNode(name).get().value(Object.class);
+		}
+
+	}
+
+	@Nested
+	@DisplayName("type conversion")
+	class ConversionTests {
+
+		@Test
+		@DisplayName("converts to primitives, strings and enums")
+		void convertsScalars() {
+			assertThat((Integer) converter.toNode("172", false).toType(int.class)).isEqualTo(172);
+			assertThat((Double) converter.toNode("172", false).toType(double.class)).isEqualTo(172.0);
+			assertThat((Long) converter.toNode("\"172\"", false).toType(Long.class)).isEqualTo(172L);
+			assertThat((Character) converter.toNode("\"x\"", false).toType(char.class)).isEqualTo('x');
+			assertThat((String) converter.toNode("66", false).toType(String.class)).isEqualTo("66");
+			assertThat((Boolean) converter.toNode("null", false).toType(boolean.class)).isFalse();
+			assertThat((Side) converter.toNode("\"LIGHT\"", false).toType(Side.class)).isEqualTo(Side.LIGHT);
+		}
+
+		@Test
+		@DisplayName("fails on numbers that are out of range")
+		void failsOnOverflowingNumbers() {
+			assertThatThrownBy(() -> converter.toNode("3000000000", false).toType(int.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessage("Cannot convert JSON value 3000000000 to type java.lang.Integer");
+			assertThatThrownBy(() -> converter.toNode("9223372036854775808", false).toType(long.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessage("Cannot convert JSON value 9223372036854775808 to type java.lang.Long");
+			assertThatThrownBy(() -> converter.toNode("300", false).toType(byte.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessage("Cannot convert JSON value 300 to type java.lang.Byte");
+		}
+
+		@Test
+		@DisplayName("fails on fractional numbers for integral types")
+		void failsOnFractionalNumbers() {
+			assertThatThrownBy(() -> converter.toNode("\"1.9\"", false).toType(int.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessage("Cannot convert JSON value 1.9 to type java.lang.Integer");
+			assertThat((Integer) converter.toNode("2.0", false).toType(int.class)).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("converts to arrays, collections, and maps")
+		void convertsContainers() throws NoSuchFieldException {
+			Node node = converter.toNode("{ \"luke\": [ 172, 66 ], \"yoda\": [ 66 ] }", false);
+
+			Type mapType = Containers.class.getDeclaredField("heights").getGenericType();
+			Map<String, List<Long>> heights = node.toType(mapType);
+			assertThat(heights)
+					.containsExactly(Map.entry("luke", List.of(172L, 66L)), Map.entry("yoda", List.of(66L)));
+			Node array = node.getNode("luke").get();
+			assertThat((int[]) array.toType(int[].class)).containsExactly(172, 66);
+			Set<Object> set = array.toType(Set.class);
+			assertThat(set).containsExactly(172, 66);
+			LinkedList<Object> list = array.toType(LinkedList.class);
+			assertThat(list).containsExactly(172, 66);
+		}
+
+		@Test
+		@DisplayName("converts to objects via setters and fields")
+		void convertsObjects() {
+			Node node = converter
+					.toNode("{ name: 'Luke', height: 172, side: 'LIGHT', location: { name: 'Tatooine' } }", true);
+
+			Jedi jedi = node.toType(Jedi.class);
+
+			assertThat(jedi.name).isEqualTo("Luke");
+			assertThat(jedi.height).isEqualTo(172);
+			assertThat(jedi.side).isEqualTo(Side.LIGHT);
+			assertThat(jedi.location.getName()).isEqualTo("Tatooine");
+		}
+
+		@Test
+		@DisplayName("fails on unknown properties")
+		void failsOnUnknownProperty() {
+			Node node = converter.toNode("{ name: 'Luke', lightsaber: 'green' }", true);
+
+			assertThatThrownBy(() -> node.toType(Jedi.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessageContaining("has no property 'lightsaber'");
+		}
+
+		@Test
+		@DisplayName("fails on mismatching types")
+		void failsOnMismatchingType() {
+			Node node = converter.toNode("{ name: 'Luke', height: [ 172 ] }", true);
+
+			assertThatThrownBy(() -> node.toType(Jedi.class))
+					.isInstanceOf(ArgumentConversionException.class)
+					.hasMessageContaining("Cannot convert JSON value [172] to type java.lang.Integer");
+		}
+
+	}
+
+	@Nested
+	@DisplayName("as object mapper")
+	class ObjectMapperTests {
+
+		@Test
+		@DisplayName("is used with @UseObjectMapper(\"builtin\")")
+		void annotation() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypes(BuiltInJsonConverterTestCases.class, "annotated",
+						String.class, Location.class);
+
+			PioneerAssert.assertThat(results).hasNumberOfSucceededTests(2);
+		}
+
+		@Test
+		@DisplayName("is used with configuration parameter value 'builtin'")
+		void configurationParameter() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethodWithParameterTypesAndConfigurationParameters(
+						Map.of("org.junitpioneer.jupiter.json.objectmapper", "builtin"),
+						BuiltInJsonConverterTestCases.class, "configured", Jedi.class);
+
+			PioneerAssert.assertThat(results).hasNumberOfSucceededTests(2);
+		}
+
+	}
+
+	static class BuiltInJsonConverterTestCases {
+
+		@ParameterizedTest
+		@UseObjectMapper("builtin")
+		@JsonSource({ "{ name: 'Yoda', location: { name: 'unknown' } }",
+				"{ name: 'Luke', location: { name: 'Tatooine' } }" })
+		void annotated(@Property("name") String name, @Property("location") Location location) {
+			assertThat(location.getName()).isIn("unknown", "Tatooine");
+		}
+
+		@ParameterizedTest
+		@JsonClasspathSource("org/junitpioneer/jupiter/json/jedis.json")
+		void configured(Jedi jedi) {
+			assertThat(jedi.name).isIn("Luke", "Yoda");
+		}
+
+	}
+
+	static class Containers {
+
+		Map<String, List<Long>> heights;
+
+	}
+
+	enum Side {
+		LIGHT, DARK
+	}
+
+	static class Jedi {
+
+		private String name;
+		private Integer height;
+		private Side side;
+		private Location location;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+	}
+
+	static class Location {
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+	}
+
+}
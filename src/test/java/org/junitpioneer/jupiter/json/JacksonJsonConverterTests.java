@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.PreconditionViolationException;
+
+@DisplayName("Jackson JSON converter")
+class JacksonJsonConverterTests {
+
+	private static final String JEDIS = "{ \"metadata\": { \"data\": [ 1, 2 ] }, \"data\": [ "
+			+ "{ \"name\": \"Luke\", \"height\": 172, \"vehicles\": [ { \"name\": \"Snowspeeder\" } ] }, "
+			+ "{ \"name\": \"Yoda\", \"height\": 66, \"location\": { \"name\": \"unknown\" } } ] }";
+
+	private final JsonConverter converter = JacksonJsonConverter.getConverter("default");
+
+	@Test
+	@DisplayName("extracts the elements of the array at the data location")
+	void extractsDataLocation() {
+		List<Node> nodes = converter.toNodes(stream(JEDIS), "data", null).collect(toList());
+
+		assertThat(nodes).hasSize(2);
+		assertThat(nodes.get(0).getNode("name"))
+				.hasValueSatisfying(name -> assertThat(name.value(String.class)).isEqualTo("Luke"));
+		assertThat(nodes.get(0).getNode("vehicles")).isPresent();
+		assertThat(nodes.get(1).getNode("location")).isPresent();
+	}
+
+	@Test
+	@DisplayName("extracts the root element if no data location is given")
+	void extractsRoot() {
+		List<Node> nodes = converter.toNodes(stream(JEDIS), "", null).collect(toList());
+
+		assertThat(nodes).hasSize(1);
+		assertThat(nodes.get(0).getNode("metadata")).isPresent();
+		assertThat(nodes.get(0).getNode("data")).isPresent();
+	}
+
+	@Test
+	@DisplayName("fails if the data location does not exist")
+	void failsOnMissingDataLocation() {
+		assertThatThrownBy(() -> converter.toNodes(stream(JEDIS), "dummy", null))
+				.isInstanceOf(PreconditionViolationException.class)
+				.hasMessage("Node {\"metadata\":...,\"data\":...} does not have data element at dummy");
+	}
+
+	@Test
+	@DisplayName("fails if the root is no object but a data location is given")
+	void failsOnDataLocationInArray() {
+		assertThatThrownBy(() -> converter.toNodes(stream("[ 1, 2 ]"), "data", null))
+				.isInstanceOf(PreconditionViolationException.class)
+				.hasMessage("Node [...] does not have data element at data");
+	}
+
+	@Test
+	@DisplayName("fails if the document is empty")
+	void failsOnEmptyDocument() {
+		assertThatThrownBy(() -> converter.toNodes(stream(" "), "", null))
+				.isInstanceOf(PreconditionViolationException.class)
+				.hasMessage("JSON source does not contain any JSON value");
+		assertThatThrownBy(() -> converter.toNode(stream("")))
+				.isInstanceOf(PreconditionViolationException.class)
+				.hasMessage("JSON source does not contain any JSON value");
+	}
+
+	@Test
+	@DisplayName("only materializes the requested properties")
+	void projectsProperties() {
+		List<Node> nodes = converter.toNodes(stream(JEDIS), "data", Set.of("name", "height")).collect(toList());
+
+		assertThat(nodes).hasSize(2);
+		assertThat(nodes.get(0).getNode("name"))
+				.hasValueSatisfying(name -> assertThat(name.value(String.class)).isEqualTo("Luke"));
+		assertThat(nodes.get(0).getNode("height"))
+				.hasValueSatisfying(height -> assertThat(height.value(int.class)).isEqualTo(172));
+		assertThat(nodes.get(0).getNode("vehicles")).isEmpty();
+		assertThat(nodes.get(1).getNode("location")).isEmpty();
+	}
+
+	private static InputStream stream(String json) {
+		return new ByteArrayInputStream(json.getBytes(UTF_8));
+	}
+
+}
@@ -20,6 +20,7 @@ import static org.junitpioneer.testkit.assertion.PioneerAssert.assertThat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
@@ -30,6 +31,7 @@ import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.support.descriptor.MethodSource;
 import org.junit.platform.testkit.engine.Event;
 import org.junitpioneer.jupiter.cartesian.CartesianTest;
+import org.junitpioneer.jupiter.params.DisableIfDisplayName;
 import org.junitpioneer.testkit.ExecutionResults;
 import org.junitpioneer.testkit.PioneerTestKit;
 
@@ -41,6 +43,9 @@ class JsonClasspathSourceArgumentsProviderTests {
 	private static final String JEDIS = "org/junitpioneer/jupiter/json/jedis.json";
 	private static final String YODA = "org/junitpioneer/jupiter/json/yoda.json";
 	private static final String LUKE = "org/junitpioneer/jupiter/json/luke.json";
+	private static final String JEDIS_GZIP = "org/junitpioneer/jupiter/json/jedis.json.gz";
+	private static final String JEDIS_ZIP = "org/junitpioneer/jupiter/json/jedis.zip";
+	private static final String JEDIS_WITH_METADATA = "org/junitpioneer/jupiter/json/jedis-with-metadata.json";
 
 	@Test
 	void assertAllValuesSupplied() {
@@ -55,7 +60,8 @@ class JsonClasspathSourceArgumentsProviderTests {
 		assertThat(displayNames)
 				.containsOnlyKeys("singleObject", "singleObjectAttribute", "deconstructObjectsFromArray",
 					"customDataLocation", "deconstructObjectsFromMultipleFiles",
-					"deconstructObjectsFromMultipleFilesIntoComplexType");
+					"deconstructObjectsFromMultipleFilesIntoComplexType", "gzipCompressedFile", "zipArchiveEntries",
+					"dataLocationBetweenOtherElements");
 
 		assertThat(displayNames.get("singleObject"))
 				.containsExactly("[1] Jedi {name='Luke', height=172}", "[2] Jedi {name='Yoda', height=66}");
@@ -72,6 +78,14 @@ class JsonClasspathSourceArgumentsProviderTests {
 
 		assertThat(displayNames.get("deconstructObjectsFromMultipleFilesIntoComplexType"))
 				.containsExactly("[1] Yoda, Location {name='unknown'}", "[2] Luke, Location {name='Tatooine'}");
+
+		assertThat(displayNames.get("gzipCompressedFile"))
+				.containsExactly("[1] Jedi {name='Luke', height=172}", "[2] Jedi {name='Yoda', height=66}");
+
+		assertThat(displayNames.get("zipArchiveEntries")).containsExactly("[1] Yoda, 66", "[2] Luke, 172");
+
+		assertThat(displayNames.get("dataLocationBetweenOtherElements"))
+				.containsExactly("[1] Luke, 172", "[2] Yoda, 66");
 	}
 
 	@Test
@@ -104,6 +118,18 @@ class JsonClasspathSourceArgumentsProviderTests {
 					"[3] Luke, Location {name='unknown'}", "[4] Luke, Location {name='Tatooine'}");
 	}
 
+	@Test
+	void skippedCartesianInvocationsDontConvertArguments() {
+		CountedJedi.CREATED.set(0);
+
+		ExecutionResults results = PioneerTestKit
+				.executeTestMethodWithParameterTypes(LazyConversionTestCases.class, "skipSecond", CountedJedi.class);
+
+		assertThat(results).hasNumberOfSkippedTests(1);
+		assertThat(results).hasNumberOfSucceededTests(1);
+		assertThat(CountedJedi.CREATED).hasValue(1);
+	}
+
 	private static String testSourceMethodName(TestDescriptor testDescriptor) {
 		return testDescriptor
 				.getSource()
@@ -156,6 +182,25 @@ class JsonClasspathSourceArgumentsProviderTests {
 					.containsAnyOf(tuple("Luke", "Tatooine"), tuple("Yoda", "unknown"));
 		}
 
+		@ParameterizedTest
+		@JsonClasspathSource(JEDIS_GZIP)
+		void gzipCompressedFile(Jedi jedi) {
+			assertThat(Set.of(tuple(jedi.getName(), jedi.getHeight())))
+					.containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
+		@ParameterizedTest
+		@JsonClasspathSource(JEDIS_ZIP)
+		void zipArchiveEntries(@Property("name") String name, @Property("height") int height) {
+			assertThat(Set.of(tuple(name, height))).containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
+		@ParameterizedTest
+		@JsonClasspathSource(value = JEDIS_WITH_METADATA, data = "data")
+		void dataLocationBetweenOtherElements(@Property("name") String name, @Property("height") int height) {
+			assertThat(Set.of(tuple(name, height))).containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
 	}
 
 	@Nested
@@ -273,6 +318,15 @@ class JsonClasspathSourceArgumentsProviderTests {
 
 	}
 
+	static class LazyConversionTestCases {
+
+		@CartesianTest(name = "[{index}]")
+		@DisableIfDisplayName(contains = "[2]")
+		void skipSecond(@JsonClasspathSource(JEDIS) CountedJedi jedi) {
+		}
+
+	}
+
 	// This class uses the Java Bean convention since the creation of the object is done by the Json Parsing library
 	// We want to avoid adding specific Json Library annotations to this class, only to support Java record style
 	static class Jedi {
@@ -303,6 +357,16 @@ class JsonClasspathSourceArgumentsProviderTests {
 
 	}
 
+	static class CountedJedi extends Jedi {
+
+		static final AtomicInteger CREATED = new AtomicInteger();
+
+		public CountedJedi() {
+			CREATED.incrementAndGet();
+		}
+
+	}
+
 	static class Location {
 
 		private String name;
@@ -42,6 +42,9 @@ class JsonFileSourceArgumentsProviderTests {
 	private static final String JEDIS = TEST_RESOURCE_FOLDER + "jedis.json";
 	private static final String YODA = TEST_RESOURCE_FOLDER + "yoda.json";
 	private static final String LUKE = TEST_RESOURCE_FOLDER + "luke.json";
+	private static final String JEDIS_GZIP = TEST_RESOURCE_FOLDER + "jedis.json.gz";
+	private static final String JEDIS_ZIP = TEST_RESOURCE_FOLDER + "jedis.zip";
+	private static final String JEDI_DIRECTORY = TEST_RESOURCE_FOLDER + "jedi-directory";
 
 	@Test
 	void assertAllValuesSupplied() {
@@ -56,7 +59,8 @@ class JsonFileSourceArgumentsProviderTests {
 		assertThat(displayNames)
 				.containsOnlyKeys("singleObject", "singleObjectAttribute", "deconstructObjectsFromArray",
 					"customDataLocation", "deconstructObjectsFromMultipleFiles",
-					"deconstructObjectsFromMultipleFilesIntoComplexType");
+					"deconstructObjectsFromMultipleFilesIntoComplexType", "gzipCompressedFile", "zipArchiveEntries",
+					"filesFromDirectory", "filesFromDirectoryMatchingGlob");
 
 		assertThat(displayNames.get("singleObject"))
 				.containsExactly("[1] Jedi {name='Luke', height=172}", "[2] Jedi {name='Yoda', height=66}");
@@ -73,6 +77,16 @@ class JsonFileSourceArgumentsProviderTests {
 
 		assertThat(displayNames.get("deconstructObjectsFromMultipleFilesIntoComplexType"))
 				.containsExactly("[1] Yoda, Location {name='unknown'}", "[2] Luke, Location {name='Tatooine'}");
+
+		assertThat(displayNames.get("gzipCompressedFile"))
+				.containsExactly("[1] Jedi {name='Luke', height=172}", "[2] Jedi {name='Yoda', height=66}");
+
+		assertThat(displayNames.get("zipArchiveEntries")).containsExactly("[1] Yoda, 66", "[2] Luke, 172");
+
+		assertThat(displayNames.get("filesFromDirectory")).containsExactly("[1] Luke, 172", "[2] Yoda, 66");
+
+		assertThat(displayNames.get("filesFromDirectoryMatchingGlob"))
+				.containsExactly("[1] Luke, 172", "[2] Grogu, 41", "[3] Yoda, 66");
 	}
 
 	@Test
@@ -161,6 +175,32 @@ class JsonFileSourceArgumentsProviderTests {
 					.containsAnyOf(tuple("Luke", "Tatooine"), tuple("Yoda", "unknown"));
 		}
 
+		@ParameterizedTest
+		@JsonFileSource(JEDIS_GZIP)
+		void gzipCompressedFile(Jedi jedi) {
+			assertThat(Set.of(tuple(jedi.getName(), jedi.getHeight())))
+					.containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
+		@ParameterizedTest
+		@JsonFileSource(JEDIS_ZIP)
+		void zipArchiveEntries(@Property("name") String name, @Property("height") int height) {
+			assertThat(Set.of(tuple(name, height))).containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
+		@ParameterizedTest
+		@JsonFileSource(directories = JEDI_DIRECTORY)
+		void filesFromDirectory(@Property("name") String name, @Property("height") int height) {
+			assertThat(Set.of(tuple(name, height))).containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66));
+		}
+
+		@ParameterizedTest
+		@JsonFileSource(directories = JEDI_DIRECTORY, glob = "**.json")
+		void filesFromDirectoryMatchingGlob(@Property("name") String name, @Property("height") int height) {
+			assertThat(Set.of(tuple(name, height)))
+					.containsAnyOf(tuple("Luke", 172), tuple("Yoda", 66), tuple("Grogu", 41));
+		}
+
 	}
 
 	@Nested
@@ -236,6 +276,17 @@ class JsonFileSourceArgumentsProviderTests {
 					.hasMessageStartingWith("File does not exist: ");
 		}
 
+		@Test
+		void nonExistentDirectory() {
+			ExecutionResults results = PioneerTestKit
+					.executeTestMethod(InvalidJsonSourceTestCases.class, "nonExistentDirectory");
+
+			assertThat(results)
+					.hasSingleFailedContainer()
+					.withExceptionInstanceOf(PreconditionViolationException.class)
+					.hasMessageStartingWith("Directory does not exist: ");
+		}
+
 		@Test
 		void dataLocationMissing() {
 			ExecutionResults results = PioneerTestKit
@@ -269,6 +320,12 @@ class JsonFileSourceArgumentsProviderTests {
 
 		}
 
+		@JsonFileSource(directories = TEST_RESOURCE_FOLDER + "dummy-jedi-directory")
+		@ParameterizedTest
+		void nonExistentDirectory() {
+
+		}
+
 		@JsonFileSource(value = { YODA }, data = "dummy")
 		@ParameterizedTest
 		void dataLocationMissing() {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.json;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.json.AbstractJsonSourceBasedArgumentsProvider.Source;
+
+@DisplayName("Reading several JSON sources concurrently")
+public class ParallelSourceReaderTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void shutDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	@DisplayName("reads the sources concurrently")
+	void readsConcurrently() {
+		CountDownLatch bothReading = new CountDownLatch(2);
+		ParallelSourceReader reader = new ParallelSourceReader(sources(2), source -> {
+			bothReading.countDown();
+			try {
+				if (!bothReading.await(5, TimeUnit.SECONDS))
+					throw new IllegalStateException("The sources were not read concurrently.");
+			}
+			catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			return Stream.of(new BuiltInNode(source.name()));
+		}, executor, 2);
+
+		assertThat(values(reader)).containsExactly("source-0", "source-1");
+	}
+
+	@Test
+	@DisplayName("emits all nodes in the order of the sources, even with more sources than threads")
+	void emitsInOrderOfSources() {
+		int nodesPerSource = 2 * ParallelSourceReader.BATCH_SIZE + 1;
+		ParallelSourceReader reader = new ParallelSourceReader(sources(6), source -> {
+			// earlier sources take longer, so they'd finish last if the order weren't kept
+			int index = Integer.parseInt(source.name().substring("source-".length()));
+			sleep(10 * (6 - index));
+			return IntStream.range(0, nodesPerSource).mapToObj(node -> new BuiltInNode(source.name() + "/" + node));
+		}, executor, 3);
+
+		List<String> expected = IntStream
+				.range(0, 6)
+				.boxed()
+				.flatMap(source -> IntStream.range(0, nodesPerSource).mapToObj(node -> "source-" + source + "/" + node))
+				.collect(toList());
+		assertThat(values(reader)).containsExactlyElementsOf(expected);
+	}
+
+	@Test
+	@DisplayName("rethrows the failure of reading a source")
+	void rethrowsFailure() {
+		ParallelSourceReader reader = new ParallelSourceReader(sources(3), source -> {
+			if (source.name().equals("source-1"))
+				throw new IllegalStateException("Failed to read " + source.name());
+			return Stream.of(new BuiltInNode(source.name()));
+		}, executor, 2);
+
+		assertThatThrownBy(() -> values(reader))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Failed to read source-1");
+	}
+
+	@Test
+	@DisplayName("stops reading endless sources when closed without shutting down the executor")
+	void stopsReadingWhenClosed() throws InterruptedException {
+		ParallelSourceReader reader = new ParallelSourceReader(sources(2),
+			source -> Stream.generate(() -> new BuiltInNode(source.name())), executor, 2);
+
+		try (Stream<Node> nodes = StreamSupport.stream(reader, false).onClose(reader::close)) {
+			assertThat(nodes.limit(1000).count()).isEqualTo(1000);
+		}
+
+		assertThat(executor.isShutdown()).isFalse();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	@DisplayName("closes the sources when closed, even while their tasks are stopped")
+	void closesStoppedSources() throws InterruptedException {
+		AtomicInteger closed = new AtomicInteger();
+		ParallelSourceReader reader = new ParallelSourceReader(sources(3),
+			source -> Stream.<Node> generate(() -> new BuiltInNode(source.name())).onClose(closed::incrementAndGet),
+			executor, 3);
+
+		try (Stream<Node> nodes = StreamSupport.stream(reader, false).onClose(reader::close)) {
+			assertThat(nodes.findFirst()).isPresent();
+			// all sources are endless, so their queues are full by now
+			sleep(100);
+		}
+
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(closed).hasValue(3);
+	}
+
+	@Test
+	@DisplayName("doesn't block the executor's threads while the consumer is slow")
+	void doesNotBlockExecutorWhileConsumerIsSlow() throws Exception {
+		ParallelSourceReader reader = new ParallelSourceReader(sources(2),
+			source -> Stream.generate(() -> new BuiltInNode(source.name())), executor, 2);
+
+		try (Stream<Node> nodes = StreamSupport.stream(reader, false).onClose(reader::close)) {
+			assertThat(nodes.findFirst()).isPresent();
+			// both sources are endless, so their queues are full by now
+			sleep(100);
+
+			assertThat(executor.submit(() -> "other reader").get(5, TimeUnit.SECONDS)).isEqualTo("other reader");
+		}
+	}
+
+	private static List<Source> sources(int count) {
+		return IntStream
+				.range(0, count)
+				.mapToObj(index -> Source.of("source-" + index, context -> {
+					throw new IllegalStateException("The readers in these tests don't open sources.");
+				}))
+				.collect(toList());
+	}
+
+	private static List<Object> values(ParallelSourceReader reader) {
+		try (Stream<Node> nodes = StreamSupport.stream(reader, false).onClose(reader::close)) {
+			return nodes.map(node -> node.value(String.class)).collect(toList());
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.timing.TimingBaselines.Metric;
+
+public class TestDurationsTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void aggregatesDurationsOfMethodsAndClasses() {
+		Map<String, Double> durations = TestDurations
+				.aggregate(Map
+						.of("[engine:e]/[class:a.Tests]/[method:first()]", Map.of(Metric.DURATION, List.of(1.0, 5.0, 2.0)),
+							"[engine:e]/[class:a.Tests]/[test-template:second(int)]/[test-template-invocation:#1]",
+							Map.of(Metric.DURATION, List.of(10.0)),
+							"[engine:e]/[class:a.Tests]/[test-template:second(int)]/[test-template-invocation:#2]",
+							Map.of(Metric.DURATION, List.of(20.0)),
+							"[engine:e]/[class:a.Tests]/[nested-class:Inner]/[method:third()]",
+							Map.of(Metric.DURATION, List.of(100.0)),
+							"[engine:e]/[class:a.Benchmarks]/[method:fourth()]",
+							Map.of(Metric.THROUGHPUT, List.of(1000.0))));
+
+		assertThat(durations)
+				.containsOnly(Map.entry("a.Tests#first()", 2.0), Map.entry("a.Tests#second(int)", 30.0),
+					Map.entry("a.Tests$Inner#third()", 100.0), Map.entry("a.Tests$Inner", 100.0),
+					Map.entry("a.Tests", 132.0));
+	}
+
+	@Test
+	void createsMethodKeysLikeJupiter() throws NoSuchMethodException {
+		assertThat(TestDurations.key(TestDurationsTests.class, Map.class.getMethod("put", Object.class, Object.class)))
+				.isEqualTo("org.junitpioneer.jupiter.timing.TestDurationsTests#put(java.lang.Object, java.lang.Object)");
+	}
+
+	@Test
+	void sortsLongestFirstAndUnknownFirstByDefault() throws IOException {
+		TestDurations durations = load(Map.of());
+		List<String> keys = new ArrayList<>(List.of("short", "unknown", "long", "medium", "unknown too"));
+
+		durations.sortLongestFirst(keys, key -> key);
+
+		assertThat(keys).containsExactly("unknown", "unknown too", "long", "medium", "short");
+	}
+
+	@Test
+	void sortsUnknownLast() throws IOException {
+		TestDurations durations = load(Map.of(TestDurations.UNKNOWN_PARAM, "last"));
+		List<String> keys = new ArrayList<>(List.of("short", "unknown", "long", "medium"));
+
+		durations.sortLongestFirst(keys, key -> key);
+
+		assertThat(keys).containsExactly("long", "medium", "short", "unknown");
+	}
+
+	@Test
+	void sortsUnknownByDefaultDuration() throws IOException {
+		// 2 ms are between the short (1 ms) and medium (3 ms) tests
+		TestDurations durations = load(Map.of(TestDurations.UNKNOWN_PARAM, "2"));
+		List<String> keys = new ArrayList<>(List.of("short", "unknown", "long", "medium"));
+
+		durations.sortLongestFirst(keys, key -> key);
+
+		assertThat(keys).containsExactly("long", "medium", "unknown", "short");
+	}
+
+	@Test
+	void failsOnInvalidUnknownDefault() {
+		assertThatThrownBy(() -> load(Map.of(TestDurations.UNKNOWN_PARAM, "sometime")))
+				.isInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("The configuration parameter " + TestDurations.UNKNOWN_PARAM
+						+ " must be `first`, `last`, or a number of milliseconds, but was `sometime`.");
+	}
+
+	@Test
+	void treatsMissingFileAsUnknownDurations() {
+		Map<String, String> configuration = Map
+				.of(TimingBaselines.FILE_PARAM, directory.resolve("missing.tsv").toString(), TestDurations.UNKNOWN_PARAM,
+					"5");
+
+		TestDurations durations = TestDurations.load(parameter -> Optional.ofNullable(configuration.get(parameter)));
+
+		assertThat(durations.duration("a.Tests")).isEqualTo(5_000_000);
+	}
+
+	private TestDurations load(Map<String, String> parameters) throws IOException {
+		Path file = directory.resolve("baselines.tsv");
+		Files
+				.write(file,
+					List
+							.of("[engine:e]/[class:long]/[method:test()]\tduration-ns\t9000000",
+								"[engine:e]/[class:medium]/[method:test()]\tduration-ns\t3000000",
+								"[engine:e]/[class:short]/[method:test()]\tduration-ns\t1000000"));
+		Map<String, String> configuration = new HashMap<>(parameters);
+		configuration.put(TimingBaselines.FILE_PARAM, file.toString());
+		return TestDurations.load(parameter -> Optional.ofNullable(configuration.get(parameter)));
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junitpioneer.jupiter.issue.TestPlanHelper.createTestIdentifier;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junitpioneer.jupiter.timing.TimingBaselines.Metric;
+
+public class TimingBaselineListenerTests {
+
+	private final TimingBaselineListener listener = new TimingBaselineListener();
+	// see `IssueExtensionExecutionListenerTests` for why this is mocked
+	private final TestPlan testPlan = mock(TestPlan.class);
+	private final ConfigurationParameters configuration = mock(ConfigurationParameters.class);
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void configure() {
+		when(testPlan.getConfigurationParameters()).thenReturn(configuration);
+		when(configuration.get(anyString())).thenReturn(Optional.empty());
+	}
+
+	@Test
+	void writesNothingIfDisabled() {
+		when(configuration.get(TimingBaselines.FILE_PARAM))
+				.thenReturn(Optional.of(directory.resolve("baselines.tsv").toString()));
+
+		runTest("test", TestExecutionResult.successful(), Metric.DURATION, "1000");
+
+		assertThat(directory.resolve("baselines.tsv")).doesNotExist();
+	}
+
+	@Test
+	void recordsSuccessfulTests() throws IOException {
+		enable();
+
+		runTest("fast", TestExecutionResult.successful(), Metric.DURATION, "1000");
+		runTest("benchmark", TestExecutionResult.successful(), Metric.THROUGHPUT, "12.5");
+
+		assertThat(Files.readAllLines(directory.resolve("baselines.tsv")))
+				.hasSize(3)
+				.contains("[test:benchmark]\tthroughput-ops-per-s\t12.5", "[test:fast]\tduration-ns\t1000");
+	}
+
+	@Test
+	void ignoresFailedTests() throws IOException {
+		enable();
+
+		runTest("failed", TestExecutionResult.failed(new AssertionError()), Metric.DURATION, "1000");
+
+		assertThat(Files.readAllLines(directory.resolve("baselines.tsv"))).hasSize(1);
+	}
+
+	@Test
+	void appendsToPreviousRuns() throws IOException {
+		enable();
+		Files.write(directory.resolve("baselines.tsv"), List.of("[test:fast]\tduration-ns\t900 950"));
+
+		runTest("fast", TestExecutionResult.successful(), Metric.DURATION, "1000");
+
+		assertThat(Files.readAllLines(directory.resolve("baselines.tsv")))
+				.contains("[test:fast]\tduration-ns\t900 950 1000");
+	}
+
+	private void enable() {
+		when(configuration.get(TimingBaselines.ENABLED_PARAM)).thenReturn(Optional.of("true"));
+		when(configuration.get(TimingBaselines.FILE_PARAM))
+				.thenReturn(Optional.of(directory.resolve("baselines.tsv").toString()));
+	}
+
+	private void runTest(String id, TestExecutionResult result, Metric metric, String value) {
+		TestIdentifier test = createTestIdentifier(id);
+		listener.testPlanExecutionStarted(testPlan);
+		listener.executionStarted(test);
+		listener.reportingEntryPublished(test, ReportEntry.from(Map.of(metric.reportKey(), value)));
+		listener.executionFinished(test, result);
+		listener.testPlanExecutionFinished(testPlan);
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.Stopwatch;
+import org.junitpioneer.jupiter.timing.TimingBaselines.Metric;
+import org.junitpioneer.testkit.ExecutionResults;
+import org.junitpioneer.testkit.assertion.PioneerAssert;
+import org.junitpioneer.testkit.PioneerTestKit;
+import org.opentest4j.AssertionFailedError;
+
+@DisplayName("Timing baselines")
+public class TimingBaselinesTests {
+
+	private static final String TEST_ID = "[engine:junit-jupiter]/[class:Tests]/[method:test()]";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	@DisplayName("are disabled by default")
+	void disabledByDefault() {
+		assertThat(TimingBaselines.load(__ -> Optional.empty())).isEmpty();
+	}
+
+	@Test
+	@DisplayName("don't detect regressions without enough previous runs")
+	void tooFewRuns() {
+		TimingBaselines baselines = load(Map.of());
+		for (double value : List.of(100d, 102d, 98d, 101d))
+			baselines.record(TEST_ID, Metric.DURATION, value);
+
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 1_000)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("detect durations above the median plus k times the MAD")
+	void detectsSlowerDurations() {
+		TimingBaselines baselines = load(Map.of());
+		// median 100, MAD 1 (scaled 1.4826), so the limit is 100 + 3 * 1.4826
+		for (double value : List.of(100d, 102d, 98d, 101d, 99d))
+			baselines.record(TEST_ID, Metric.DURATION, value);
+
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 104)).isEmpty();
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 20)).isEmpty();
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 110))
+				.contains("duration-ns [110.000] is higher than the baseline's limit [104.448] "
+						+ "(median [100.000] + 3 x MAD [1.483] of the last 5 runs)");
+	}
+
+	@Test
+	@DisplayName("detect throughputs below the median minus k times the MAD")
+	void detectsLowerThroughputs() {
+		TimingBaselines baselines = load(Map.of(TimingBaselines.THRESHOLD_PARAM, "2"));
+		for (double value : List.of(100d, 102d, 98d, 101d, 99d))
+			baselines.record(TEST_ID, Metric.THROUGHPUT, value);
+
+		assertThat(baselines.findRegression(TEST_ID, Metric.THROUGHPUT, 1_000)).isEmpty();
+		assertThat(baselines.findRegression(TEST_ID, Metric.THROUGHPUT, 90))
+				.contains("throughput-ops-per-s [90.000] is lower than the baseline's limit [97.035] "
+						+ "(median [100.000] - 2 x MAD [1.483] of the last 5 runs)");
+	}
+
+	@Test
+	@DisplayName("assume a MAD of at least 1% of the median")
+	void minimumMad() {
+		TimingBaselines baselines = load(Map.of());
+		for (int i = 0; i < 5; i++)
+			baselines.record(TEST_ID, Metric.DURATION, 1_000);
+
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 1_029)).isEmpty();
+		assertThat(baselines.findRegression(TEST_ID, Metric.DURATION, 1_031)).isPresent();
+	}
+
+	@Test
+	@DisplayName("keep only the configured number of runs")
+	void limitsHistory() {
+		TimingBaselines baselines = load(Map.of(TimingBaselines.HISTORY_PARAM, "5"));
+		for (int i = 1; i <= 7; i++)
+			baselines.record(TEST_ID, Metric.DURATION, i);
+
+		assertThat(baselines.results(TEST_ID, Metric.DURATION)).containsExactly(3d, 4d, 5d, 6d, 7d);
+	}
+
+	@Test
+	@DisplayName("are written to and read from the configured file")
+	void writesAndReadsFile() throws IOException {
+		TimingBaselines baselines = load(Map.of());
+		baselines.record(TEST_ID, Metric.DURATION, 1_000);
+		baselines.record(TEST_ID, Metric.DURATION, 1_200);
+		baselines.record(TEST_ID, Metric.THROUGHPUT, 12.5);
+		baselines.write();
+
+		assertThat(Files.readAllLines(directory.resolve("baselines.tsv")))
+				.contains(TEST_ID + "\tduration-ns\t1000 1200", TEST_ID + "\tthroughput-ops-per-s\t12.5");
+		TimingBaselines reread = load(Map.of());
+		assertThat(reread.results(TEST_ID, Metric.DURATION)).containsExactly(1_000d, 1_200d);
+		assertThat(reread.results(TEST_ID, Metric.THROUGHPUT)).containsExactly(12.5);
+	}
+
+	@Test
+	@DisplayName("merge the results of concurrent runs into the file")
+	void mergesConcurrentRuns() throws IOException {
+		TimingBaselines first = load(Map.of());
+		TimingBaselines second = load(Map.of());
+		first.record(TEST_ID, Metric.DURATION, 1_000);
+		second.record(TEST_ID, Metric.DURATION, 1_200);
+		second.record(TEST_ID, Metric.THROUGHPUT, 12.5);
+		first.write();
+		second.write();
+		second.write();
+
+		assertThat(Files.readAllLines(directory.resolve("baselines.tsv")))
+				.contains(TEST_ID + "\tduration-ns\t1000 1200", TEST_ID + "\tthroughput-ops-per-s\t12.5");
+		assertThat(second.results(TEST_ID, Metric.DURATION)).containsExactly(1_000d, 1_200d);
+	}
+
+	@Test
+	@DisplayName("reject unknown modes")
+	void rejectsUnknownMode() {
+		assertThatThrownBy(() -> load(Map.of(TimingBaselines.MODE_PARAM, "explode")))
+				.isInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("The configuration parameter " + TimingBaselines.MODE_PARAM
+						+ " must be `warn` or `fail`, but was `explode`.");
+	}
+
+	@Test
+	@DisplayName("reject more minimum runs than history")
+	void rejectsInconsistentRuns() {
+		assertThatThrownBy(() -> load(Map.of(TimingBaselines.MINIMUM_RUNS_PARAM, "20")))
+				.isInstanceOf(ExtensionConfigurationException.class);
+	}
+
+	private TimingBaselines load(Map<String, String> parameters) {
+		Function<String, Optional<String>> configuration = key -> {
+			if (key.equals(TimingBaselines.ENABLED_PARAM))
+				return Optional.of("true");
+			if (key.equals(TimingBaselines.FILE_PARAM))
+				return Optional.of(directory.resolve("baselines.tsv").toString());
+			return Optional.ofNullable(parameters.get(key));
+		};
+		return TimingBaselines.load(configuration).orElseThrow();
+	}
+
+	@Nested
+	@DisplayName("when used with @Stopwatch")
+	class StopwatchTests {
+
+		private static final String SLEEPING_ID = "[engine:junit-jupiter]/[class:org.junitpioneer.jupiter.timing.TimingBaselinesTests$StopwatchTestCases]/[method:sleeping()]";
+
+		@Test
+		@DisplayName("publish durations only if enabled")
+		void publishesDurationsIfEnabled() {
+			ExecutionResults disabled = PioneerTestKit.executeTestMethod(StopwatchTestCases.class, "sleeping");
+			ExecutionResults enabled = execute("warn");
+
+			PioneerAssert.assertThat(disabled).hasNumberOfReportEntries(1);
+			PioneerAssert
+					.assertThat(enabled)
+					.hasNumberOfReportEntries(2)
+					.andThen((key, value) -> {
+						if (key.equals(Metric.DURATION.reportKey()))
+							assertThat(Long.parseLong(value)).isGreaterThanOrEqualTo(10_000_000L);
+					});
+		}
+
+		@Test
+		@DisplayName("warn about regressions")
+		void warnsAboutRegression() throws IOException {
+			writeFastBaseline();
+
+			ExecutionResults results = execute("warn");
+
+			PioneerAssert.assertThat(results).hasSingleSucceededTest();
+			PioneerAssert
+					.assertThat(results)
+					.hasNumberOfReportEntries(3)
+					.values()
+					.anySatisfy(value -> assertThat(value)
+							.startsWith("'sleeping()' regressed: duration-ns [")
+							.endsWith("(median [1000.000] + 3 x MAD [10.000] of the last 5 runs)"));
+		}
+
+		@Test
+		@DisplayName("fail on regressions")
+		void failsOnRegression() throws IOException {
+			writeFastBaseline();
+
+			ExecutionResults results = execute("fail");
+
+			PioneerAssert
+					.assertThat(results)
+					.hasSingleFailedTest()
+					.withExceptionInstanceOf(AssertionFailedError.class)
+					.message()
+					.startsWith("'sleeping()' regressed: duration-ns [");
+		}
+
+		private void writeFastBaseline() throws IOException {
+			Files.write(directory.resolve("baselines.tsv"), List.of(SLEEPING_ID + "\tduration-ns\t1000 1000 1000 1000 1000"));
+		}
+
+		private ExecutionResults execute(String mode) {
+			Map<String, String> configuration = Map
+					.of(TimingBaselines.ENABLED_PARAM, "true", TimingBaselines.FILE_PARAM,
+						directory.resolve("baselines.tsv").toString(), TimingBaselines.MODE_PARAM, mode);
+			return PioneerTestKit
+					.executeTestMethodWithParameterTypesAndConfigurationParameters(configuration,
+						StopwatchTestCases.class, "sleeping");
+		}
+
+	}
+
+	static class StopwatchTestCases {
+
+		@Test
+		@Stopwatch
+		void sleeping() throws InterruptedException {
+			Thread.sleep(10);
+		}
+
+	}
+
+}
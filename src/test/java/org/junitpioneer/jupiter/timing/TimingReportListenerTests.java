@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+public class TimingReportListenerTests {
+
+	private final AtomicLong nanoTime = new AtomicLong();
+	private final TimingReportListener listener = new TimingReportListener(nanoTime::get);
+	// see `IssueExtensionExecutionListenerTests` for why this is mocked
+	private final TestPlan testPlan = mock(TestPlan.class);
+	private final ConfigurationParameters configuration = mock(ConfigurationParameters.class);
+
+	private final DescriptorStub engine = new DescriptorStub(UniqueId.forEngine("engine"), "engine",
+		TestDescriptor.Type.CONTAINER, null);
+	private final DescriptorStub testClass = new DescriptorStub(engine.getUniqueId().append("class", "Tests"),
+		"Tests", TestDescriptor.Type.CONTAINER, ClassSource.from("org.example.Tests"));
+	private final DescriptorStub fastTest = test("fast");
+	private final DescriptorStub slowTest = test("slow");
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	void configure() {
+		when(testPlan.getConfigurationParameters()).thenReturn(configuration);
+		when(configuration.get(anyString())).thenReturn(Optional.empty());
+		when(configuration.get(TimingReport.FILE_PARAM))
+				.thenReturn(Optional.of(directory.resolve("report.json").toString()));
+		engine.addChild(testClass);
+		testClass.addChild(fastTest);
+		testClass.addChild(slowTest);
+	}
+
+	@Test
+	void writesNothingIfDisabled() {
+		runTestPlan();
+
+		assertThat(directory.resolve("report.json")).doesNotExist();
+	}
+
+	@Test
+	void reportsSlowestTestsAndClasses() throws IOException {
+		when(configuration.get(TimingReport.ENABLED_PARAM)).thenReturn(Optional.of("true"));
+
+		runTestPlan();
+
+		assertThat(Files.readString(directory.resolve("report.json")))
+				.contains("{ \"uniqueId\": \"[engine:engine]/[class:Tests]/[method:slow()]\", "
+						+ "\"name\": \"Tests > slow()\", \"nanos\": 30000000 }")
+				.contains("{ \"uniqueId\": \"[engine:engine]/[class:Tests]/[method:fast()]\", "
+						+ "\"name\": \"Tests > fast()\", \"nanos\": 2000000 }")
+				.contains("{ \"uniqueId\": \"[engine:engine]/[class:Tests]\", "
+						+ "\"name\": \"org.example.Tests\", \"nanos\": 42000000, \"overheadNanos\": 10000000 }");
+	}
+
+	@Test
+	void reportsContainerOverhead() throws IOException {
+		when(configuration.get(TimingReport.ENABLED_PARAM)).thenReturn(Optional.of("true"));
+
+		runTestPlan();
+
+		// the class spends 10 ms and the engine 1 ms outside of their children
+		assertThat(Files.readString(directory.resolve("report.json")))
+				.contains("\"totalNanos\": 45000000,")
+				.contains("\"count\": 2,\n    \"totalNanos\": 32000000,")
+				.contains("\"count\": 2,\n    \"overheadNanos\": 11000000,");
+	}
+
+	@Test
+	void ignoresSkippedTests() throws IOException {
+		when(configuration.get(TimingReport.ENABLED_PARAM)).thenReturn(Optional.of("true"));
+
+		listener.testPlanExecutionStarted(testPlan);
+		listener.executionSkipped(TestIdentifier.from(fastTest), "disabled");
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(Files.readString(directory.resolve("report.json"))).contains("\"slowestTests\": [],");
+	}
+
+	private void runTestPlan() {
+		listener.testPlanExecutionStarted(testPlan);
+		elapse(1);
+		start(engine);
+		start(testClass);
+		elapse(4);
+		run(fastTest, 2);
+		run(slowTest, 30);
+		elapse(6);
+		finish(testClass);
+		elapse(1);
+		finish(engine);
+		elapse(1);
+		listener.testPlanExecutionFinished(testPlan);
+	}
+
+	private void run(DescriptorStub test, long millis) {
+		start(test);
+		elapse(millis);
+		finish(test);
+	}
+
+	private void start(DescriptorStub descriptor) {
+		listener.executionStarted(TestIdentifier.from(descriptor));
+	}
+
+	private void finish(DescriptorStub descriptor) {
+		listener.executionFinished(TestIdentifier.from(descriptor), TestExecutionResult.successful());
+	}
+
+	private void elapse(long millis) {
+		nanoTime.addAndGet(millis * 1_000_000);
+	}
+
+	private DescriptorStub test(String name) {
+		return new DescriptorStub(testClass.getUniqueId().append("method", name + "()"), name + "()",
+			TestDescriptor.Type.TEST, MethodSource.from("org.example.Tests", name));
+	}
+
+	private static class DescriptorStub extends AbstractTestDescriptor {
+
+		private final Type type;
+
+		DescriptorStub(UniqueId uniqueId, String displayName, Type type, TestSource source) {
+			super(uniqueId, displayName, source);
+			this.type = type;
+		}
+
+		@Override
+		public Type getType() {
+			return type;
+		}
+
+	}
+
+}
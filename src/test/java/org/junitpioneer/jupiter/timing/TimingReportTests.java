@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016-2023 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junitpioneer.jupiter.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TimingReportTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void isDisabledByDefault() {
+		assertThat(TimingReport.load(parameter -> Optional.empty())).isEmpty();
+	}
+
+	@Test
+	void failsOnNegativeTop() {
+		Map<String, String> configuration = Map.of(TimingReport.ENABLED_PARAM, "true", TimingReport.TOP_PARAM, "-1");
+
+		assertThatThrownBy(() -> TimingReport.load(parameter -> Optional.ofNullable(configuration.get(parameter))))
+				.isInstanceOf(ExtensionConfigurationException.class)
+				.hasMessage("The configuration parameter " + TimingReport.TOP_PARAM + " must not be negative.");
+	}
+
+	@Test
+	void keepsOnlyTheSlowestTests() {
+		TimingReport report = new TimingReport(directory.resolve("report.json"), 3);
+
+		for (int i = 1; i <= 100; i++)
+			report.recordTest("[test:" + i + "]", "test " + i, i * 1_000_000L);
+
+		assertThat(report.slowestTests()).extracting(timing -> timing.name).containsExactly("test 100", "test 99", "test 98");
+	}
+
+	@Test
+	void keepsOnlyTheSlowestClasses() {
+		TimingReport report = new TimingReport(directory.resolve("report.json"), 2);
+
+		report.recordContainer("[engine:e]", "engine", false, 9_000, 1_000);
+		report.recordContainer("[class:a]", "a", true, 1_000, 600);
+		report.recordContainer("[class:b]", "b", true, 3_000, 1_000);
+		report.recordContainer("[class:c]", "c", true, 2_000, 2_500);
+
+		assertThat(report.slowestClasses())
+				.extracting(timing -> timing.name, timing -> timing.overheadNanos)
+				.containsExactly(tuple("b", 2_000L), tuple("c", 0L));
+	}
+
+	@Test
+	void summarizesDistributionAndOverhead() {
+		TimingReport report = new TimingReport(directory.resolve("report.json"), 1);
+		report.recordTest("[test:fast]", "fast", 500_000);
+		report.recordTest("[test:slow]", "slow", 1_500_000_000);
+		report.recordContainer("[class:a]", "a", true, 2_000_000_000, 1_500_500_000);
+		report.finish(2_000_000_000);
+
+		assertThat(report.summary())
+				.contains("Timing report of 2 tests in 2.000 s: tests took 1.501 s, "
+						+ "container setup and teardown took 0.500 s (25.0%)")
+				.contains("< 1 ms: 1, 1-10 ms: 0, 10-100 ms: 0, 100 ms - 1 s: 0, 1-10 s: 1, >= 10 s: 0")
+				.contains("Slowest tests:" + System.lineSeparator() + "  1.     1500.000 ms  slow")
+				.contains("Slowest classes:" + System.lineSeparator() + "  1.     2000.000 ms  a");
+	}
+
+	@Test
+	void writesJson() throws IOException {
+		TimingReport report = new TimingReport(directory.resolve("nested/report.json"), 5);
+		report.recordTest("[test:\"quoted\"]", "quoted \\ name", 2_000_000);
+		report.recordContainer("[class:a]", "a", true, 3_000_000, 2_000_000);
+		report.finish(4_000_000);
+
+		report.write();
+
+		String json = Files.readString(directory.resolve("nested/report.json"));
+		assertThat(json)
+				.contains("\"totalNanos\": 4000000,")
+				.contains("{ \"fromNanos\": 1000000, \"toNanos\": 10000000, \"count\": 1 }")
+				.contains("{ \"fromNanos\": 10000000000, \"toNanos\": null, \"count\": 0 }")
+				.contains("\"overheadNanos\": 1000000,")
+				.contains("\"overheadRatio\": 0.3333")
+				.contains(
+					"{ \"uniqueId\": \"[test:\\\"quoted\\\"]\", \"name\": \"quoted \\\\ name\", \"nanos\": 2000000 }")
+				.contains("{ \"uniqueId\": \"[class:a]\", \"name\": \"a\", \"nanos\": 3000000, \"overheadNanos\": 1000000 }");
+	}
+
+	@Test
+	void writesEmptyReport() throws IOException {
+		TimingReport report = new TimingReport(directory.resolve("report.json"), 5);
+		report.finish(0);
+
+		report.write();
+
+		assertThat(Files.readString(directory.resolve("report.json")))
+				.contains("\"slowestTests\": [],")
+				.contains("\"slowestClasses\": []");
+		assertThat(report.slowestTests()).isEmpty();
+		assertThat(report.summary()).doesNotContain("Slowest");
+	}
+
+	@Test
+	void keepsNothingWithTopZero() {
+		TimingReport report = new TimingReport(directory.resolve("report.json"), 0);
+
+		report.recordTest("[test:a]", "a", 1);
+
+		assertThat(report.slowestTests()).isEmpty();
+	}
+
+}
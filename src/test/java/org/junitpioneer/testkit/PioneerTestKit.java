@@ -30,6 +30,22 @@ public class PioneerTestKit {
 		return ExecutionResults.builder().selectTestClass(testClass).execute();
 	}
 
+	/**
+	 * Returns the execution results of the given test class with the given configuration parameters.
+	 *
+	 * @param configurationParameters map of configuration parameters
+	 * @param testClass The test class instance
+	 * @return The execution results
+	 */
+	public static ExecutionResults executeTestClassWithConfigurationParameters(
+			Map<String, String> configurationParameters, Class<?> testClass) {
+		return ExecutionResults
+				.builder()
+				.addConfigurationParameters(configurationParameters)
+				.selectTestClass(testClass)
+				.execute();
+	}
+
 	/**
 	 * Returns the execution results of the given test classes.
 	 *